@@ -1,9 +1,14 @@
 package com.shaurya.hospitalManagement;
 
+import com.shaurya.hospitalManagement.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class HospitalManagementApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,117 @@
+package com.shaurya.hospitalManagement.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit of one route group with a bounded wait queue. Published with the tag group:
+ * - bulkhead.active, bulkhead.queued and bulkhead.limit: current occupancy against the limit
+ * - bulkhead.rejected: requests turned away, tagged reason queue_full or timeout
+ * - bulkhead.wait: time admitted requests spent queued
+ */
+public class Bulkhead {
+
+    @Getter
+    private final String name;
+    private final List<PathPattern> paths;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+
+    // fair, a queued request is not overtaken by one arriving after it
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Counter queueFull;
+    private final Counter timedOut;
+    private final Timer waitTimer;
+
+    public Bulkhead(String name, List<String> paths, int maxConcurrent, int maxQueue, Duration maxWait,
+                    MeterRegistry meterRegistry) {
+        if (maxConcurrent < 1 || maxQueue < 0) {
+            throw new IllegalArgumentException("Bulkhead " + name + " needs max-concurrent >= 1 and max-queue >= 0");
+        }
+        this.name = name;
+        this.paths = paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        Gauge.builder("bulkhead.active", permits, p -> maxConcurrent - p.availablePermits())
+                .tag("group", name).register(meterRegistry);
+        Gauge.builder("bulkhead.queued", queued, AtomicInteger::get).tag("group", name).register(meterRegistry);
+        Gauge.builder("bulkhead.limit", () -> maxConcurrent).tag("group", name).register(meterRegistry);
+        this.queueFull = Counter.builder("bulkhead.rejected").tags("group", name, "reason", "queue_full")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("bulkhead.rejected").tags("group", name, "reason", "timeout")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("bulkhead.wait").tag("group", name).register(meterRegistry);
+    }
+
+    public boolean matches(PathContainer path) {
+        for (PathPattern pattern : paths) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes a slot, waiting up to max-wait when all are busy. Every true must be paired with release().
+     *
+     * @return false when the queue is full or the wait ran out
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        // a zero timeout respects fairness, plain tryAcquire() would barge past the queue
+        if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            queueFull.increment();
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            if (permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return true;
+            }
+            timedOut.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    // whole seconds a rejected client should wait, at least one
+    public long getRetryAfterSeconds() {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(maxWaitNanos));
+    }
+}
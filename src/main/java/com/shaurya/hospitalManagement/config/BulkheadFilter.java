@@ -0,0 +1,96 @@
+package com.shaurya.hospitalManagement.config;
+
+import com.shaurya.hospitalManagement.error.BulkheadFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulkheads between the route groups under bulkhead.groups, so a flood on one group, such as a
+ * credential-stuffing wave on /auth/login, uses up its own slots and not the Tomcat threads and pooled
+ * connections of the others. It runs before the security chain, a rejected request costs no JWT parsing or
+ * user lookup. Rejections answer 503 with Retry-After.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@EnableConfigurationProperties(BulkheadProperties.class)
+@Slf4j
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final List<Bulkhead> bulkheads = new ArrayList<>();
+    private final HandlerExceptionResolver handlerExceptionResolver;
+
+    public BulkheadFilter(
+            BulkheadProperties properties,
+            MeterRegistry meterRegistry,
+            @Qualifier("handlerExceptionResolver")
+            HandlerExceptionResolver handlerExceptionResolver
+    ) {
+        properties.groups().forEach((name, group) -> bulkheads.add(new Bulkhead(name, group.paths(),
+                group.maxConcurrent(), group.maxQueue(), group.maxWait(), meterRegistry)));
+        this.handlerExceptionResolver = handlerExceptionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Bulkhead bulkhead = find(PathContainer.parsePath(request.getRequestURI()));
+        if (bulkhead == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.debug("Rejected {} {}: {} bulkhead full ({} active, {} queued)", request.getMethod(),
+                    request.getRequestURI(), bulkhead.getName(), bulkhead.getActive(), bulkhead.getQueued());
+            handlerExceptionResolver.resolveException(request, response, null,
+                    new BulkheadFullException(bulkhead.getName(), bulkhead.getRetryAfterSeconds()));
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private Bulkhead find(PathContainer path) {
+        for (Bulkhead bulkhead : bulkheads) {
+            if (bulkhead.matches(path)) {
+                return bulkhead;
+            }
+        }
+        return null;
+    }
+
+    public List<Bulkhead> getBulkheads() {
+        return List.copyOf(bulkheads);
+    }
+}
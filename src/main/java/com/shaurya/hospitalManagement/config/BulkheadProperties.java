@@ -0,0 +1,28 @@
+package com.shaurya.hospitalManagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Route groups isolated from each other by BulkheadFilter, keyed by group name. A request belongs to the
+ * first group with a matching path pattern; requests outside every group are not limited.
+ */
+@ConfigurationProperties("bulkhead")
+public record BulkheadProperties(Map<String, Group> groups) {
+
+    public BulkheadProperties {
+        groups = groups == null ? Map.of() : groups;
+    }
+
+    /**
+     * @param paths         path patterns such as /auth/**
+     * @param maxConcurrent requests of the group served at once
+     * @param maxQueue      requests waiting for a slot, further ones are rejected at once
+     * @param maxWait       how long a queued request waits for a slot before it is rejected
+     */
+    public record Group(List<String> paths, int maxConcurrent, int maxQueue, Duration maxWait) {
+    }
+}
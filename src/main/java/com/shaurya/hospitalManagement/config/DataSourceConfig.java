@@ -0,0 +1,56 @@
+package com.shaurya.hospitalManagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Second connection pool for the background JDBC jobs: purges, batch updates, duplicate detection and the
+ * demographics snapshot. They hold connections for seconds at a time, on their own pool they can no longer
+ * starve the request threads, which keep the interactive pool configured under spring.datasource.hikari.
+ *
+ * The beans are not default candidates, so Boot still builds the primary DataSource, JdbcTemplate and JPA
+ * transaction manager and plain injection points keep getting those. Jobs ask for the batch pool by name.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    // same database and account, sizing and timeouts come from batch.datasource.hikari
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("batch.datasource.hikari")
+    public HikariDataSource batchDataSource(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            MeterRegistry meterRegistry
+    ) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setPoolName("batch");
+        // published as hikaricp.connections.* with pool=batch next to the interactive pool
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    @Bean(defaultCandidate = false)
+    public JdbcTemplate batchJdbcTemplate(@Qualifier("batchDataSource") DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
+    @Bean(defaultCandidate = false)
+    public PlatformTransactionManager batchTransactionManager(@Qualifier("batchDataSource") DataSource dataSource) {
+        return new JdbcTransactionManager(dataSource);
+    }
+}
@@ -0,0 +1,18 @@
+package com.shaurya.hospitalManagement.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class DbTimeConfig implements WebMvcConfigurer {
+
+    private final DbTimeInterceptor dbTimeInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(dbTimeInterceptor);
+    }
+}
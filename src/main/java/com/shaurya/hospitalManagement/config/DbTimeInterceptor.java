@@ -0,0 +1,75 @@
+package com.shaurya.hospitalManagement.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the database time of each request per endpoint, tagged like http.server.requests:
+ * - http.server.requests.db: time in Hibernate statements
+ * - http.server.requests.db.acquire: time waiting for a pooled connection
+ * - db.transactions.long: requests that held one connection longer than db.long-transaction-threshold-ms,
+ *   each also logged, so a slow endpoint can be told apart from a starved pool
+ */
+@Component
+@Slf4j
+public class DbTimeInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final long longTransactionNanos;
+
+    public DbTimeInterceptor(
+            MeterRegistry meterRegistry,
+            @Value("${db.long-transaction-threshold-ms:2000}") long longTransactionThresholdMillis
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.longTransactionNanos = Duration.ofMillis(longTransactionThresholdMillis).toNanos();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestDbTime.start();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestDbTime time = RequestDbTime.stop();
+        if (time == null) {
+            return;
+        }
+
+        // the route template, never the raw path, which would create a meter per patient id
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        Timer.builder("http.server.requests.db")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(time.getStatementNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("http.server.requests.db.acquire")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(time.getAcquireNanos(), TimeUnit.NANOSECONDS);
+
+        if (time.getMaxHoldNanos() > longTransactionNanos) {
+            Counter.builder("db.transactions.long").tags(tags).register(meterRegistry).increment();
+            log.warn("{} {} held a database connection for {} ms over {} statements",
+                    request.getMethod(), uri, TimeUnit.NANOSECONDS.toMillis(time.getMaxHoldNanos()), time.getStatements());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.shaurya.hospitalManagement.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times the JDBC work of one Hibernate session into RequestDbTime. Registered for every session through
+ * hibernate.session.events.auto; Hibernate creates one instance per session, so the fields need no locking.
+ * JdbcTemplate calls bypass Hibernate and are not counted.
+ */
+public class DbTimeSessionListener implements SessionEventListener {
+
+    private long acquireStart;
+    private long acquiredAt;
+    private long executeStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        acquireStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        acquiredAt = System.nanoTime();
+        RequestDbTime.connectionAcquired(acquiredAt - acquireStart);
+    }
+
+    @Override
+    public void jdbcConnectionReleaseEnd() {
+        if (acquiredAt != 0) {
+            RequestDbTime.connectionReleased(System.nanoTime() - acquiredAt);
+            acquiredAt = 0;
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestDbTime.statementExecuted(System.nanoTime() - executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestDbTime.statementExecuted(System.nanoTime() - batchStart);
+    }
+}
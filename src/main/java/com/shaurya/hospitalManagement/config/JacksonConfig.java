@@ -1,14 +1,101 @@
 package com.shaurya.hospitalManagement.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.boot.jackson.autoconfigure.CborMapperBuilderCustomizer;
+import org.springframework.boot.jackson.autoconfigure.JsonMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.cfg.MapperBuilder;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.databind.ser.std.StdSerializer;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+import tools.jackson.module.blackbird.BlackbirdModule;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Tunes Boot's JsonMapper, the one mapper of the application: it reads and writes the REST bodies and backs the
+ * caches and the OAuth2 login response. Blackbird replaces reflective getter calls with generated lambdas, and
+ * LocalDate / LocalDateTime are written straight as ISO strings instead of going through Jackson's date/time
+ * format resolution on every value. A native image cannot define classes at runtime, there Blackbird is left out
+ * and Jackson uses reflection. The spring.jackson properties still apply on top.
+ * The CBOR and Smile converters are built the same way, so all three formats read and write alike.
+ */
 @Configuration
 public class JacksonConfig {
 
+    // ahead of Boot's own customizer, so the spring.jackson properties have the last word
+    @Bean
+    @Order(-1)
+    public JsonMapperBuilderCustomizer jsonMapperCustomizer() {
+        return JacksonConfig::configure;
+    }
+
     @Bean
-    public ObjectMapper objectMapper() {
-        return new ObjectMapper();
+    @Order(-1)
+    public CborMapperBuilderCustomizer cborMapperCustomizer() {
+        return JacksonConfig::configure;
+    }
+
+    /**
+     * CBOR and Smile only answer requests sending or accepting application/cbor or application/x-jackson-smile,
+     * JSON stays the default. Boot builds the CBORMapper, the Smile one has no Boot counterpart.
+     */
+    @Bean
+    public ServerHttpMessageConvertersCustomizer binaryMessageConverters(CBORMapper cborMapper) {
+        SmileMapper smileMapper = configure(SmileMapper.builder()).build();
+        return converters -> converters
+                .withCborConverter(new JacksonCborHttpMessageConverter(cborMapper))
+                .withSmileConverter(new JacksonSmileHttpMessageConverter(smileMapper));
+    }
+
+    /**
+     * Applies the application's modules and features to a mapper builder of any data format.
+     */
+    public static <B extends MapperBuilder<?, B>> B configure(B builder) {
+        SimpleModule isoDates = new SimpleModule("IsoDates")
+                .addSerializer(LocalDate.class, new IsoLocalDateSerializer())
+                .addSerializer(LocalDateTime.class, new IsoLocalDateTimeSerializer());
+        builder.addModule(isoDates)
+                // callers writing to a response stream leave closing it to the container
+                .disable(StreamWriteFeature.AUTO_CLOSE_TARGET);
+        if (!NativeDetector.inNativeImage()) {
+            builder.addModule(new BlackbirdModule());
+        }
+        return builder;
+    }
+
+    // same output as Jackson's own LocalDate serializer with timestamps off, e.g. 1995-03-15
+    static final class IsoLocalDateSerializer extends StdSerializer<LocalDate> {
+        IsoLocalDateSerializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public void serialize(LocalDate value, JsonGenerator generator, SerializationContext context) {
+            generator.writeString(value.toString());
+        }
+    }
+
+    // e.g. 2026-01-25T10:30:00, LocalDateTime.toString() would drop the zero seconds
+    static final class IsoLocalDateTimeSerializer extends StdSerializer<LocalDateTime> {
+        IsoLocalDateTimeSerializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializationContext context) {
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
     }
-}
\ No newline at end of file
+}
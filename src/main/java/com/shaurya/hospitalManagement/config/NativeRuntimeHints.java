@@ -0,0 +1,91 @@
+package com.shaurya.hospitalManagement.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Hints for the native image (mvn -Pnative native:compile) that AOT processing cannot derive on its own.
+ * Entities, repositories, controller signatures and the libraries' own metadata are covered already; this adds
+ * what is only named in configuration, looked up by class name or reached outside a controller signature.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String DTO_PACKAGE = "com.shaurya.hospitalManagement.dto";
+
+    // JJWT loads its implementation by name from jjwt-api, e.g. Jwts.builder() and Jwts.SIG
+    private static final List<String> JJWT_IMPLEMENTATIONS = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    );
+
+    // instantiated from names in application.yml or by the libraries' defaults
+    private static final List<String> NAMED_IN_CONFIGURATION = List.of(
+            "com.shaurya.hospitalManagement.config.DbTimeSessionListener",
+            "org.hibernate.cache.jcache.internal.JCacheRegionFactory",
+            "org.ehcache.jsr107.EhcacheCachingProvider",
+            // GenericObjectPool sets its eviction policy by class name, the Redis pool included
+            "org.apache.commons.pool2.impl.DefaultEvictionPolicy"
+    );
+
+    // Lettuce's synchronous API is a JDK proxy over the async one, one interface set per topology
+    private static final List<List<String>> LETTUCE_SYNC_PROXIES = List.of(
+            List.of("io.lettuce.core.api.sync.RedisCommands", "io.lettuce.core.cluster.api.sync.RedisClusterCommands"),
+            List.of("io.lettuce.core.cluster.api.sync.RedisAdvancedClusterCommands"),
+            List.of("io.lettuce.core.sentinel.api.sync.RedisSentinelCommands")
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        registerDtos(hints, classLoader);
+
+        JJWT_IMPLEMENTATIONS.forEach(name -> hints.reflection().registerType(TypeReference.of(name),
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS));
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+
+        NAMED_IN_CONFIGURATION.forEach(name -> hints.reflection().registerType(TypeReference.of(name),
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS));
+
+        LETTUCE_SYNC_PROXIES.forEach(interfaces -> hints.proxies().registerJdkProxy(
+                interfaces.stream().map(TypeReference::of).toArray(TypeReference[]::new)));
+
+        hints.resources().registerPattern("ehcache.xml");
+        hints.resources().registerPattern("db/indexes.sql");
+    }
+
+    /**
+     * Jackson binds the Lombok generated getters, setters and constructors of every DTO reflectively. Controllers
+     * returning ResponseEntity<?> and the caches writing DTOs to Redis are invisible to AOT, so the whole package
+     * is registered, together with the types reachable from its fields.
+     */
+    private void registerDtos(RuntimeHints hints, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+        scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+        BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+        for (BeanDefinition candidate : scanner.findCandidateComponents(DTO_PACKAGE)) {
+            Class<?> type = ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader);
+            bindingRegistrar.registerReflectionHints(hints.reflection(), type);
+        }
+    }
+}
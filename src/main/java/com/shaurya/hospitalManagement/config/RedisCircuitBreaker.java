@@ -0,0 +1,92 @@
+package com.shaurya.hospitalManagement.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker for Redis calls. After failure-threshold consecutive failures or timeouts it opens and
+ * callers skip Redis for open-ms; then one probe call is let through, its outcome closes or reopens it.
+ * The state is published as redis.circuit.state, 1 for the current state and 0 for the others.
+ */
+@Component
+@Slf4j
+public class RedisCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile long openedAt;
+
+    public RedisCircuitBreaker(
+            @Value("${rate.limit.redis.failure-threshold:5}") int failureThreshold,
+            @Value("${rate.limit.redis.open-ms:10000}") long openMillis,
+            MeterRegistry meterRegistry
+    ) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = Duration.ofMillis(openMillis).toNanos();
+        for (State s : State.values()) {
+            Gauge.builder("redis.circuit.state", state, current -> current.get() == s ? 1 : 0)
+                    .tag("state", s.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * @return false while the breaker is open or its probe is still running, the caller uses its fallback
+     */
+    public boolean allowRequest() {
+        return switch (state.get()) {
+            case CLOSED -> true;
+            case HALF_OPEN -> false;
+            // only the caller that wins the switch sends the probe
+            case OPEN -> System.nanoTime() - openedAt >= openNanos
+                    && state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        };
+    }
+
+    public void onSuccess() {
+        if (failures.get() != 0) {
+            failures.set(0);
+        }
+        if (state.get() != State.CLOSED && state.getAndSet(State.CLOSED) != State.CLOSED) {
+            log.info("Redis circuit closed");
+        }
+    }
+
+    public void onFailure() {
+        if (state.get() == State.HALF_OPEN || failures.incrementAndGet() >= failureThreshold) {
+            open();
+        }
+    }
+
+    private void open() {
+        openedAt = System.nanoTime();
+        if (state.getAndSet(State.OPEN) != State.OPEN) {
+            log.warn("Redis circuit opened, calls skip Redis for {} ms", TimeUnit.NANOSECONDS.toMillis(openNanos));
+        }
+        failures.set(0);
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    // whole seconds until a probe is let through, at least one
+    public long getRetryAfterSeconds() {
+        long left = openNanos - (System.nanoTime() - openedAt);
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(left));
+    }
+}
@@ -2,16 +2,46 @@ package com.shaurya.hospitalManagement.config;
 
 import io.lettuce.core.ClientOptions;
 import io.lettuce.core.SslOptions;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.metrics.MicrometerCommandLatencyRecorder;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Redis connections for the templates, the rate limiter and the cache invalidation listeners.
+ *
+ * The topology follows the spring.data.redis properties: cluster when cluster.nodes is set, Sentinel when
+ * sentinel.master is set, otherwise the single host and port. Plain commands and pipelines share one native
+ * connection, blocking and transactional commands (MULTI, BLPOP) borrow from the lettuce.pool.
+ */
 @Configuration
 public class RedisConfig {
 
@@ -27,34 +57,101 @@ public class RedisConfig {
     @Value("${spring.data.redis.ssl.enabled:true}")
     private boolean sslEnabled;
 
+    @Value("${spring.data.redis.timeout:2s}")
+    private Duration commandTimeout = Duration.ofSeconds(2);
+
+    @Value("${spring.data.redis.lettuce.pool.max-active:8}")
+    private int poolMaxActive = 8;
+
+    @Value("${spring.data.redis.lettuce.pool.max-idle:8}")
+    private int poolMaxIdle = 8;
+
+    @Value("${spring.data.redis.lettuce.pool.min-idle:0}")
+    private int poolMinIdle = 0;
+
+    @Value("${spring.data.redis.lettuce.pool.max-wait:-1ms}")
+    private Duration poolMaxWait = Duration.ofMillis(-1);
+
+    @Value("${spring.data.redis.sentinel.master:}")
+    private String sentinelMaster = "";
+
+    @Value("${spring.data.redis.sentinel.nodes:}")
+    private List<String> sentinelNodes = List.of();
+
+    @Value("${spring.data.redis.cluster.nodes:}")
+    private List<String> clusterNodes = List.of();
+
+    @Value("${spring.data.redis.cluster.max-redirects:3}")
+    private int clusterMaxRedirects = 3;
+
+    // latencies per command type as lettuce.command.completion and lettuce.command.firstresponse
+    @Bean(destroyMethod = "shutdown")
+    public ClientResources lettuceClientResources(MeterRegistry meterRegistry) {
+        return DefaultClientResources.builder()
+                .commandLatencyRecorder(new MicrometerCommandLatencyRecorder(meterRegistry,
+                        MicrometerOptions.builder().histogram(true).build()))
+                .build();
+    }
+
     @Bean
-    public LettuceConnectionFactory redisConnectionFactory() {
-        RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
-        config.setHostName(redisHost);
-        config.setPort(redisPort);
-        config.setPassword(redisPassword);
+    public LettuceConnectionFactory redisConnectionFactory(ClientResources clientResources) {
+        GenericObjectPoolConfig<StatefulConnection<?, ?>> poolConfig = new GenericObjectPoolConfig<>();
+        poolConfig.setMaxTotal(poolMaxActive);
+        poolConfig.setMaxIdle(poolMaxIdle);
+        poolConfig.setMinIdle(poolMinIdle);
+        poolConfig.setMaxWait(poolMaxWait);
 
-        LettuceClientConfiguration.LettuceClientConfigurationBuilder clientBuilder =
-                LettuceClientConfiguration.builder();
+        LettucePoolingClientConfiguration.LettucePoolingClientConfigurationBuilder clientBuilder =
+                LettucePoolingClientConfiguration.builder()
+                        .poolConfig(poolConfig)
+                        .clientResources(clientResources)
+                        .commandTimeout(commandTimeout);
+
+        // cluster clients follow slot moves and failovers without a restart
+        ClientOptions.Builder clientOptions = clusterNodes.isEmpty()
+                ? ClientOptions.builder()
+                : ClusterClientOptions.builder().topologyRefreshOptions(ClusterTopologyRefreshOptions.builder()
+                        .enableAllAdaptiveRefreshTriggers()
+                        .enablePeriodicRefresh(Duration.ofMinutes(1))
+                        .build());
 
         if (sslEnabled) {
             SslOptions sslOptions = SslOptions.builder()
                     .jdkSslProvider()
                     .build();
 
-            ClientOptions clientOptions = ClientOptions.builder()
-                    .sslOptions(sslOptions)
-                    .build();
-
-            clientBuilder.clientOptions(clientOptions);
+            clientOptions.sslOptions(sslOptions);
             clientBuilder.useSsl();
         }
+        clientBuilder.clientOptions(clientOptions.build());
 
-        LettuceConnectionFactory factory = new LettuceConnectionFactory(config, clientBuilder.build());
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(redisConfiguration(), clientBuilder.build());
+        // the native connection is shared for everything that does not need exclusive use
+        factory.setShareNativeConnection(true);
         factory.afterPropertiesSet();
         return factory;
     }
 
+    private RedisConfiguration redisConfiguration() {
+        RedisPassword password = RedisPassword.of(redisPassword);
+        if (!clusterNodes.isEmpty()) {
+            RedisClusterConfiguration config = new RedisClusterConfiguration(clusterNodes);
+            config.setMaxRedirects(clusterMaxRedirects);
+            config.setPassword(password);
+            return config;
+        }
+        if (!sentinelMaster.isBlank()) {
+            RedisSentinelConfiguration config = new RedisSentinelConfiguration(sentinelMaster, new HashSet<>(sentinelNodes));
+            config.setPassword(password);
+            return config;
+        }
+        RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
+        config.setHostName(redisHost);
+        config.setPort(redisPort);
+        config.setPassword(password);
+        return config;
+    }
+
     @Bean
     public RedisTemplate<String, String> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, String> template = new RedisTemplate<>();
@@ -66,4 +163,25 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    // non-blocking commands for the rate limiter, over the same Lettuce connection factory
+    @Bean
+    public ReactiveStringRedisTemplate reactiveStringRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+        return new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    // invalidation listeners subscribe in their constructors, they must exist before another instance publishes,
+    // also under spring.main.lazy-initialization
+    @Bean
+    public static LazyInitializationExcludeFilter invalidationListenersExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(MessageListener.class);
+    }
+
+    // shared by the cache invalidation listeners
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.shaurya.hospitalManagement.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary. It must sit behind a
+ * LazyConnectionDataSourceProxy, so the connection is picked at the first statement, after the transaction
+ * manager has published the read-only flag.
+ *
+ * A read-only transaction still goes to the primary when:
+ * - no replica is within max-lag of the primary, the lag is checked every check-interval-ms
+ * - its user committed a write less than the stickiness ago, so they read their own write
+ * - it runs inside onPrimary, for reads that outlive the request and must not predate an invalidation
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    // set by onPrimary for the current thread
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final Map<String, DataSource> replicas;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final long stickinessNanos;
+    private final Supplier<String> currentUser;
+
+    // replicas that passed the last lag check, none until the first one ran
+    private volatile List<String> inSync = List.of();
+    private final AtomicInteger next = new AtomicInteger();
+    // user -> System.nanoTime() until which their reads stay on the primary
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    /**
+     * @param replicas    by name, the name is used in logs
+     * @param lagQuery    returns the replica's lag in milliseconds, null when unknown
+     * @param currentUser name of the user of the current thread, null when anonymous
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, String lagQuery,
+                                    Duration maxLag, Duration stickiness, Supplier<String> currentUser) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLag.toMillis();
+        this.stickinessNanos = stickiness.toNanos();
+        this.currentUser = currentUser;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        stickyUntil.put(user, System.nanoTime() + stickinessNanos);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+
+        if (PRIMARY_PINNED.get() != null || (user != null && isSticky(user))) {
+            return PRIMARY;
+        }
+        List<String> candidates = inSync;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Runs read with its read-only transactions on the primary. Meant for cache fills: a replica may still be up to
+     * max-lag behind a write whose invalidation already ran, and the stale row would then be cached for the full TTL.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        boolean outermost = PRIMARY_PINNED.get() == null;
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (outermost) {
+                PRIMARY_PINNED.remove();
+            }
+        }
+    }
+
+    private boolean isSticky(String user) {
+        Long until = stickyUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(user, until);
+        return false;
+    }
+
+    /**
+     * Re-checks every replica's lag. A replica that cannot be reached or reports no lag is treated as behind.
+     */
+    @Scheduled(fixedDelayString = "${replica.check-interval-ms:2000}")
+    public void checkLag() {
+        List<String> fresh = new ArrayList<>();
+        replicas.forEach((name, replica) -> {
+            Double lag;
+            try {
+                lag = new JdbcTemplate(replica).queryForObject(lagQuery, Double.class);
+            } catch (RuntimeException e) {
+                log.debug("Lag check failed on {}: {}", name, e.getMessage());
+                lag = null;
+            }
+            boolean ok = lag != null && lag <= maxLagMillis;
+            if (ok) {
+                fresh.add(name);
+            }
+            if (ok != inSync.contains(name)) {
+                log.info("Replica {} {} reads, lag {} ms", name, ok ? "back in" : "taken out of", lag);
+            }
+        });
+        inSync = List.copyOf(fresh);
+
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    public List<String> getInSyncReplicas() {
+        return inSync;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.shaurya.hospitalManagement.config;
+
+/**
+ * Database time spent by the current request, filled in by DbTimeSessionListener and read by DbTimeInterceptor.
+ * Nothing is recorded on threads where no request started it, such as scheduled jobs.
+ */
+public final class RequestDbTime {
+
+    private static final ThreadLocal<RequestDbTime> CURRENT = new ThreadLocal<>();
+
+    private long statementNanos;
+    private int statements;
+    private long acquireNanos;
+    private long maxHoldNanos;
+
+    private RequestDbTime() {
+    }
+
+    public static void start() {
+        CURRENT.set(new RequestDbTime());
+    }
+
+    public static RequestDbTime stop() {
+        RequestDbTime time = CURRENT.get();
+        CURRENT.remove();
+        return time;
+    }
+
+    static void statementExecuted(long nanos) {
+        RequestDbTime time = CURRENT.get();
+        if (time != null) {
+            time.statementNanos += nanos;
+            time.statements++;
+        }
+    }
+
+    static void connectionAcquired(long nanos) {
+        RequestDbTime time = CURRENT.get();
+        if (time != null) {
+            time.acquireNanos += nanos;
+        }
+    }
+
+    static void connectionReleased(long heldNanos) {
+        RequestDbTime time = CURRENT.get();
+        if (time != null) {
+            time.maxHoldNanos = Math.max(time.maxHoldNanos, heldNanos);
+        }
+    }
+
+    public long getStatementNanos() {
+        return statementNanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    // time waiting on the pool, the saturation signal
+    public long getAcquireNanos() {
+        return acquireNanos;
+    }
+
+    // longest stretch one connection stayed checked out, roughly the longest transaction
+    public long getMaxHoldNanos() {
+        return maxHoldNanos;
+    }
+}
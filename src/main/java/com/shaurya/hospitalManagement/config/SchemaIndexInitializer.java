@@ -0,0 +1,39 @@
+package com.shaurya.hospitalManagement.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Applies db/indexes.sql once the application is up, i.e. after Hibernate created or updated the tables.
+ * It holds expression and operator class indexes that @Index cannot describe.
+ * Turned off with schema.apply-indexes-on-startup=false where Flyway owns the schema, see db/migration.
+ */
+@Component
+@ConditionalOnProperty(name = "schema.apply-indexes-on-startup", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaIndexInitializer implements ApplicationRunner {
+
+    static final String INDEX_SCRIPT = "db/indexes.sql";
+
+    private final DataSource dataSource;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(INDEX_SCRIPT));
+        try {
+            populator.execute(dataSource);
+        } catch (Exception e) {
+            // a missing index makes the queries slower, not wrong, so it must not stop the application
+            log.warn("Could not apply {}: {}", INDEX_SCRIPT, e.getMessage());
+        }
+    }
+}
@@ -1,18 +1,34 @@
 package com.shaurya.hospitalManagement.controller;
 
+import com.shaurya.hospitalManagement.dto.CreateDepartmentRequestDto;
+import com.shaurya.hospitalManagement.dto.DepartmentResponseDto;
 import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
+import com.shaurya.hospitalManagement.dto.DuplicateScanResponseDto;
 import com.shaurya.hospitalManagement.dto.OnBoardDoctorRequestDto;
+import com.shaurya.hospitalManagement.dto.PatientBatchUpdateResponseDto;
+import com.shaurya.hospitalManagement.dto.PatientMergeCandidateResponseDto;
 import com.shaurya.hospitalManagement.dto.PatientResponseDto;
+import com.shaurya.hospitalManagement.dto.PurgeJobResponseDto;
+import com.shaurya.hospitalManagement.service.DepartmentService;
 import com.shaurya.hospitalManagement.service.DoctorService;
+import com.shaurya.hospitalManagement.service.DuplicatePatientService;
+import com.shaurya.hospitalManagement.service.PatientBatchUpdateService;
 import com.shaurya.hospitalManagement.service.PatientService;
+import com.shaurya.hospitalManagement.service.PurgeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/admin")
@@ -21,6 +37,10 @@ public class AdminController {
 
     private final PatientService patientService;
     private final DoctorService doctorService;
+    private final PatientBatchUpdateService patientBatchUpdateService;
+    private final PurgeService purgeService;
+    private final DuplicatePatientService duplicatePatientService;
+    private final DepartmentService departmentService;
 
     @GetMapping("/patients")
     public ResponseEntity<List<PatientResponseDto>> getAllPatients(
@@ -30,8 +50,82 @@ public class AdminController {
         return ResponseEntity.ok(patientService.getAllPatients(pageNumber, pageSize));
     }
 
+    // sparse fieldset, e.g. ?fields=id,name, only those columns are selected
+    @GetMapping(value = "/patients", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllPatientFields(
+            @RequestParam(value = "page", defaultValue = "0") Integer pageNumber,
+            @RequestParam(value = "size", defaultValue = "10") Integer pageSize,
+            @RequestParam("fields") String fields
+    ) {
+        return ResponseEntity.ok(patientService.getAllPatients(pageNumber, pageSize, fields));
+    }
+
+    // newline delimited JSON, read line by line so large files are never held in memory
+    @PostMapping(value = "/patients/batch-update", consumes = "application/x-ndjson")
+    public ResponseEntity<PatientBatchUpdateResponseDto> batchUpdatePatients(Reader body) throws IOException {
+        try (BufferedReader reader = new BufferedReader(body)) {
+            return ResponseEntity.ok(patientBatchUpdateService.updatePatients(reader.lines()));
+        }
+    }
+
+    @PostMapping("/patients/duplicates/scan")
+    public ResponseEntity<DuplicateScanResponseDto> scanForDuplicatePatients() {
+        return ResponseEntity.accepted().body(duplicatePatientService.startScan());
+    }
+
+    @GetMapping("/patients/duplicates/scan")
+    public ResponseEntity<DuplicateScanResponseDto> getDuplicatePatientScan() {
+        return ResponseEntity.ofNullable(duplicatePatientService.getLastScan());
+    }
+
+    @GetMapping("/patients/duplicates")
+    public ResponseEntity<List<PatientMergeCandidateResponseDto>> getDuplicatePatients(
+            @RequestParam(value = "page", defaultValue = "0") Integer pageNumber,
+            @RequestParam(value = "size", defaultValue = "10") Integer pageSize
+    ) {
+        return ResponseEntity.ok(duplicatePatientService.getCandidates(pageNumber, pageSize));
+    }
+
+    // deletion runs in the background, poll /admin/purges/{jobId} for progress
+    @DeleteMapping("/patients/{patientId}")
+    public ResponseEntity<PurgeJobResponseDto> deletePatient(@PathVariable Long patientId) {
+        return ResponseEntity.accepted().body(purgeService.deletePatient(patientId));
+    }
+
+    @DeleteMapping("/appointments")
+    public ResponseEntity<PurgeJobResponseDto> purgeAppointmentsBefore(
+            @RequestParam("before") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before
+    ) {
+        return ResponseEntity.accepted().body(purgeService.purgeAppointmentsBefore(before.atStartOfDay()));
+    }
+
+    @GetMapping("/purges/{jobId}")
+    public ResponseEntity<PurgeJobResponseDto> getPurgeJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(purgeService.getJob(jobId));
+    }
+
     @PostMapping("/onBoardNewDoctor")
     public ResponseEntity<DoctorResponseDto> onBoardNewDoctor(@RequestBody OnBoardDoctorRequestDto onboardDoctorRequestDto) {
         return ResponseEntity.status(HttpStatus.CREATED).body(doctorService.onBoardNewDoctor(onboardDoctorRequestDto));
     }
-}
\ No newline at end of file
+
+    @PostMapping("/departments")
+    public ResponseEntity<DepartmentResponseDto> createDepartment(@RequestBody CreateDepartmentRequestDto createDepartmentRequestDto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(departmentService.createDepartment(createDepartmentRequestDto));
+    }
+
+    @PutMapping("/departments/{departmentId}/doctors/{doctorId}")
+    public ResponseEntity<DepartmentResponseDto> addDoctorToDepartment(@PathVariable Long departmentId, @PathVariable Long doctorId) {
+        return ResponseEntity.ok(departmentService.addDoctor(departmentId, doctorId));
+    }
+
+    @DeleteMapping("/departments/{departmentId}/doctors/{doctorId}")
+    public ResponseEntity<DepartmentResponseDto> removeDoctorFromDepartment(@PathVariable Long departmentId, @PathVariable Long doctorId) {
+        return ResponseEntity.ok(departmentService.removeDoctor(departmentId, doctorId));
+    }
+
+    @PutMapping("/departments/{departmentId}/head/{doctorId}")
+    public ResponseEntity<DepartmentResponseDto> setDepartmentHead(@PathVariable Long departmentId, @PathVariable Long doctorId) {
+        return ResponseEntity.ok(departmentService.setHeadDoctor(departmentId, doctorId));
+    }
+}
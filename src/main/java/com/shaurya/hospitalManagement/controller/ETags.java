@@ -0,0 +1,18 @@
+package com.shaurya.hospitalManagement.controller;
+
+final class ETags {
+
+    private ETags() {
+    }
+
+    // If-None-Match may hold several tags, weak ones prefixed with W/, or *
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(eTag)) return true;
+        }
+        return false;
+    }
+}
@@ -1,13 +1,25 @@
 package com.shaurya.hospitalManagement.controller;
 
+import com.shaurya.hospitalManagement.dto.DepartmentResponseDto;
+import com.shaurya.hospitalManagement.dto.DoctorFieldsPageResponseDto;
 import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
+import com.shaurya.hospitalManagement.service.DepartmentService;
+import com.shaurya.hospitalManagement.service.DoctorDirectoryCache;
 import com.shaurya.hospitalManagement.service.DoctorService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -15,10 +27,66 @@ import java.util.List;
 @RequiredArgsConstructor
 public class HospitalController {
 
+    // browsers and CDNs may reuse the list this long before revalidating with the ETag
+    private static final CacheControl DOCTORS_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+
+    private final DoctorDirectoryCache doctorDirectoryCache;
     private final DoctorService doctorService;
+    private final DepartmentService departmentService;
+
+    /**
+     * Without parameters this is the whole directory as precomputed JSON, the response is a copy of the cached bytes.
+     * Any filter, cursor or size switches to a filtered page, see DoctorService.searchDoctors.
+     */
+    @GetMapping(value = "/doctors", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getAllDoctors(
+            @RequestParam(value = "specialization", required = false) String specialization,
+            @RequestParam(value = "departmentId", required = false) Long departmentId,
+            @RequestParam(value = "namePrefix", required = false) String namePrefix,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (specialization != null || departmentId != null || namePrefix != null || cursor != null || size != null) {
+            return ResponseEntity.ok(doctorService.searchDoctors(specialization, departmentId, namePrefix, cursor, size));
+        }
+
+        DoctorDirectoryCache.Directory directory = doctorDirectoryCache.get();
+
+        if (ETags.matches(ifNoneMatch, directory.eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(directory.eTag())
+                    .cacheControl(DOCTORS_CACHE_CONTROL)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(directory.eTag())
+                .cacheControl(DOCTORS_CACHE_CONTROL)
+                .body(directory.json());
+    }
+
+    // sparse fieldset, e.g. ?fields=id,name, always a filtered page with only those columns selected
+    @GetMapping(value = "/doctors", params = "fields")
+    public ResponseEntity<DoctorFieldsPageResponseDto> getDoctorFields(
+            @RequestParam(value = "specialization", required = false) String specialization,
+            @RequestParam(value = "departmentId", required = false) Long departmentId,
+            @RequestParam(value = "namePrefix", required = false) String namePrefix,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam("fields") String fields
+    ) {
+        return ResponseEntity.ok(doctorService.searchDoctors(specialization, departmentId, namePrefix, cursor, size, fields));
+    }
+
+    // both served from the in-memory department index, no database access per request
+    @GetMapping("/departments")
+    public ResponseEntity<List<DepartmentResponseDto>> getDepartments() {
+        return ResponseEntity.ok(departmentService.getDepartments());
+    }
 
-    @GetMapping("/doctors")
-    public ResponseEntity<List<DoctorResponseDto>> getAllDoctors() {
-        return ResponseEntity.ok(doctorService.getAllDoctors());
+    @GetMapping("/departments/{departmentId}/doctors")
+    public ResponseEntity<List<DoctorResponseDto>> getDepartmentDoctors(@PathVariable Long departmentId) {
+        return ResponseEntity.of(departmentService.getDepartmentDoctors(departmentId));
     }
 }
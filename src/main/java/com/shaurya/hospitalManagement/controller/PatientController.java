@@ -3,11 +3,16 @@ package com.shaurya.hospitalManagement.controller;
 import com.shaurya.hospitalManagement.dto.AppointmentResponseDto;
 import com.shaurya.hospitalManagement.dto.CreateAppointmentRequestDto;
 import com.shaurya.hospitalManagement.dto.PatientResponseDto;
+import com.shaurya.hospitalManagement.entity.User;
 import com.shaurya.hospitalManagement.service.AppointmentService;
+import com.shaurya.hospitalManagement.service.PatientProfileCache;
 import com.shaurya.hospitalManagement.service.PatientService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -24,9 +29,20 @@ public class PatientController {
     }
 
     @GetMapping("/profile")
-    public ResponseEntity<PatientResponseDto> getPatientProfile() {
-        Long patientId = 4L;
-        return ResponseEntity.ok(patientService.getPatientById(patientId));
+    public ResponseEntity<PatientResponseDto> getPatientProfile(
+            @AuthenticationPrincipal User user,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        // patient shares its id with the user through @MapsId
+        PatientProfileCache.Entry profile = patientService.getPatientProfile(user.getId());
+
+        if (ETags.matches(ifNoneMatch, profile.eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(profile.eTag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(profile.eTag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(profile.profile());
     }
 
 }
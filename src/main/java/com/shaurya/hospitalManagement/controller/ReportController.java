@@ -0,0 +1,72 @@
+package com.shaurya.hospitalManagement.controller;
+
+import com.shaurya.hospitalManagement.dto.AgeBandCountResponseDto;
+import com.shaurya.hospitalManagement.dto.BloodGroupCountResponseEntity;
+import com.shaurya.hospitalManagement.dto.CacheRegionStatsResponseDto;
+import com.shaurya.hospitalManagement.dto.DoctorWorkloadResponseDto;
+import com.shaurya.hospitalManagement.dto.PinnedSectionResponseDto;
+import com.shaurya.hospitalManagement.service.CacheRegionStatisticsService;
+import com.shaurya.hospitalManagement.service.DoctorWorkloadService;
+import com.shaurya.hospitalManagement.service.PatientDemographicsService;
+import com.shaurya.hospitalManagement.service.VirtualThreadPinningMonitor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final PatientDemographicsService patientDemographicsService;
+    private final CacheRegionStatisticsService cacheRegionStatisticsService;
+    private final DoctorWorkloadService doctorWorkloadService;
+    private final VirtualThreadPinningMonitor virtualThreadPinningMonitor;
+
+    @GetMapping("/patients/blood-groups")
+    public ResponseEntity<List<BloodGroupCountResponseEntity>> getBloodGroupCounts() {
+        return ResponseEntity.ok(patientDemographicsService.countEachBloodGroupType());
+    }
+
+    @GetMapping("/patients/age-bands")
+    public ResponseEntity<List<AgeBandCountResponseDto>> getAgeBandCounts(
+            @RequestParam(value = "bands", defaultValue = "0,18,40,65") int[] bandLowerAges
+    ) {
+        return ResponseEntity.ok(patientDemographicsService.countByAgeBandAndBloodGroup(bandLowerAges));
+    }
+
+    @GetMapping("/patients/born-between")
+    public ResponseEntity<Long> countPatientsBornBetween(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(patientDemographicsService.countPatientsBornBetween(from, to));
+    }
+
+    @GetMapping("/doctors/workload")
+    public ResponseEntity<List<DoctorWorkloadResponseDto>> getDoctorWorkload(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "doctorId", required = false) Long doctorId
+    ) {
+        return ResponseEntity.ok(doctorWorkloadService.getWorkload(from, to, doctorId));
+    }
+
+    @GetMapping("/cache/regions")
+    public ResponseEntity<List<CacheRegionStatsResponseDto>> getCacheRegionStatistics() {
+        return ResponseEntity.ok(cacheRegionStatisticsService.getRegionStatistics());
+    }
+
+    // empty unless the virtual-threads profile is active
+    @GetMapping("/threads/pinned")
+    public ResponseEntity<List<PinnedSectionResponseDto>> getPinnedSections() {
+        return ResponseEntity.ok(virtualThreadPinningMonitor.getPinnedSections());
+    }
+}
@@ -0,0 +1,19 @@
+package com.shaurya.hospitalManagement.dto;
+
+import com.shaurya.hospitalManagement.entity.type.BloodGroupType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AgeBandCountResponseDto {
+    private Integer minAge;
+    private Integer maxAge; // null for the last, open ended band
+    private Long count;
+    private Map<BloodGroupType, Long> bloodGroupCounts;
+    private Long unknownBloodGroupCount;
+}
@@ -0,0 +1,18 @@
+package com.shaurya.hospitalManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheRegionStatsResponseDto {
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    // hits / (hits + misses), 0 before the first lookup
+    private double hitRatio;
+    private long elementCountInMemory;
+}
@@ -7,6 +7,7 @@ import java.time.LocalDateTime;
 @Data
 public class CreateAppointmentRequestDto {
     private Long doctorId;
+    private Long departmentId; // used when doctorId is empty, the least loaded doctor of the department is assigned
     private Long patientId;
     private LocalDateTime appointmentTime;
     private String reason;
@@ -0,0 +1,14 @@
+package com.shaurya.hospitalManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreateDepartmentRequestDto {
+    private String name;
+    // optional, the head doctor also becomes a member
+    private Long headDoctorId;
+}
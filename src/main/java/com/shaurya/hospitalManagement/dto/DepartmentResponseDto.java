@@ -0,0 +1,15 @@
+package com.shaurya.hospitalManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DepartmentResponseDto {
+    private Long id;
+    private String name;
+    private DoctorResponseDto headDoctor;
+    private int doctorCount;
+}
@@ -0,0 +1,19 @@
+package com.shaurya.hospitalManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// DoctorPageResponseDto with only the requested doctor fields
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DoctorFieldsPageResponseDto {
+    private List<Map<String, Object>> doctors = new ArrayList<>();
+    // pass as cursor to get the next page, null on the last page
+    private Long nextCursor;
+}
@@ -0,0 +1,17 @@
+package com.shaurya.hospitalManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DoctorPageResponseDto {
+    private List<DoctorResponseDto> doctors = new ArrayList<>();
+    // pass as cursor to get the next page, null on the last page
+    private Long nextCursor;
+}
@@ -0,0 +1,16 @@
+package com.shaurya.hospitalManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DoctorWorkloadResponseDto {
+    private Long doctorId;
+    private LocalDate workDate;
+    private int appointmentCount;
+}
@@ -0,0 +1,29 @@
+package com.shaurya.hospitalManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DuplicateScanResponseDto {
+    private Status status;
+    private long patients;
+    private long blocks;
+    // blocks above patient.duplicates.max-block-size, not compared
+    private long oversizedBlocks;
+    private long comparisons;
+    private long candidates;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,19 @@
+package com.shaurya.hospitalManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PatientBatchUpdateResponseDto {
+    private long received;
+    private long updated;
+    private long failed;
+    // capped, see patient.batch-update.max-reported-failures
+    private List<PatientUpdateFailureDto> failures = new ArrayList<>();
+}
@@ -0,0 +1,14 @@
+package com.shaurya.hospitalManagement.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class PatientMergeCandidateResponseDto {
+    private Long patientId;
+    private Long duplicatePatientId;
+    private Double score;
+    private String reasons;
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,14 @@
+package com.shaurya.hospitalManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PatientUpdateFailureDto {
+    private Long line; // 1 based line of the uploaded file
+    private Long patientId;
+    private String error;
+}
@@ -0,0 +1,20 @@
+package com.shaurya.hospitalManagement.dto;
+
+import com.shaurya.hospitalManagement.entity.type.BloodGroupType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Partial update, null fields are left unchanged
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PatientUpdateRequestDto {
+    private Long id;
+    private String name;
+    private String gender;
+    private BloodGroupType bloodGroup;
+    private LocalDate birthDate;
+}
@@ -0,0 +1,18 @@
+package com.shaurya.hospitalManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PinnedSectionResponseDto {
+    // JDBC, JDBC pool, Lettuce, application or other
+    private String source;
+    // innermost frame of that source, class.method:line
+    private String frame;
+    private long count;
+    private long totalMillis;
+    private long maxMillis;
+}
@@ -0,0 +1,28 @@
+package com.shaurya.hospitalManagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurgeJobResponseDto {
+    private String jobId;
+    private String description;
+    private Status status;
+    // rows that matched when the job started, new matches created while it runs are deleted too
+    private long totalRows;
+    private long deletedRows;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -12,6 +12,15 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @ToString
+@Table(
+        indexes = {
+                // postgres does not index foreign keys on its own, patient deletion filters on it
+                @Index(name = "idx_appointment_patient_id", columnList = "patient_id"),
+                @Index(name = "idx_appointment_time", columnList = "appointmentTime"),
+                // doctor schedules and the workload reconcile
+                @Index(name = "idx_appointment_doctor_time", columnList = "doctor_id, appointmentTime")
+        }
+)
 public class Appointment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,7 +32,7 @@ public class Appointment {
     @Column(length = 500)
     private String reason;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @ToString.Exclude
     @JoinColumn(name = "patient_id", nullable = false)
     private Patient patient;
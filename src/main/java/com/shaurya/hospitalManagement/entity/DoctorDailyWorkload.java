@@ -0,0 +1,44 @@
+package com.shaurya.hospitalManagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Appointments per doctor per day, kept up to date by AppointmentService and reconciled nightly against the
+ * appointment table. Written with upserts through JdbcTemplate; the entity only defines the table and the reads.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(DoctorDailyWorkload.Key.class)
+@Table(
+        name = "doctor_daily_workload",
+        indexes = {
+                // date range reads across all doctors, the primary key serves the per doctor ones
+                @Index(name = "idx_doctor_daily_workload_date", columnList = "workDate, doctorId")
+        }
+)
+public class DoctorDailyWorkload {
+    @Id
+    private Long doctorId;
+
+    @Id
+    private LocalDate workDate;
+
+    @Column(nullable = false)
+    private int appointmentCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long doctorId;
+        private LocalDate workDate;
+    }
+}
@@ -58,6 +58,7 @@ public class Patient {
     @JoinColumn(name = "patient_insurance_id") // owning side
     private Insurance insurance;
 
-    @OneToMany(mappedBy = "patient", cascade = {CascadeType.REMOVE}, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "patient", cascade = {CascadeType.REMOVE}, orphanRemoval = true)
+    @ToString.Exclude
     private List<Appointment> appointments = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.shaurya.hospitalManagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A pair of patient records the duplicate scan believes belong to the same person. The table is replaced on
+ * every scan; ids are plain columns rather than associations so a scan can write it with batched inserts.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        indexes = {
+                @Index(name = "idx_merge_candidate_score", columnList = "score"),
+                @Index(name = "idx_merge_candidate_patient_id", columnList = "patientId"),
+                @Index(name = "idx_merge_candidate_duplicate_patient_id", columnList = "duplicatePatientId")
+        }
+)
+public class PatientMergeCandidate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // always the lower of the two ids
+    @Column(nullable = false)
+    private Long patientId;
+
+    @Column(nullable = false)
+    private Long duplicatePatientId;
+
+    @Column(nullable = false)
+    private Double score;
+
+    // comma separated, e.g. SIMILAR_NAME,SAME_BIRTH_DATE
+    @Column(length = 100)
+    private String reasons;
+
+    @Column(nullable = false)
+    private LocalDateTime detectedAt;
+}
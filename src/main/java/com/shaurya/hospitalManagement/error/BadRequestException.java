@@ -0,0 +1,12 @@
+package com.shaurya.hospitalManagement.error;
+
+/**
+ * An invalid request parameter, answered with 400 instead of falling through to the catch-all 500.
+ * Still an IllegalArgumentException, so callers outside a request see the usual argument check.
+ */
+public class BadRequestException extends IllegalArgumentException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.shaurya.hospitalManagement.error;
+
+import lombok.Getter;
+
+@Getter
+public class BulkheadFullException extends RuntimeException {
+    private final String group;
+    private final long retryAfter;
+
+    public BulkheadFullException(String group, long retryAfter) {
+        super("Too many concurrent " + group + " requests, try again later");
+        this.group = group;
+        this.retryAfter = retryAfter;
+    }
+}
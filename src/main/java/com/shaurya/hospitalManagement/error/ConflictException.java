@@ -0,0 +1,11 @@
+package com.shaurya.hospitalManagement.error;
+
+/**
+ * A request that clashes with the current state, e.g. a job that is already running, answered with 409.
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.shaurya.hospitalManagement.mapper;
+
+import com.shaurya.hospitalManagement.dto.AppointmentResponseDto;
+import com.shaurya.hospitalManagement.entity.Appointment;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+// reads the doctor association, callers fetch it with the appointment; the patient is never read
+@Mapper(config = MapperDefaults.class, uses = DoctorMapper.class)
+public interface AppointmentMapper {
+
+    AppointmentResponseDto toResponseDto(Appointment appointment);
+
+    List<AppointmentResponseDto> toResponseDtos(List<Appointment> appointments);
+}
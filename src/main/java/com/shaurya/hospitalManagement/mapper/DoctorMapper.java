@@ -0,0 +1,16 @@
+package com.shaurya.hospitalManagement.mapper;
+
+import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
+import com.shaurya.hospitalManagement.entity.Doctor;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+// reads only the doctor's own columns, never user, departments or appointments
+@Mapper(config = MapperDefaults.class)
+public interface DoctorMapper {
+
+    DoctorResponseDto toResponseDto(Doctor doctor);
+
+    List<DoctorResponseDto> toResponseDtos(List<Doctor> doctors);
+}
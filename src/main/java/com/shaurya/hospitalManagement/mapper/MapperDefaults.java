@@ -0,0 +1,19 @@
+package com.shaurya.hospitalManagement.mapper;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Shared settings of the generated entity to DTO mappers. A mapper only reads the source properties its target
+ * declares, and every target property must be mapped or ignored explicitly, so adding a field to a DTO cannot
+ * silently start reading a lazy association.
+ */
+@MapperConfig(
+        componentModel = MappingConstants.ComponentModel.SPRING,
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+        unmappedTargetPolicy = ReportingPolicy.ERROR
+)
+public interface MapperDefaults {
+}
@@ -0,0 +1,16 @@
+package com.shaurya.hospitalManagement.mapper;
+
+import com.shaurya.hospitalManagement.dto.PatientResponseDto;
+import com.shaurya.hospitalManagement.entity.Patient;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+// reads only the patient's own columns, never user, insurance or appointments
+@Mapper(config = MapperDefaults.class)
+public interface PatientMapper {
+
+    PatientResponseDto toResponseDto(Patient patient);
+
+    List<PatientResponseDto> toResponseDtos(List<Patient> patients);
+}
@@ -0,0 +1,15 @@
+package com.shaurya.hospitalManagement.mapper;
+
+import com.shaurya.hospitalManagement.dto.PatientMergeCandidateResponseDto;
+import com.shaurya.hospitalManagement.entity.PatientMergeCandidate;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(config = MapperDefaults.class)
+public interface PatientMergeCandidateMapper {
+
+    PatientMergeCandidateResponseDto toResponseDto(PatientMergeCandidate candidate);
+
+    List<PatientMergeCandidateResponseDto> toResponseDtos(List<PatientMergeCandidate> candidates);
+}
@@ -2,6 +2,14 @@ package com.shaurya.hospitalManagement.repository;
 
 import com.shaurya.hospitalManagement.entity.Appointment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+
+    // the response embeds the doctor, fetching it here keeps the mapping from going back to the database
+    @Query("select a from Appointment a join fetch a.doctor where a.doctor.id = :doctorId order by a.appointmentTime")
+    List<Appointment> findAllByDoctorIdWithDoctor(@Param("doctorId") Long doctorId);
 }
\ No newline at end of file
@@ -5,4 +5,6 @@ import com.shaurya.hospitalManagement.entity.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
-}
\ No newline at end of file
+
+    boolean existsByName(String name);
+}
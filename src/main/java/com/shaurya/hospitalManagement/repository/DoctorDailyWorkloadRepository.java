@@ -0,0 +1,14 @@
+package com.shaurya.hospitalManagement.repository;
+
+import com.shaurya.hospitalManagement.entity.DoctorDailyWorkload;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DoctorDailyWorkloadRepository extends JpaRepository<DoctorDailyWorkload, DoctorDailyWorkload.Key> {
+
+    List<DoctorDailyWorkload> findAllByWorkDateBetweenOrderByWorkDateAscDoctorIdAsc(LocalDate from, LocalDate to);
+
+    List<DoctorDailyWorkload> findAllByDoctorIdAndWorkDateBetweenOrderByWorkDateAsc(Long doctorId, LocalDate from, LocalDate to);
+}
@@ -1,7 +1,18 @@
 package com.shaurya.hospitalManagement.repository;
 
+import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
 import com.shaurya.hospitalManagement.entity.Doctor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
-public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+import java.util.List;
+
+public interface DoctorRepository extends JpaRepository<Doctor, Long>, JpaSpecificationExecutor<Doctor>,
+        FieldProjectionRepository {
+
+    // the directory columns only, one select and no managed entities
+    @Query("select new com.shaurya.hospitalManagement.dto.DoctorResponseDto(d.id, d.name, d.specialization, d.email) " +
+            "from Doctor d order by d.id")
+    List<DoctorResponseDto> findAllDirectoryEntries();
 }
@@ -0,0 +1,38 @@
+package com.shaurya.hospitalManagement.repository;
+
+import com.shaurya.hospitalManagement.entity.Doctor;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filters for the doctor directory. Each one lines up with an index so a page costs the same however many
+ * doctors there are:
+ * - specialization: idx_doctor_specialization (specialization, id)
+ * - department: the (dpt_id, doctor_id) primary key of my_dpt_doctors
+ * - name prefix: idx_doctor_lower_name on lower(name) text_pattern_ops, see db/indexes.sql
+ */
+public final class DoctorSpecifications {
+
+    private DoctorSpecifications() {
+    }
+
+    public static Specification<Doctor> hasSpecialization(String specialization) {
+        return (root, query, cb) -> cb.equal(root.get("specialization"), specialization);
+    }
+
+    public static Specification<Doctor> inDepartment(Long departmentId) {
+        return (root, query, cb) -> cb.equal(root.join("departments").get("id"), departmentId);
+    }
+
+    public static Specification<Doctor> nameStartsWith(String prefix) {
+        String escaped = prefix.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), escaped + "%", '\\');
+    }
+
+    // keyset pagination, the page starts right after the last id the client saw
+    public static Specification<Doctor> idAfter(Long cursor) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), cursor);
+    }
+}
@@ -0,0 +1,22 @@
+package com.shaurya.hospitalManagement.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sparse fieldsets for the list endpoints. Only the requested attributes are in the SQL select list, so the
+ * database reads and sends just those columns and no entities are built.
+ */
+public interface FieldProjectionRepository {
+
+    /**
+     * One map per row, keyed by attribute name in the order of {@code fields}.
+     *
+     * @param specification the filter, null for all rows
+     */
+    <T> List<Map<String, Object>> findFields(Class<T> entityClass, List<String> fields,
+                                             Specification<T> specification, Pageable pageable);
+}
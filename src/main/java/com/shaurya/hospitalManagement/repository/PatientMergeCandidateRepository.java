@@ -0,0 +1,10 @@
+package com.shaurya.hospitalManagement.repository;
+
+import com.shaurya.hospitalManagement.entity.PatientMergeCandidate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PatientMergeCandidateRepository extends JpaRepository<PatientMergeCandidate, Long> {
+    Page<PatientMergeCandidate> findAllByOrderByScoreDescIdAsc(Pageable pageable);
+}
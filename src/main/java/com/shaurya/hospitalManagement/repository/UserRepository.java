@@ -1,6 +1,7 @@
 package com.shaurya.hospitalManagement.repository;
 
 import com.shaurya.hospitalManagement.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import com.shaurya.hospitalManagement.entity.type.AuthProviderType;
 
@@ -8,9 +9,11 @@ import java.util.Optional;
 
 
 public interface UserRepository extends JpaRepository<User, Long> {
-    // To find user with a username
+    // To find user with a username, roles are joined in since every login and JWT request reads the authorities
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByUsername(String username);
 
     // For OAuth
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByProviderIdAndProviderType(String providerId, AuthProviderType providerType);
 }
\ No newline at end of file
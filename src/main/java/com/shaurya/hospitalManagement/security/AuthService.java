@@ -23,6 +23,8 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
@@ -40,25 +42,27 @@ public class AuthService {
         String identifier = loginRequestDto.getUsername();
         String clientIp = ipUtil.getClientIp();
 
+        // both checks are in flight together, the password is only hashed once both allow it
+        CompletableFuture<RateLimiterService.RateLimit> ipLimit = rateLimiterService.checkIpLogin(clientIp);
+        CompletableFuture<RateLimiterService.RateLimit> identifierLimit = rateLimiterService.checkLogin(identifier);
+
         // Check IP-based rate limit first
-        if (!rateLimiterService.isIpLoginAllowed(clientIp)) {
-            long retryAfter = rateLimiterService.getIpLoginTimeUntilReset(clientIp);
-            int remaining = rateLimiterService.getRemainingIpLoginAttempts(clientIp);
+        RateLimiterService.RateLimit limit = await(ipLimit);
+        if (!limit.allowed()) {
             throw new RateLimitError.RateLimitExceededException(
-                    "Too many login attempts from this IP. Try again after " + retryAfter + " seconds",
-                    retryAfter,
-                    remaining
+                    "Too many login attempts from this IP. Try again after " + limit.retryAfter() + " seconds",
+                    limit.retryAfter(),
+                    limit.remaining()
             );
         }
 
         // Check identifier-based rate limit
-        if (!rateLimiterService.isLoginAllowed(identifier)) {
-            long retryAfter = rateLimiterService.getLoginTimeUntilReset(identifier);
-            int remaining = rateLimiterService.getRemainingLoginAttempts(identifier);
+        limit = await(identifierLimit);
+        if (!limit.allowed()) {
             throw new RateLimitError.RateLimitExceededException(
-                    "Too many login attempts for this account. Try again after " + retryAfter + " seconds",
-                    retryAfter,
-                    remaining
+                    "Too many login attempts for this account. Try again after " + limit.retryAfter() + " seconds",
+                    limit.retryAfter(),
+                    limit.remaining()
             );
         }
 
@@ -72,15 +76,13 @@ public class AuthService {
             assert user != null;
             String token = authUtil.generateAccessToken(user);
 
-            // Reset rate limits on successful login
-            rateLimiterService.resetLoginAttempts(identifier);
-            rateLimiterService.resetIpLoginAttempts(clientIp);
+            // Reset rate limits on successful login, the response does not wait for it
+            rateLimiterService.resetLoginAttempts(identifier, clientIp);
 
             return new LoginResponseDto(token, user.getId());
         } catch (Exception e) {
             // Record failed attempts for both identifier and IP
-            rateLimiterService.recordLoginAttempt(identifier);
-            rateLimiterService.recordIpLoginAttempt(clientIp);
+            rateLimiterService.recordLoginFailure(identifier, clientIp);
             throw e;
         }
     }
@@ -114,38 +116,37 @@ public class AuthService {
         String identifier = signupRequestDto.getUsername();
         String clientIp = ipUtil.getClientIp();
 
+        CompletableFuture<RateLimiterService.RateLimit> ipLimit = rateLimiterService.checkIpSignup(clientIp);
+        CompletableFuture<RateLimiterService.RateLimit> identifierLimit = rateLimiterService.checkSignup(identifier);
+
         // Check IP-based rate limit first
-        if (!rateLimiterService.isIpSignupAllowed(clientIp)) {
-            long retryAfter = rateLimiterService.getIpSignupTimeUntilReset(clientIp);
-            int remaining = rateLimiterService.getRemainingIpSignupAttempts(clientIp);
+        RateLimiterService.RateLimit limit = await(ipLimit);
+        if (!limit.allowed()) {
             throw new RateLimitError.RateLimitExceededException(
-                    "Too many signup attempts from this IP. Try again after " + retryAfter + " seconds",
-                    retryAfter,
-                    remaining
+                    "Too many signup attempts from this IP. Try again after " + limit.retryAfter() + " seconds",
+                    limit.retryAfter(),
+                    limit.remaining()
             );
         }
 
         // Check identifier-based rate limit
-        if (!rateLimiterService.isSignupAllowed(identifier)) {
-            long retryAfter = rateLimiterService.getSignupTimeUntilReset(identifier);
-            int remaining = rateLimiterService.getRemainingSignupAttempts(identifier);
+        limit = await(identifierLimit);
+        if (!limit.allowed()) {
             throw new RateLimitError.RateLimitExceededException(
-                    "Too many signup attempts. Try again after " + retryAfter + " seconds",
-                    retryAfter,
-                    remaining
+                    "Too many signup attempts. Try again after " + limit.retryAfter() + " seconds",
+                    limit.retryAfter(),
+                    limit.remaining()
             );
         }
 
         // Record attempts
-        rateLimiterService.recordSignupAttempt(identifier);
-        rateLimiterService.recordIpSignupAttempt(clientIp);
+        rateLimiterService.recordSignupAttempt(identifier, clientIp);
 
         try {
             User user = signUpInternal(signupRequestDto, AuthProviderType.EMAIL, null);
 
             // Reset rate limits on successful signup
-            rateLimiterService.resetSignupAttempts(identifier);
-            rateLimiterService.resetIpSignupAttempts(clientIp);
+            rateLimiterService.resetSignupAttempts(identifier, clientIp);
 
             return new SignupResponseDto(user.getId(), user.getUsername());
         } catch (Exception e) {
@@ -154,6 +155,16 @@ public class AuthService {
         }
     }
 
+    // a Redis failure surfaces as itself, not wrapped in a CompletionException
+    private static RateLimiterService.RateLimit await(CompletableFuture<RateLimiterService.RateLimit> limit) {
+        try {
+            return limit.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
     @Transactional
     public ResponseEntity<LoginResponseDto> handleOAuth2LoginRequest(OAuth2User oAuth2User, String registrationId) {
         AuthProviderType providerType = authUtil.getProviderTypeFromRegistrationId(registrationId);
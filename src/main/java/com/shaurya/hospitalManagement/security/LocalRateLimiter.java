@@ -0,0 +1,90 @@
+package com.shaurya.hospitalManagement.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory attempt counters with the same keys and windows as the Redis ones, used by RateLimiterService
+ * while Redis is unavailable. Counts are per instance and start empty when the fallback starts.
+ *
+ * The number of keys is bounded, so an attack from many addresses cannot grow the map without limit. When it is
+ * full, the oldest tenth of the windows is evicted: with one window length per limit they are the ones closest to
+ * expiring, and new keys keep being counted instead of passing unchecked.
+ */
+@Slf4j
+public class LocalRateLimiter {
+
+    static final int MAX_KEYS = 100_000;
+
+    private record Window(int count, long expiresAt) {
+        boolean expired(long now) {
+            return expiresAt - now <= 0;
+        }
+    }
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final int maxKeys;
+    private final Counter evictions;
+
+    public LocalRateLimiter(MeterRegistry meterRegistry) {
+        this(MAX_KEYS, meterRegistry);
+    }
+
+    public LocalRateLimiter(int maxKeys, MeterRegistry meterRegistry) {
+        this.maxKeys = maxKeys;
+        this.evictions = Counter.builder("rate.limiter.local.evictions")
+                .description("Local rate limit windows dropped before expiry because the key limit was reached")
+                .register(meterRegistry);
+    }
+
+    public int count(String key) {
+        Window window = windows.get(key);
+        return window == null || window.expired(System.nanoTime()) ? 0 : window.count();
+    }
+
+    // seconds left in the key's window, 0 when there is none
+    public long retryAfter(String key) {
+        Window window = windows.get(key);
+        long now = System.nanoTime();
+        return window == null || window.expired(now) ? 0 : TimeUnit.NANOSECONDS.toSeconds(window.expiresAt() - now);
+    }
+
+    public void increment(String key, Duration duration) {
+        long now = System.nanoTime();
+        if (windows.size() >= maxKeys && !windows.containsKey(key)) {
+            windows.values().removeIf(window -> window.expired(now));
+            if (windows.size() >= maxKeys) {
+                evictOldest();
+            }
+        }
+        windows.compute(key, (k, window) -> window == null || window.expired(now)
+                ? new Window(1, now + duration.toNanos())
+                : new Window(window.count() + 1, window.expiresAt()));
+    }
+
+    // sorting once per tenth of the limit keeps the scan cost away from every new key
+    private synchronized void evictOldest() {
+        if (windows.size() < maxKeys) return; // another thread evicted first
+        long[] expiries = windows.values().stream().mapToLong(Window::expiresAt).toArray();
+        Arrays.sort(expiries);
+        long cutoff = expiries[Math.max(1, expiries.length / 10) - 1];
+        int before = windows.size();
+        windows.values().removeIf(window -> window.expiresAt() - cutoff <= 0);
+        int evicted = before - windows.size();
+        evictions.increment(evicted);
+        log.warn("Local rate limiter reached {} keys, evicted the {} oldest windows", maxKeys, evicted);
+    }
+
+    public void reset(String... keys) {
+        for (String key : keys) {
+            windows.remove(key);
+        }
+    }
+}
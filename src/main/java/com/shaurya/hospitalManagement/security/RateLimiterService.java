@@ -1,142 +1,211 @@
 package com.shaurya.hospitalManagement.security;
 
-import lombok.RequiredArgsConstructor;
+import com.shaurya.hospitalManagement.config.RedisCircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Attempt counters in Redis, one key per identifier or IP with the window as its TTL.
+ *
+ * Checks return futures on Lettuce's non-blocking connection, so a caller can issue the identifier and IP checks
+ * together and wait for both in one round trip. Recording and resetting are fire and forget: the caller already
+ * knows the outcome and the response does not wait for Redis; a failed write is logged.
+ *
+ * Every call has a deadline of rate.limit.redis.timeout-ms and goes through the RedisCircuitBreaker. When a call
+ * fails or the breaker is open, each limit answers by its fallback policy instead of waiting on Redis.
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class RateLimiterService {
 
-    private final RedisTemplate<String, String> redisTemplate;
+    /**
+     * What a check answers while Redis cannot be asked
+     */
+    public enum FallbackPolicy {
+        // allow every attempt
+        OPEN,
+        // deny every attempt until Redis is back
+        CLOSED,
+        // count attempts in this instance's memory
+        LOCAL
+    }
 
-    // 5 login tries in 1 hr
-    @Value("${rate.limit.login.attempts:5}")
-    private int loginMaxAttempts;
+    private record Limit(String name, int maxAttempts, Duration duration, FallbackPolicy fallback) {
+    }
 
-    @Value("${rate.limit.login.duration:3600}")
-    private long loginDuration;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final LocalRateLimiter localRateLimiter;
+    private final Duration callTimeout;
+    private final MeterRegistry meterRegistry;
+    private final Map<Limit, Counter> fallbackCounters = new ConcurrentHashMap<>();
 
-    // 3 signup tries in a day
-    @Value("${rate.limit.signup.attempts:3}")
-    private int signupMaxAttempts;
+    // 5 login tries in 1 hr
+    private final Limit login;
 
-    @Value("${rate.limit.signup.duration:86400}")
-    private long signupDuration;
+    // 3 signup tries in a day
+    private final Limit signup;
 
     private static final String LOGIN_PREFIX = "rate:login:";
     private static final String SIGNUP_PREFIX = "rate:signup:";
     private static final String IP_LOGIN_PREFIX = "rate:ip:login:";
     private static final String IP_SIGNUP_PREFIX = "rate:ip:signup:";
 
-    // Username-based methods
-    public boolean isLoginAllowed(String identifier) {
-        return isAllowed(LOGIN_PREFIX + identifier, loginMaxAttempts);
-    }
-
-    public boolean isSignupAllowed(String identifier) {
-        return isAllowed(SIGNUP_PREFIX + identifier, signupMaxAttempts);
-    }
-
-    public void recordLoginAttempt(String identifier) {
-        recordAttempt(LOGIN_PREFIX + identifier, loginDuration);
-    }
-
-    public void recordSignupAttempt(String identifier) {
-        recordAttempt(SIGNUP_PREFIX + identifier, signupDuration);
-    }
-
-    public void resetLoginAttempts(String identifier) {
-        redisTemplate.delete(LOGIN_PREFIX + identifier);
-    }
-
-    public void resetSignupAttempts(String identifier) {
-        redisTemplate.delete(SIGNUP_PREFIX + identifier);
-    }
-
-    public int getRemainingLoginAttempts(String identifier) {
-        return getRemainingAttempts(LOGIN_PREFIX + identifier, loginMaxAttempts);
+    // INCR and the window in one step, a counter without a TTL (e.g. left by a crash between the two) gets one too;
+    // ARGV: window in ms
+    private static final RedisScript<Long> INCREMENT_IN_WINDOW = new DefaultRedisScript<>("""
+            local count = redis.call('incr', KEYS[1])
+            if redis.call('pttl', KEYS[1]) < 0 then redis.call('pexpire', KEYS[1], ARGV[1]) end
+            return count""", Long.class);
+
+    public RateLimiterService(
+            ReactiveStringRedisTemplate redisTemplate,
+            RedisCircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry,
+            @Value("${rate.limit.redis.timeout-ms:250}") long callTimeoutMillis,
+            @Value("${rate.limit.login.attempts:5}") int loginMaxAttempts,
+            @Value("${rate.limit.login.duration:3600}") long loginDuration,
+            @Value("${rate.limit.login.fallback:LOCAL}") FallbackPolicy loginFallback,
+            @Value("${rate.limit.signup.attempts:3}") int signupMaxAttempts,
+            @Value("${rate.limit.signup.duration:86400}") long signupDuration,
+            @Value("${rate.limit.signup.fallback:LOCAL}") FallbackPolicy signupFallback
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.localRateLimiter = new LocalRateLimiter(meterRegistry);
+        this.callTimeout = Duration.ofMillis(callTimeoutMillis);
+        this.login = new Limit("login", loginMaxAttempts, Duration.ofSeconds(loginDuration), loginFallback);
+        this.signup = new Limit("signup", signupMaxAttempts, Duration.ofSeconds(signupDuration), signupFallback);
+    }
+
+    /**
+     * @param retryAfter seconds until the window resets, 0 when there is no window
+     */
+    public record RateLimit(boolean allowed, int remaining, long retryAfter) {
     }
 
-    public int getRemainingSignupAttempts(String identifier) {
-        return getRemainingAttempts(SIGNUP_PREFIX + identifier, signupMaxAttempts);
-    }
-
-    public long getLoginTimeUntilReset(String identifier) {
-        return getTimeUntilReset(LOGIN_PREFIX + identifier);
+    // Username-based methods
+    public CompletableFuture<RateLimit> checkLogin(String identifier) {
+        return check(LOGIN_PREFIX + identifier, login);
     }
 
-    public long getSignupTimeUntilReset(String identifier) {
-        return getTimeUntilReset(SIGNUP_PREFIX + identifier);
+    public CompletableFuture<RateLimit> checkSignup(String identifier) {
+        return check(SIGNUP_PREFIX + identifier, signup);
     }
 
     // IP-based methods
-    public boolean isIpLoginAllowed(String ip) {
-        return isAllowed(IP_LOGIN_PREFIX + ip, loginMaxAttempts);
-    }
-
-    public boolean isIpSignupAllowed(String ip) {
-        return isAllowed(IP_SIGNUP_PREFIX + ip, signupMaxAttempts);
+    public CompletableFuture<RateLimit> checkIpLogin(String ip) {
+        return check(IP_LOGIN_PREFIX + ip, login);
     }
 
-    public void recordIpLoginAttempt(String ip) {
-        recordAttempt(IP_LOGIN_PREFIX + ip, loginDuration);
+    public CompletableFuture<RateLimit> checkIpSignup(String ip) {
+        return check(IP_SIGNUP_PREFIX + ip, signup);
     }
 
-    public void recordIpSignupAttempt(String ip) {
-        recordAttempt(IP_SIGNUP_PREFIX + ip, signupDuration);
+    public void recordLoginFailure(String identifier, String ip) {
+        recordAttempt(LOGIN_PREFIX + identifier, login);
+        recordAttempt(IP_LOGIN_PREFIX + ip, login);
     }
 
-    public void resetIpLoginAttempts(String ip) {
-        redisTemplate.delete(IP_LOGIN_PREFIX + ip);
+    public void recordSignupAttempt(String identifier, String ip) {
+        recordAttempt(SIGNUP_PREFIX + identifier, signup);
+        recordAttempt(IP_SIGNUP_PREFIX + ip, signup);
     }
 
-    public void resetIpSignupAttempts(String ip) {
-        redisTemplate.delete(IP_SIGNUP_PREFIX + ip);
+    public void resetLoginAttempts(String identifier, String ip) {
+        reset(LOGIN_PREFIX + identifier, IP_LOGIN_PREFIX + ip);
     }
 
-    public int getRemainingIpLoginAttempts(String ip) {
-        return getRemainingAttempts(IP_LOGIN_PREFIX + ip, loginMaxAttempts);
-    }
-
-    public int getRemainingIpSignupAttempts(String ip) {
-        return getRemainingAttempts(IP_SIGNUP_PREFIX + ip, signupMaxAttempts);
-    }
-
-    public long getIpLoginTimeUntilReset(String ip) {
-        return getTimeUntilReset(IP_LOGIN_PREFIX + ip);
-    }
-
-    public long getIpSignupTimeUntilReset(String ip) {
-        return getTimeUntilReset(IP_SIGNUP_PREFIX + ip);
+    public void resetSignupAttempts(String identifier, String ip) {
+        reset(SIGNUP_PREFIX + identifier, IP_SIGNUP_PREFIX + ip);
     }
 
     // Private helper methods
-    private boolean isAllowed(String key, int maxAttempts) {
-        String count = redisTemplate.opsForValue().get(key);
-        return count == null || Integer.parseInt(count) < maxAttempts;
-    }
-
-    private void recordAttempt(String key, long duration) {
-        String count = redisTemplate.opsForValue().get(key);
-        if (count == null) {
-            redisTemplate.opsForValue().set(key, "1", Duration.ofSeconds(duration));
-        } else {
-            redisTemplate.opsForValue().increment(key);
+    // GET and TTL are sent together on the shared connection
+    private CompletableFuture<RateLimit> check(String key, Limit limit) {
+        if (!circuitBreaker.allowRequest()) {
+            return CompletableFuture.completedFuture(fallback(key, limit));
+        }
+        Mono<Integer> count = redisTemplate.opsForValue().get(key).map(Integer::parseInt).defaultIfEmpty(0);
+        Mono<Duration> ttl = redisTemplate.getExpire(key).defaultIfEmpty(Duration.ZERO);
+        return Mono.zip(count, ttl)
+                .timeout(callTimeout)
+                .map(result -> new RateLimit(
+                        result.getT1() < limit.maxAttempts(),
+                        Math.max(0, limit.maxAttempts() - result.getT1()),
+                        result.getT2().isNegative() ? 0 : result.getT2().getSeconds()))
+                .doOnSuccess(result -> circuitBreaker.onSuccess())
+                .onErrorResume(e -> {
+                    circuitBreaker.onFailure();
+                    log.debug("Rate limit check for {} failed: {}", key, e.toString());
+                    return Mono.fromSupplier(() -> fallback(key, limit));
+                })
+                .toFuture();
+    }
+
+    private RateLimit fallback(String key, Limit limit) {
+        fallbackCounters.computeIfAbsent(limit, l -> Counter.builder("rate.limiter.fallback")
+                .tags("limit", l.name(), "policy", l.fallback().name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)).increment();
+        return switch (limit.fallback()) {
+            case OPEN -> new RateLimit(true, limit.maxAttempts(), 0);
+            case CLOSED -> new RateLimit(false, 0, circuitBreaker.getRetryAfterSeconds());
+            case LOCAL -> {
+                int attempts = localRateLimiter.count(key);
+                yield new RateLimit(attempts < limit.maxAttempts(), Math.max(0, limit.maxAttempts() - attempts),
+                        localRateLimiter.retryAfter(key));
+            }
+        };
+    }
+
+    // a separate SET NX and INCR would recreate a key that expired in between without a TTL, the script cannot
+    private void recordAttempt(String key, Limit limit) {
+        if (!circuitBreaker.allowRequest()) {
+            recordLocally(key, limit);
+            return;
+        }
+        redisTemplate.execute(INCREMENT_IN_WINDOW, List.of(key), List.of(String.valueOf(limit.duration().toMillis())))
+                .next()
+                .timeout(callTimeout)
+                .subscribe(count -> circuitBreaker.onSuccess(), e -> {
+                    circuitBreaker.onFailure();
+                    recordLocally(key, limit);
+                    log.warn("Could not record rate limit attempt for {}: {}", key, e.toString());
+                });
+    }
+
+    private void recordLocally(String key, Limit limit) {
+        if (limit.fallback() == FallbackPolicy.LOCAL) {
+            localRateLimiter.increment(key, limit.duration());
         }
     }
 
-    private int getRemainingAttempts(String key, int maxAttempts) {
-        String count = redisTemplate.opsForValue().get(key);
-        if (count == null) return maxAttempts;
-        return Math.max(0, maxAttempts - Integer.parseInt(count));
-    }
-
-    private long getTimeUntilReset(String key) {
-        Long ttl = redisTemplate.getExpire(key);
-        return ttl != null && ttl > 0 ? ttl : 0;
-    }
-}
\ No newline at end of file
+    // the local counters go as well, a success must not stay blocked by them after Redis recovers
+    private void reset(String... keys) {
+        localRateLimiter.reset(keys);
+        if (!circuitBreaker.allowRequest()) {
+            return;
+        }
+        redisTemplate.delete(keys)
+                .timeout(callTimeout)
+                .subscribe(deleted -> circuitBreaker.onSuccess(), e -> {
+                    circuitBreaker.onFailure();
+                    log.warn("Could not reset rate limit attempts: {}", e.toString());
+                });
+    }
+}
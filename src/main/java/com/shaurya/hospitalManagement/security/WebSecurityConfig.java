@@ -33,11 +33,12 @@ public class WebSecurityConfig {
                 .sessionManagement(sessionConfig ->
                         sessionConfig.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/public/**", "/auth/**").permitAll()
+                        .requestMatchers("/public/**", "/auth/**", "/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole(ADMIN.name())
                         .requestMatchers(HttpMethod.DELETE, "/admin/**")
                         .hasAnyAuthority(
-                                APPOINTMENT_DELETE.name(),
-                                USER_MANAGE.name()
+                                APPOINTMENT_DELETE.getPermission(),
+                                USER_MANAGE.getPermission()
                         )
                         .requestMatchers("/admin/**").hasRole(ADMIN.name())
                         .requestMatchers("/doctors/**").hasAnyRole(DOCTOR.name(), ADMIN.name())
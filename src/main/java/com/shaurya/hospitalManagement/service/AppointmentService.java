@@ -5,19 +5,20 @@ import com.shaurya.hospitalManagement.dto.CreateAppointmentRequestDto;
 import com.shaurya.hospitalManagement.entity.Appointment;
 import com.shaurya.hospitalManagement.entity.Doctor;
 import com.shaurya.hospitalManagement.entity.Patient;
+import com.shaurya.hospitalManagement.error.BadRequestException;
+import com.shaurya.hospitalManagement.mapper.AppointmentMapper;
 import com.shaurya.hospitalManagement.repository.AppointmentRepository;
 import com.shaurya.hospitalManagement.repository.DoctorRepository;
 import com.shaurya.hospitalManagement.repository.PatientRepository;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.NoSuchElementException;
 
 @Service
 @RequiredArgsConstructor
@@ -26,18 +27,29 @@ public class AppointmentService {
     private final AppointmentRepository appointmentRepository;
     private final DoctorRepository doctorRepository;
     private final PatientRepository patientRepository;
-    private final ModelMapper modelMapper;
+    private final AppointmentMapper appointmentMapper;
+    private final DoctorWorkloadService doctorWorkloadService;
+    private final DoctorLoadBalancer doctorLoadBalancer;
 
     @Transactional
     @Secured("ROLE_PATIENT")
     public AppointmentResponseDto createNewAppointment(CreateAppointmentRequestDto createAppointmentRequestDto) {
-        Long doctorId = createAppointmentRequestDto.getDoctorId();
         Long patientId = createAppointmentRequestDto.getPatientId();
+        Long departmentId = createAppointmentRequestDto.getDepartmentId();
+        if (createAppointmentRequestDto.getDoctorId() == null && departmentId == null) {
+            throw new BadRequestException("Either doctorId or departmentId is required");
+        }
 
         Patient patient = patientRepository.findById(patientId)
                 .orElseThrow(() -> new EntityNotFoundException("Patient not found with ID: " + patientId));
+        Long doctorId = createAppointmentRequestDto.getDoctorId() != null
+                ? createAppointmentRequestDto.getDoctorId()
+                : doctorLoadBalancer.assign(departmentId); // taken back if this transaction rolls back
         Doctor doctor = doctorRepository.findById(doctorId)
                 .orElseThrow(() -> new EntityNotFoundException("Doctor not found with ID: " + doctorId));
+        if (createAppointmentRequestDto.getDoctorId() != null) {
+            doctorLoadBalancer.booked(doctorId, createAppointmentRequestDto.getAppointmentTime());
+        }
         Appointment appointment = Appointment.builder()
                 .reason(createAppointmentRequestDto.getReason())
                 .appointmentTime(createAppointmentRequestDto.getAppointmentTime())
@@ -48,7 +60,8 @@ public class AppointmentService {
         patient.getAppointments().add(appointment); // to maintain consistency
 
         appointment = appointmentRepository.save(appointment);
-        return modelMapper.map(appointment, AppointmentResponseDto.class);
+        doctorWorkloadService.appointmentAdded(doctorId, appointment.getAppointmentTime());
+        return appointmentMapper.toResponseDto(appointment);
     }
 
     @Transactional
@@ -57,6 +70,14 @@ public class AppointmentService {
         Appointment appointment = appointmentRepository.findById(appointmentId).orElseThrow();
         Doctor doctor = doctorRepository.findById(doctorId).orElseThrow();
 
+        Long previousDoctorId = appointment.getDoctor().getId();
+        if (!previousDoctorId.equals(doctorId)) {
+            doctorWorkloadService.appointmentRemoved(previousDoctorId, appointment.getAppointmentTime());
+            doctorWorkloadService.appointmentAdded(doctorId, appointment.getAppointmentTime());
+            doctorLoadBalancer.released(previousDoctorId, appointment.getAppointmentTime());
+            doctorLoadBalancer.booked(doctorId, appointment.getAppointmentTime());
+        }
+
         appointment.setDoctor(doctor); // this will automatically call the update, because it is dirty
 
         doctor.getAppointments().add(appointment); // just for bidirectional consistency
@@ -65,13 +86,14 @@ public class AppointmentService {
     }
 
     // only admin and doctor with his own id can call this function
+    @Transactional(readOnly = true)
     @PreAuthorize("(hasRole('ADMIN')) OR (hasRole('DOCTOR') AND #doctorId == authentication.principal.id)")
     public List<AppointmentResponseDto> getAllAppointmentsOfDoctor(Long doctorId) {
-        Doctor doctor = doctorRepository.findById(doctorId).orElseThrow();
+        List<Appointment> appointments = appointmentRepository.findAllByDoctorIdWithDoctor(doctorId);
+        if (appointments.isEmpty() && !doctorRepository.existsById(doctorId)) {
+            throw new NoSuchElementException("Doctor not found with ID: " + doctorId);
+        }
 
-        return doctor.getAppointments()
-                .stream()
-                .map(appointment -> modelMapper.map(appointment, AppointmentResponseDto.class))
-                .collect(Collectors.toList());
+        return appointmentMapper.toResponseDtos(appointments);
     }
 }
@@ -0,0 +1,48 @@
+package com.shaurya.hospitalManagement.service;
+
+import com.shaurya.hospitalManagement.dto.CacheRegionStatsResponseDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hit rates of the Hibernate second-level cache regions on this instance, counted since startup.
+ * Needs hibernate.generate_statistics.
+ */
+@Service
+public class CacheRegionStatisticsService {
+
+    private final Statistics statistics;
+
+    public CacheRegionStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @PreAuthorize("hasAuthority('report:view')")
+    public List<CacheRegionStatsResponseDto> getRegionStatistics() {
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> toResponse(region, statistics.getDomainDataRegionStatistics(region)))
+                .toList();
+    }
+
+    private static CacheRegionStatsResponseDto toResponse(String region, CacheRegionStatistics regionStatistics) {
+        long hits = regionStatistics.getHitCount();
+        long misses = regionStatistics.getMissCount();
+        long lookups = hits + misses;
+        return new CacheRegionStatsResponseDto(
+                region,
+                hits,
+                misses,
+                regionStatistics.getPutCount(),
+                lookups == 0 ? 0 : (double) hits / lookups,
+                regionStatistics.getElementCountInMemory()
+        );
+    }
+}
@@ -0,0 +1,138 @@
+package com.shaurya.hospitalManagement.service;
+
+import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Departments and their doctors held in memory as a DepartmentIndex, so the navigation endpoints never touch
+ * the database. The index is loaded with one query and dropped after commit whenever a membership changes;
+ * other instances are told over Redis pub/sub and reload on their next request.
+ */
+@Component
+@Slf4j
+public class DepartmentDirectory implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "cache:departments:invalidate";
+
+    // one row per membership, departments without doctors come once with null member columns
+    private static final String MEMBERSHIP_QUERY = "select d.id, d.name, " +
+            "h.id, h.name, h.specialization, h.email, " +
+            "doc.id, doc.name, doc.specialization, doc.email " +
+            "from department d " +
+            "left join doctor h on h.id = d.head_doctor_id " +
+            "left join my_dpt_doctors m on m.dpt_id = d.id " +
+            "left join doctor doc on doc.id = m.doctor_id " +
+            "order by d.name, d.id, doc.name, doc.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private volatile DepartmentIndex index;
+    // held across the load query, a lock keeps a waiting virtual thread off the carrier
+    private final ReentrantLock loadLock = new ReentrantLock();
+    // bumped by every invalidation, a load that overlapped one may have read the old memberships
+    private final AtomicLong generation = new AtomicLong();
+
+    public DepartmentDirectory(
+            JdbcTemplate jdbcTemplate,
+            RedisTemplate<String, String> redisTemplate,
+            RedisMessageListenerContainer listenerContainer
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    public DepartmentIndex get() {
+        DepartmentIndex current = index;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                current = index;
+                if (current == null) {
+                    long startedAt = generation.get();
+                    current = load();
+                    index = current;
+                    // rechecked after publishing, same as DoctorDirectoryCache: invalidations only ever write null
+                    if (generation.get() != startedAt) index = null;
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Drops the index on every instance. Inside a transaction this waits for the commit,
+     * otherwise a request in between could reload the old memberships.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow();
+                }
+            });
+        } else {
+            invalidateNow();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        drop();
+    }
+
+    private void drop() {
+        generation.incrementAndGet();
+        index = null;
+    }
+
+    private void invalidateNow() {
+        drop();
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, "departments");
+        } catch (Exception e) {
+            log.warn("Could not broadcast department directory invalidation: {}", e.getMessage());
+        }
+    }
+
+    private DepartmentIndex load() {
+        DepartmentIndex.Builder builder = DepartmentIndex.builder();
+        jdbcTemplate.query(MEMBERSHIP_QUERY, resultSet -> {
+            builder.add(
+                    resultSet.getLong(1),
+                    resultSet.getString(2),
+                    doctor(resultSet, 3),
+                    doctor(resultSet, 7)
+            );
+        });
+        DepartmentIndex loaded = builder.build();
+        log.info("Department directory loaded with {} departments", loaded.getDepartments().size());
+        return loaded;
+    }
+
+    // id, name, specialization and email starting at column, null when the join found no doctor
+    private static DoctorResponseDto doctor(ResultSet resultSet, int column) throws SQLException {
+        long id = resultSet.getLong(column);
+        if (resultSet.wasNull()) return null;
+        return new DoctorResponseDto(id, resultSet.getString(column + 1),
+                resultSet.getString(column + 2), resultSet.getString(column + 3));
+    }
+}
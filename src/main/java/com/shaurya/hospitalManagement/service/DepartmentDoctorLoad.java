@@ -0,0 +1,88 @@
+package com.shaurya.hospitalManagement.service;
+
+import com.shaurya.hospitalManagement.error.ConflictException;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Upcoming appointment counts of the doctors in one department, ordered by load so the least loaded doctor is
+ * the first entry. Changes are serialised per department, which keeps a concurrent pick and its increment atomic;
+ * each one is a remove and an insert on the skip list, O(log n) in the number of doctors. Ties go to the lower
+ * doctor id, so equal loads are handed out round robin.
+ */
+public class DepartmentDoctorLoad {
+
+    private record Entry(long doctorId, int load) {
+    }
+
+    private static final Comparator<Entry> BY_LOAD = Comparator.comparingInt(Entry::load)
+            .thenComparingLong(Entry::doctorId);
+
+    private final ConcurrentSkipListSet<Entry> byLoad = new ConcurrentSkipListSet<>(BY_LOAD);
+    // current entry of each doctor, guarded by this
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    /**
+     * @param loads upcoming appointments per doctor id, every member of the department included
+     */
+    public DepartmentDoctorLoad(Map<Long, Integer> loads) {
+        loads.forEach(this::put);
+    }
+
+    /**
+     * Picks the least loaded doctor and counts the new appointment against them.
+     *
+     * @throws ConflictException if the department has no doctors
+     */
+    public synchronized long acquire() {
+        Entry least = byLoad.pollFirst();
+        if (least == null) {
+            throw new ConflictException("Department has no doctors to assign");
+        }
+        put(least.doctorId(), least.load() + 1);
+        return least.doctorId();
+    }
+
+    /**
+     * @return false if the doctor is not in this department
+     */
+    public synchronized boolean increment(long doctorId) {
+        Entry current = entries.get(doctorId);
+        if (current == null) return false;
+        byLoad.remove(current);
+        put(doctorId, current.load() + 1);
+        return true;
+    }
+
+    /**
+     * @return false if the doctor is not in this department
+     */
+    public synchronized boolean decrement(long doctorId) {
+        Entry current = entries.get(doctorId);
+        if (current == null) return false;
+        if (current.load() > 0) {
+            byLoad.remove(current);
+            put(doctorId, current.load() - 1);
+        }
+        return true;
+    }
+
+    // reads the skip list without the lock, a concurrent change may be seen half done
+    public Map<Long, Integer> getLoads() {
+        Map<Long, Integer> loads = new LinkedHashMap<>();
+        for (Entry entry : byLoad) {
+            loads.put(entry.doctorId(), entry.load());
+        }
+        return loads;
+    }
+
+    private void put(long doctorId, int load) {
+        Entry entry = new Entry(doctorId, load);
+        entries.put(doctorId, entry);
+        byLoad.add(entry);
+    }
+}
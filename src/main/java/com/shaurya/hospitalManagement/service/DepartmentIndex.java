@@ -0,0 +1,77 @@
+package com.shaurya.hospitalManagement.service;
+
+import com.shaurya.hospitalManagement.dto.DepartmentResponseDto;
+import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable department to doctors adjacency, built by DepartmentDirectory from one joined query.
+ * A doctor in several departments is stored once and shared by every list it appears in.
+ */
+public final class DepartmentIndex {
+
+    private final List<DepartmentResponseDto> departments;
+    private final Map<Long, List<DoctorResponseDto>> doctorsByDepartment;
+
+    private DepartmentIndex(List<DepartmentResponseDto> departments, Map<Long, List<DoctorResponseDto>> doctorsByDepartment) {
+        this.departments = departments;
+        this.doctorsByDepartment = doctorsByDepartment;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // in the order the rows were added
+    public List<DepartmentResponseDto> getDepartments() {
+        return departments;
+    }
+
+    // empty if there is no such department, an empty list if it has no doctors
+    public Optional<List<DoctorResponseDto>> getDoctors(Long departmentId) {
+        return Optional.ofNullable(doctorsByDepartment.get(departmentId));
+    }
+
+    public static final class Builder {
+
+        private final Map<Long, DepartmentResponseDto> departments = new LinkedHashMap<>();
+        private final Map<Long, List<DoctorResponseDto>> members = new HashMap<>();
+        private final Map<Long, DoctorResponseDto> doctors = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * One row per membership. A department without doctors comes once with a null member.
+         */
+        public void add(long departmentId, String name, DoctorResponseDto headDoctor, DoctorResponseDto member) {
+            departments.computeIfAbsent(departmentId, id -> new DepartmentResponseDto(id, name, shared(headDoctor), 0));
+            List<DoctorResponseDto> departmentDoctors = members.computeIfAbsent(departmentId, id -> new ArrayList<>());
+            if (member != null) {
+                departmentDoctors.add(shared(member));
+            }
+        }
+
+        public DepartmentIndex build() {
+            List<DepartmentResponseDto> departmentList = new ArrayList<>(departments.size());
+            Map<Long, List<DoctorResponseDto>> doctorsByDepartment = new HashMap<>();
+            departments.forEach((id, department) -> {
+                List<DoctorResponseDto> departmentDoctors = List.copyOf(members.get(id));
+                department.setDoctorCount(departmentDoctors.size());
+                departmentList.add(department);
+                doctorsByDepartment.put(id, departmentDoctors);
+            });
+            return new DepartmentIndex(List.copyOf(departmentList), Map.copyOf(doctorsByDepartment));
+        }
+
+        private DoctorResponseDto shared(DoctorResponseDto doctor) {
+            return doctor == null ? null : doctors.computeIfAbsent(doctor.getId(), id -> doctor);
+        }
+    }
+}
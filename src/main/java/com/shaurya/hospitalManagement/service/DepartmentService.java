@@ -0,0 +1,125 @@
+package com.shaurya.hospitalManagement.service;
+
+import com.shaurya.hospitalManagement.dto.CreateDepartmentRequestDto;
+import com.shaurya.hospitalManagement.dto.DepartmentResponseDto;
+import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
+import com.shaurya.hospitalManagement.entity.Department;
+import com.shaurya.hospitalManagement.entity.Doctor;
+import com.shaurya.hospitalManagement.error.BadRequestException;
+import com.shaurya.hospitalManagement.error.ConflictException;
+import com.shaurya.hospitalManagement.mapper.DoctorMapper;
+import com.shaurya.hospitalManagement.repository.DepartmentRepository;
+import com.shaurya.hospitalManagement.repository.DoctorRepository;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class DepartmentService {
+
+    private final DepartmentRepository departmentRepository;
+    private final DoctorRepository doctorRepository;
+    private final DepartmentDirectory departmentDirectory;
+    private final DoctorMapper doctorMapper;
+
+    public List<DepartmentResponseDto> getDepartments() {
+        return departmentDirectory.get().getDepartments();
+    }
+
+    public Optional<List<DoctorResponseDto>> getDepartmentDoctors(Long departmentId) {
+        return departmentDirectory.get().getDoctors(departmentId);
+    }
+
+    @Transactional
+    @PreAuthorize("hasAuthority('user:manage')")
+    public DepartmentResponseDto createDepartment(CreateDepartmentRequestDto createDepartmentRequestDto) {
+        String name = createDepartmentRequestDto.getName();
+        if (name == null || name.isBlank()) {
+            throw new BadRequestException("Department name is required");
+        }
+        if (departmentRepository.existsByName(name)) {
+            throw new ConflictException("Department already exists: " + name);
+        }
+
+        Department department = new Department();
+        department.setName(name);
+        if (createDepartmentRequestDto.getHeadDoctorId() != null) {
+            Doctor headDoctor = findDoctor(createDepartmentRequestDto.getHeadDoctorId());
+            department.setHeadDoctor(headDoctor);
+            department.getDoctors().add(headDoctor);
+        }
+
+        department = departmentRepository.save(department);
+        departmentDirectory.invalidate();
+        return toResponse(department);
+    }
+
+    @Transactional
+    @PreAuthorize("hasAuthority('user:manage')")
+    public DepartmentResponseDto addDoctor(Long departmentId, Long doctorId) {
+        Department department = findDepartment(departmentId);
+        Doctor doctor = findDoctor(doctorId);
+
+        if (department.getDoctors().add(doctor)) {
+            departmentDirectory.invalidate();
+        }
+        return toResponse(department);
+    }
+
+    @Transactional
+    @PreAuthorize("hasAuthority('user:manage')")
+    public DepartmentResponseDto removeDoctor(Long departmentId, Long doctorId) {
+        Department department = findDepartment(departmentId);
+        Doctor doctor = findDoctor(doctorId);
+
+        boolean changed = department.getDoctors().remove(doctor);
+        if (department.getHeadDoctor() == doctor) {
+            // a department is not headed by someone outside it
+            department.setHeadDoctor(null);
+            changed = true;
+        }
+        if (changed) {
+            departmentDirectory.invalidate();
+        }
+        return toResponse(department);
+    }
+
+    @Transactional
+    @PreAuthorize("hasAuthority('user:manage')")
+    public DepartmentResponseDto setHeadDoctor(Long departmentId, Long doctorId) {
+        Department department = findDepartment(departmentId);
+        Doctor doctor = findDoctor(doctorId);
+
+        department.setHeadDoctor(doctor);
+        department.getDoctors().add(doctor);
+        departmentDirectory.invalidate();
+        return toResponse(department);
+    }
+
+    private Department findDepartment(Long departmentId) {
+        return departmentRepository.findById(departmentId)
+                .orElseThrow(() -> new EntityNotFoundException("Department not found with ID: " + departmentId));
+    }
+
+    private Doctor findDoctor(Long doctorId) {
+        return doctorRepository.findById(doctorId)
+                .orElseThrow(() -> new EntityNotFoundException("Doctor not found with ID: " + doctorId));
+    }
+
+    // built from the entity, the directory only sees the change after commit
+    private DepartmentResponseDto toResponse(Department department) {
+        Doctor headDoctor = department.getHeadDoctor();
+        return new DepartmentResponseDto(
+                department.getId(),
+                department.getName(),
+                doctorMapper.toResponseDto(headDoctor),
+                department.getDoctors().size()
+        );
+    }
+}
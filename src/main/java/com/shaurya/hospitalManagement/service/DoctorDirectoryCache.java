@@ -0,0 +1,126 @@
+package com.shaurya.hospitalManagement.service;
+
+import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
+import com.shaurya.hospitalManagement.repository.DoctorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The public doctor directory, serialized once and served as the same immutable bytes until a doctor changes.
+ * Changes drop the copy after commit and tell the other instances over Redis pub/sub; the next request rebuilds it.
+ */
+@Component
+@Slf4j
+public class DoctorDirectoryCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "cache:doctors:invalidate";
+
+    private final DoctorRepository doctorRepository;
+    private final JsonMapper jsonMapper;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private volatile Directory directory;
+    // not synchronized: the build queries the database, and a virtual thread blocking inside a monitor pins its carrier
+    private final ReentrantLock buildLock = new ReentrantLock();
+    // bumped by every invalidation, a build that overlapped one may have read the old rows
+    private final AtomicLong generation = new AtomicLong();
+
+    public DoctorDirectoryCache(
+            DoctorRepository doctorRepository,
+            JsonMapper jsonMapper,
+            RedisTemplate<String, String> redisTemplate,
+            RedisMessageListenerContainer listenerContainer
+    ) {
+        this.doctorRepository = doctorRepository;
+        this.jsonMapper = jsonMapper;
+        this.redisTemplate = redisTemplate;
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    // json must never be modified, it is handed to every request as is
+    public record Directory(byte[] json, String eTag) {
+    }
+
+    public Directory get() {
+        Directory current = directory;
+        if (current == null) {
+            buildLock.lock();
+            try {
+                current = directory;
+                if (current == null) {
+                    long startedAt = generation.get();
+                    current = build();
+                    directory = current;
+                    // rechecked after publishing: an invalidation in between either sees the directory and drops
+                    // it, or is seen here. Only invalidations write outside the lock, and they only write null
+                    if (generation.get() != startedAt) directory = null;
+                }
+            } finally {
+                buildLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Drops the directory on every instance. Inside a transaction this waits for the commit,
+     * otherwise a request in between could rebuild it from the old rows.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow();
+                }
+            });
+        } else {
+            invalidateNow();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        drop();
+    }
+
+    private void drop() {
+        generation.incrementAndGet();
+        directory = null;
+    }
+
+    private void invalidateNow() {
+        drop();
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, "doctors");
+        } catch (Exception e) {
+            log.warn("Could not broadcast doctor directory invalidation: {}", e.getMessage());
+        }
+    }
+
+    private Directory build() {
+        List<DoctorResponseDto> doctors = doctorRepository.findAllDirectoryEntries();
+        try {
+            byte[] json = jsonMapper.writeValueAsBytes(doctors);
+            // content hash, so every instance hands out the same ETag for the same directory
+            String eTag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+            log.info("Doctor directory rebuilt with {} doctors", doctors.size());
+            return new Directory(json, eTag);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not serialize doctor directory", e);
+        }
+    }
+}
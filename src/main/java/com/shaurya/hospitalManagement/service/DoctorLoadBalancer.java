@@ -0,0 +1,126 @@
+package com.shaurya.hospitalManagement.service;
+
+import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
+import com.shaurya.hospitalManagement.error.ConflictException;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns appointments booked for a department to its least loaded doctor. Each department's DepartmentDoctorLoad
+ * is loaded on first use from the upcoming appointments and kept in memory; bookings on this instance update it,
+ * and a change rolled back is taken back out. Bookings on other instances and appointments moving into the past
+ * are picked up when the loads are reloaded every refresh-interval-ms or after a department membership change.
+ */
+@Component
+@Slf4j
+public class DoctorLoadBalancer {
+
+    private static final String UPCOMING_QUERY = "select doctor_id, count(*) from appointment " +
+            "where appointment_time >= ? and doctor_id in (select doctor_id from my_dpt_doctors where dpt_id = ?) " +
+            "group by doctor_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DepartmentDirectory departmentDirectory;
+
+    private final Map<Long, DepartmentDoctorLoad> loads = new ConcurrentHashMap<>();
+    // memberships the loads were built from, a new index means they changed
+    private volatile DepartmentIndex loadedFrom;
+
+    public DoctorLoadBalancer(JdbcTemplate jdbcTemplate, DepartmentDirectory departmentDirectory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.departmentDirectory = departmentDirectory;
+    }
+
+    /**
+     * Picks the least loaded doctor of the department and counts the appointment against them.
+     *
+     * @throws EntityNotFoundException if the department does not exist
+     * @throws ConflictException      if the department has no doctors
+     */
+    public long assign(Long departmentId) {
+        DepartmentDoctorLoad load = getLoad(departmentId);
+        long doctorId = load.acquire();
+        onRollback(() -> load.decrement(doctorId));
+        return doctorId;
+    }
+
+    /**
+     * Counts an appointment booked for a given doctor in every department of theirs that is loaded.
+     */
+    public void booked(Long doctorId, LocalDateTime appointmentTime) {
+        if (appointmentTime == null || appointmentTime.isBefore(LocalDateTime.now())) return;
+        // the rollback compensates these instances, a reload in between starts without the booking
+        List<DepartmentDoctorLoad> counted = List.copyOf(loads.values());
+        counted.forEach(load -> load.increment(doctorId));
+        onRollback(() -> counted.forEach(load -> load.decrement(doctorId)));
+    }
+
+    /**
+     * Takes an appointment that left the doctor out of their loads.
+     */
+    public void released(Long doctorId, LocalDateTime appointmentTime) {
+        if (appointmentTime == null || appointmentTime.isBefore(LocalDateTime.now())) return;
+        List<DepartmentDoctorLoad> counted = List.copyOf(loads.values());
+        counted.forEach(load -> load.decrement(doctorId));
+        onRollback(() -> counted.forEach(load -> load.increment(doctorId)));
+    }
+
+    @Scheduled(fixedDelayString = "${appointment.auto-assign.refresh-interval-ms:60000}")
+    public void refresh() {
+        loads.clear();
+    }
+
+    public DepartmentDoctorLoad getLoad(Long departmentId) {
+        DepartmentIndex index = departmentDirectory.get();
+        if (index != loadedFrom) {
+            loads.clear();
+            loadedFrom = index;
+        }
+        DepartmentDoctorLoad load = loads.get(departmentId);
+        if (load != null) return load;
+        // queried outside the map: computeIfAbsent would hold the bin's monitor, and pin a virtual thread's carrier,
+        // for the whole round trip. Two first requests may both query, the first to put wins
+        load = load(index, departmentId);
+        DepartmentDoctorLoad raced = loads.putIfAbsent(departmentId, load);
+        return raced != null ? raced : load;
+    }
+
+    private DepartmentDoctorLoad load(DepartmentIndex index, Long departmentId) {
+        List<DoctorResponseDto> doctors = index.getDoctors(departmentId)
+                .orElseThrow(() -> new EntityNotFoundException("Department not found with ID: " + departmentId));
+
+        Map<Long, Integer> upcoming = new HashMap<>();
+        for (DoctorResponseDto doctor : doctors) {
+            upcoming.put(doctor.getId(), 0);
+        }
+        // the index may be older than the membership table, only its doctors take part
+        jdbcTemplate.query(UPCOMING_QUERY, resultSet -> {
+            int count = resultSet.getInt(2);
+            upcoming.computeIfPresent(resultSet.getLong(1), (doctorId, zero) -> count);
+        }, Timestamp.valueOf(LocalDateTime.now()), departmentId);
+        log.debug("Doctor loads of department {} loaded: {}", departmentId, upcoming);
+        return new DepartmentDoctorLoad(upcoming);
+    }
+
+    private static void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) action.run();
+            }
+        });
+    }
+}
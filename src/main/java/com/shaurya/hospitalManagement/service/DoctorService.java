@@ -1,20 +1,28 @@
 package com.shaurya.hospitalManagement.service;
 
+import com.shaurya.hospitalManagement.dto.DoctorFieldsPageResponseDto;
+import com.shaurya.hospitalManagement.dto.DoctorPageResponseDto;
 import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
 import com.shaurya.hospitalManagement.dto.OnBoardDoctorRequestDto;
 import com.shaurya.hospitalManagement.entity.Doctor;
 import com.shaurya.hospitalManagement.entity.User;
 import com.shaurya.hospitalManagement.entity.type.RoleType;
+import com.shaurya.hospitalManagement.error.BadRequestException;
+import com.shaurya.hospitalManagement.mapper.DoctorMapper;
 import com.shaurya.hospitalManagement.repository.DoctorRepository;
+import com.shaurya.hospitalManagement.repository.DoctorSpecifications;
 import com.shaurya.hospitalManagement.repository.UserRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 
 @Service
@@ -22,15 +30,92 @@ import java.util.stream.Collectors;
 @Slf4j
 public class DoctorService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    // the DoctorResponseDto properties, each one a Doctor attribute of the same name
+    private static final List<String> FIELDS = List.of("id", "name", "specialization", "email");
+
     private final DoctorRepository doctorRepository;
-    private final ModelMapper modelMapper;
+    private final DoctorMapper doctorMapper;
     private final UserRepository userRepository;
+    private final DoctorDirectoryCache doctorDirectoryCache;
+
+    /**
+     * One page of the doctor directory ordered by id. Null filters are ignored.
+     *
+     * @param cursor the nextCursor of the previous page, null for the first page
+     */
+    @Transactional(readOnly = true)
+    public DoctorPageResponseDto searchDoctors(String specialization, Long departmentId, String namePrefix,
+                                               Long cursor, Integer size) {
+        int pageSize = pageSize(size);
+
+        // one row more than the page tells whether there is a next page without a count query
+        List<Doctor> doctors = doctorRepository.findBy(directoryFilter(specialization, departmentId, namePrefix, cursor),
+                query -> query.sortBy(Sort.by("id")).limit(pageSize + 1).all());
+
+        boolean hasNext = doctors.size() > pageSize;
+        List<DoctorResponseDto> page = doctorMapper.toResponseDtos(hasNext ? doctors.subList(0, pageSize) : doctors);
+        return new DoctorPageResponseDto(page, hasNext ? page.getLast().getId() : null);
+    }
+
+    /**
+     * searchDoctors with only the requested fields in the select list. The id is always read for the cursor and
+     * dropped from the rows when it was not asked for.
+     */
+    @Transactional(readOnly = true)
+    public DoctorFieldsPageResponseDto searchDoctors(String specialization, Long departmentId, String namePrefix,
+                                                     Long cursor, Integer size, String fields) {
+        int pageSize = pageSize(size);
+        List<String> requested = SparseFields.parse(fields, FIELDS);
+        List<String> selected = new ArrayList<>(requested);
+        if (!selected.contains("id")) {
+            selected.addFirst("id");
+        }
+
+        List<Map<String, Object>> doctors = doctorRepository.findFields(Doctor.class, selected,
+                directoryFilter(specialization, departmentId, namePrefix, cursor),
+                PageRequest.of(0, pageSize + 1, Sort.by("id")));
+
+        boolean hasNext = doctors.size() > pageSize;
+        List<Map<String, Object>> page = hasNext ? doctors.subList(0, pageSize) : doctors;
+        Long nextCursor = hasNext ? (Long) page.getLast().get("id") : null;
+        if (!requested.contains("id")) {
+            page.forEach(row -> row.remove("id"));
+        }
+        return new DoctorFieldsPageResponseDto(new ArrayList<>(page), nextCursor);
+    }
+
+    private static int pageSize(Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return pageSize;
+    }
+
+    // null filters are ignored
+    private static Specification<Doctor> directoryFilter(String specialization, Long departmentId, String namePrefix,
+                                                         Long cursor) {
+        List<Specification<Doctor>> filters = new ArrayList<>();
+        if (specialization != null && !specialization.isBlank()) {
+            filters.add(DoctorSpecifications.hasSpecialization(specialization));
+        }
+        if (departmentId != null) {
+            filters.add(DoctorSpecifications.inDepartment(departmentId));
+        }
+        if (namePrefix != null && !namePrefix.isBlank()) {
+            filters.add(DoctorSpecifications.nameStartsWith(namePrefix));
+        }
+        if (cursor != null) {
+            filters.add(DoctorSpecifications.idAfter(cursor));
+        }
+        return Specification.allOf(filters);
+    }
 
+    @Transactional(readOnly = true)
     public List<DoctorResponseDto> getAllDoctors() {
-        return doctorRepository.findAll()
-                .stream()
-                .map(doctor -> modelMapper.map(doctor, DoctorResponseDto.class))
-                .collect(Collectors.toList());
+        return doctorRepository.findAllDirectoryEntries();
     }
 
 
@@ -50,6 +135,8 @@ public class DoctorService {
 
         user.getRoles().add(RoleType.DOCTOR);
 
-        return modelMapper.map(doctorRepository.save(doctor), DoctorResponseDto.class);
+        DoctorResponseDto saved = doctorMapper.toResponseDto(doctorRepository.save(doctor));
+        doctorDirectoryCache.invalidate();
+        return saved;
     }
 }
@@ -0,0 +1,129 @@
+package com.shaurya.hospitalManagement.service;
+
+import com.shaurya.hospitalManagement.dto.DoctorWorkloadResponseDto;
+import com.shaurya.hospitalManagement.entity.DoctorDailyWorkload;
+import com.shaurya.hospitalManagement.error.BadRequestException;
+import com.shaurya.hospitalManagement.repository.DoctorDailyWorkloadRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Maintains the doctor_daily_workload rollup. AppointmentService adjusts the (doctor, day) row inside its own
+ * transaction, so the count commits or rolls back with the appointment; the nightly reconcile recomputes the last
+ * reconcile-days from the appointment table and fixes whatever drifted, e.g. appointments removed with plain SQL.
+ * Reports read only the rollup, so their cost depends on the days and doctors asked for, not on the appointments.
+ */
+@Service
+@Slf4j
+public class DoctorWorkloadService {
+
+    private static final String INCREMENT = "insert into doctor_daily_workload (doctor_id, work_date, appointment_count) " +
+            "values (?, ?, 1) on conflict (doctor_id, work_date) " +
+            "do update set appointment_count = doctor_daily_workload.appointment_count + 1";
+    private static final String DECREMENT = "update doctor_daily_workload set appointment_count = appointment_count - 1 " +
+            "where doctor_id = ? and work_date = ? and appointment_count > 0";
+
+    // only rows whose count differs are written, a quiet night touches nothing
+    private static final String RECONCILE_COUNTS = "insert into doctor_daily_workload (doctor_id, work_date, appointment_count) " +
+            "select doctor_id, cast(appointment_time as date), count(*) from appointment where appointment_time >= ? " +
+            "group by doctor_id, cast(appointment_time as date) " +
+            "on conflict (doctor_id, work_date) do update set appointment_count = excluded.appointment_count " +
+            "where doctor_daily_workload.appointment_count <> excluded.appointment_count";
+    private static final String RECONCILE_EMPTY_DAYS = "delete from doctor_daily_workload w where w.work_date >= ? " +
+            "and not exists (select 1 from appointment a where a.doctor_id = w.doctor_id " +
+            "and a.appointment_time >= w.work_date and a.appointment_time < w.work_date + 1)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DoctorDailyWorkloadRepository doctorDailyWorkloadRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int reconcileDays;
+    private final int maxRangeDays;
+
+    public DoctorWorkloadService(
+            JdbcTemplate jdbcTemplate,
+            DoctorDailyWorkloadRepository doctorDailyWorkloadRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${report.workload.reconcile-days:35}") int reconcileDays,
+            @Value("${report.workload.max-range-days:366}") int maxRangeDays
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.doctorDailyWorkloadRepository = doctorDailyWorkloadRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconcileDays = reconcileDays;
+        this.maxRangeDays = maxRangeDays;
+    }
+
+    /**
+     * Counts a new appointment. Call inside the transaction that saves it.
+     */
+    public void appointmentAdded(Long doctorId, LocalDateTime appointmentTime) {
+        jdbcTemplate.update(INCREMENT, doctorId, Date.valueOf(appointmentTime.toLocalDate()));
+    }
+
+    /**
+     * Uncounts an appointment that left the doctor. Call inside the transaction that changes it.
+     */
+    public void appointmentRemoved(Long doctorId, LocalDateTime appointmentTime) {
+        jdbcTemplate.update(DECREMENT, doctorId, Date.valueOf(appointmentTime.toLocalDate()));
+    }
+
+    @PreAuthorize("hasAuthority('report:view')")
+    public List<DoctorWorkloadResponseDto> getWorkload(LocalDate from, LocalDate to, Long doctorId) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new BadRequestException("Date range must not exceed " + maxRangeDays + " days");
+        }
+
+        List<DoctorDailyWorkload> rows = doctorId != null
+                ? doctorDailyWorkloadRepository.findAllByDoctorIdAndWorkDateBetweenOrderByWorkDateAsc(doctorId, from, to)
+                : doctorDailyWorkloadRepository.findAllByWorkDateBetweenOrderByWorkDateAscDoctorIdAsc(from, to);
+        return rows.stream()
+                .map(row -> new DoctorWorkloadResponseDto(row.getDoctorId(), row.getWorkDate(), row.getAppointmentCount()))
+                .toList();
+    }
+
+    @Scheduled(cron = "${report.workload.reconcile-cron:0 30 2 * * *}")
+    public void reconcile() {
+        reconcileFrom(LocalDate.now().minusDays(reconcileDays));
+    }
+
+    // the rollup is new or was dropped, fill it from all appointments once
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (doctorDailyWorkloadRepository.count() > 0) return;
+        Timestamp earliest = jdbcTemplate.queryForObject("select min(appointment_time) from appointment", Timestamp.class);
+        if (earliest != null) {
+            reconcileFrom(earliest.toLocalDateTime().toLocalDate());
+        }
+    }
+
+    /**
+     * Recomputes every day from the given one on, future days included. Rows before it are left as they are.
+     */
+    public void reconcileFrom(LocalDate from) {
+        long start = System.currentTimeMillis();
+        int[] corrected = transactionTemplate.execute(status -> new int[]{
+                jdbcTemplate.update(RECONCILE_COUNTS, Timestamp.valueOf(from.atStartOfDay())),
+                jdbcTemplate.update(RECONCILE_EMPTY_DAYS, Date.valueOf(from))
+        });
+        log.info("Doctor workload reconciled from {}: {} days corrected, {} empty days removed in {} ms",
+                from, corrected[0], corrected[1], System.currentTimeMillis() - start);
+    }
+}
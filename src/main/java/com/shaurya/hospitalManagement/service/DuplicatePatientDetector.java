@@ -0,0 +1,415 @@
+package com.shaurya.hospitalManagement.service;
+
+import lombok.Getter;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Pattern;
+
+/**
+ * Finds patient records that probably belong to the same person.
+ *
+ * Comparing every pair is quadratic, so patients are first grouped by blocking keys and only pairs that share
+ * a block are scored. Each (key, patient) pair is packed into one long, the upper bits a hash of the key and the
+ * low INDEX_BITS the patient slot, so grouping is a single parallel sort of a primitive array. Blocks larger than
+ * maxBlockSize are skipped: a key shared by that many patients (a popular birth date or a generic email name)
+ * carries no signal and would dominate the run time.
+ */
+public final class DuplicatePatientDetector {
+
+    public static final int INDEX_BITS = 24;
+    public static final int MAX_PATIENTS = 1 << INDEX_BITS;
+    private static final long INDEX_MASK = MAX_PATIENTS - 1;
+
+    public static final int BIRTH_DATE_UNKNOWN = Integer.MIN_VALUE;
+
+    public static final int REASON_SIMILAR_NAME = 1;
+    public static final int REASON_SAME_BIRTH_DATE = 1 << 1;
+    public static final int REASON_SAME_EMAIL_NAME = 1 << 2;
+
+    private static final double NAME_WEIGHT = 0.7;
+    private static final double BIRTH_DATE_WEIGHT = 0.2;
+    private static final double EMAIL_NAME_WEIGHT = 0.1;
+    private static final double SIMILAR_NAME = 0.9;
+
+    private static final int NAME_PREFIX_LENGTH = 4;
+    private static final int MIN_EMAIL_NAME_LENGTH = 3;
+
+    // below this many pair comparisons a range of blocks is scored on the calling thread
+    private static final long SEQUENTIAL_COMPARISONS = 1 << 16;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_LETTERS = Pattern.compile("[^\\p{L} ]+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final long[] ids;
+    private final String[] names;
+    private final String[] emailNames;
+    private final String[] emailDomains;
+    private final int[] birthEpochDays;
+
+    @Getter
+    private final int size;
+
+    private DuplicatePatientDetector(long[] ids, String[] names, String[] emailNames, String[] emailDomains,
+                                     int[] birthEpochDays, int size) {
+        this.ids = ids;
+        this.names = names;
+        this.emailNames = emailNames;
+        this.emailDomains = emailDomains;
+        this.birthEpochDays = birthEpochDays;
+        this.size = size;
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public record Candidate(long patientId, long duplicatePatientId, double score, int reasons) {
+    }
+
+    public record Result(List<Candidate> candidates, int blocks, int oversizedBlocks, long comparisons) {
+    }
+
+    /**
+     * @return candidates scoring at least minScore, best first. Each pair is reported once with the lower id first.
+     */
+    public Result detect(double minScore, int maxBlockSize) {
+        long[] keys = blockingKeys();
+        Arrays.parallelSort(keys);
+
+        // [start, end) of every block with at least two and at most maxBlockSize members
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        int blocks = 0;
+        int oversized = 0;
+        long comparisons = 0;
+        for (int start = 0; start < keys.length; ) {
+            long hash = keys[start] >>> INDEX_BITS;
+            int end = start + 1;
+            while (end < keys.length && keys[end] >>> INDEX_BITS == hash) end++;
+            int members = end - start;
+            if (members > maxBlockSize) {
+                oversized++;
+            } else if (members > 1) {
+                if (blocks == starts.length) {
+                    starts = Arrays.copyOf(starts, blocks * 2);
+                    ends = Arrays.copyOf(ends, blocks * 2);
+                }
+                starts[blocks] = start;
+                ends[blocks] = end;
+                blocks++;
+                comparisons += (long) members * (members - 1) / 2;
+            }
+            start = end;
+        }
+
+        PairList pairs = blocks == 0 ? new PairList()
+                : ForkJoinPool.commonPool().invoke(new BlockTask(keys, starts, ends, 0, blocks, minScore));
+
+        // the same pair can meet in several blocks, sorting brings the copies together
+        long[] sorted = Arrays.copyOf(pairs.pairs, pairs.size);
+        Arrays.parallelSort(sorted);
+        List<Candidate> candidates = new ArrayList<>();
+        for (int i = 0; i < sorted.length; i++) {
+            if (i > 0 && sorted[i] == sorted[i - 1]) continue;
+            int a = (int) (sorted[i] >>> 32);
+            int b = (int) sorted[i];
+            long idA = ids[a];
+            long idB = ids[b];
+            candidates.add(new Candidate(Math.min(idA, idB), Math.max(idA, idB), score(a, b), reasons(a, b)));
+        }
+        candidates.sort(Comparator.comparingDouble(Candidate::score).reversed()
+                .thenComparingLong(Candidate::patientId)
+                .thenComparingLong(Candidate::duplicatePatientId));
+        return new Result(candidates, blocks, oversized, comparisons);
+    }
+
+    /**
+     * Weighted sum of Jaro-Winkler name similarity and exact matches on birth date and email name, between 0 and 1.
+     */
+    double score(int a, int b) {
+        return NAME_WEIGHT * jaroWinkler(names[a], names[b]) + exactMatchScore(a, b);
+    }
+
+    // skips the name comparison, the expensive part, when even identical names could not reach minScore
+    private boolean scoresAtLeast(int a, int b, double minScore) {
+        double exact = exactMatchScore(a, b);
+        if (NAME_WEIGHT + exact < minScore) return false;
+        int lengthA = names[a].length();
+        int lengthB = names[b].length();
+        if (lengthA == 0 || lengthB == 0) return exact >= minScore;
+        // jaro with every character of the shorter name matched and no transpositions
+        double shorter = Math.min(lengthA, lengthB);
+        double bestJaro = (shorter / lengthA + shorter / lengthB + 1) / 3;
+        if (NAME_WEIGHT * (bestJaro + 0.4 * (1 - bestJaro)) + exact < minScore) return false;
+        return NAME_WEIGHT * jaroWinkler(names[a], names[b]) + exact >= minScore;
+    }
+
+    private double exactMatchScore(int a, int b) {
+        double score = 0;
+        if (birthEpochDays[a] != BIRTH_DATE_UNKNOWN && birthEpochDays[a] == birthEpochDays[b]) {
+            score += BIRTH_DATE_WEIGHT;
+        }
+        if (emailNames[a] != null && emailNames[a].equals(emailNames[b])) {
+            score += EMAIL_NAME_WEIGHT;
+        }
+        return score;
+    }
+
+    private int reasons(int a, int b) {
+        int reasons = 0;
+        if (jaroWinkler(names[a], names[b]) >= SIMILAR_NAME) reasons |= REASON_SIMILAR_NAME;
+        if (birthEpochDays[a] != BIRTH_DATE_UNKNOWN && birthEpochDays[a] == birthEpochDays[b]) {
+            reasons |= REASON_SAME_BIRTH_DATE;
+        }
+        if (emailNames[a] != null && emailNames[a].equals(emailNames[b])) reasons |= REASON_SAME_EMAIL_NAME;
+        return reasons;
+    }
+
+    /*
+     * Three keys per patient:
+     * - birth date and name initial, catches typos and changed email addresses
+     * - name prefix and email domain, catches wrong or missing birth dates
+     * - email name, catches the same address at another provider (OAuth login next to a password signup)
+     */
+    private long[] blockingKeys() {
+        long[] keys = new long[size * 3];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            String name = names[i];
+            if (birthEpochDays[i] != BIRTH_DATE_UNKNOWN && !name.isEmpty()) {
+                keys[count++] = pack(hash(hash(1, birthEpochDays[i]), name.substring(0, 1)), i);
+            }
+            if (emailDomains[i] != null && !name.isEmpty()) {
+                String prefix = name.substring(0, Math.min(NAME_PREFIX_LENGTH, name.length()));
+                keys[count++] = pack(hash(hash(hash(2, 0), prefix), emailDomains[i]), i);
+            }
+            if (emailNames[i] != null && emailNames[i].length() >= MIN_EMAIL_NAME_LENGTH) {
+                keys[count++] = pack(hash(hash(3, 0), emailNames[i]), i);
+            }
+        }
+        return Arrays.copyOf(keys, count);
+    }
+
+    private static long pack(long hash, int index) {
+        return (hash >>> INDEX_BITS) << INDEX_BITS | index;
+    }
+
+    // FNV-1a, 64 bit
+    private static long hash(int kind, int value) {
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ kind) * 0x100000001b3L;
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, String value) {
+        hash = (hash ^ '|') * 0x100000001b3L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    static double jaroWinkler(String a, String b) {
+        if (a.equals(b)) return a.isEmpty() ? 0 : 1;
+        int lengthA = a.length();
+        int lengthB = b.length();
+        if (lengthA == 0 || lengthB == 0) return 0;
+
+        int window = Math.max(0, Math.max(lengthA, lengthB) / 2 - 1);
+        boolean[] matchedA = new boolean[lengthA];
+        boolean[] matchedB = new boolean[lengthB];
+        int matches = 0;
+        for (int i = 0; i < lengthA; i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(lengthB, i + window + 1);
+            for (int j = from; j < to; j++) {
+                if (!matchedB[j] && a.charAt(i) == b.charAt(j)) {
+                    matchedA[i] = true;
+                    matchedB[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) return 0;
+
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < lengthA; i++) {
+            if (!matchedA[i]) continue;
+            while (!matchedB[j]) j++;
+            if (a.charAt(i) != b.charAt(j)) transpositions++;
+            j++;
+        }
+        double m = matches;
+        double jaro = (m / lengthA + m / lengthB + (m - transpositions / 2.0) / m) / 3;
+
+        int prefix = 0;
+        int maxPrefix = Math.min(4, Math.min(lengthA, lengthB));
+        while (prefix < maxPrefix && a.charAt(prefix) == b.charAt(prefix)) prefix++;
+        return jaro + prefix * 0.1 * (1 - jaro);
+    }
+
+    // lower case, accents and punctuation removed, tokens sorted so "Doe John" matches "John Doe"
+    static String normalizeName(String name) {
+        if (name == null) return "";
+        String plain = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        String letters = NON_LETTERS.matcher(plain.toLowerCase()).replaceAll(" ").trim();
+        if (letters.isEmpty()) return "";
+        String[] tokens = SPACES.split(letters);
+        Arrays.sort(tokens);
+        return String.join(" ", tokens);
+    }
+
+    // the part before the @, without +tags; dots are dropped for gmail, which ignores them
+    static String emailName(String email) {
+        if (email == null) return null;
+        int at = email.indexOf('@');
+        if (at <= 0) return null;
+        String local = email.substring(0, at).toLowerCase();
+        int plus = local.indexOf('+');
+        if (plus >= 0) local = local.substring(0, plus);
+        String domain = emailDomain(email);
+        if ("gmail.com".equals(domain) || "googlemail.com".equals(domain)) local = local.replace(".", "");
+        return local.isEmpty() ? null : local;
+    }
+
+    static String emailDomain(String email) {
+        if (email == null) return null;
+        int at = email.indexOf('@');
+        if (at < 0 || at == email.length() - 1) return null;
+        return email.substring(at + 1).trim().toLowerCase();
+    }
+
+    private final class BlockTask extends RecursiveTask<PairList> {
+
+        private final long[] keys;
+        private final int[] starts;
+        private final int[] ends;
+        private final int from;
+        private final int to;
+        private final double minScore;
+
+        private BlockTask(long[] keys, int[] starts, int[] ends, int from, int to, double minScore) {
+            this.keys = keys;
+            this.starts = starts;
+            this.ends = ends;
+            this.from = from;
+            this.to = to;
+            this.minScore = minScore;
+        }
+
+        @Override
+        protected PairList compute() {
+            // blocks differ a lot in size, so split on the work they contain rather than on their count
+            long work = 0;
+            for (int block = from; block < to; block++) {
+                long members = ends[block] - starts[block];
+                work += members * (members - 1) / 2;
+            }
+            if (to - from == 1 || work <= SEQUENTIAL_COMPARISONS) {
+                PairList pairs = new PairList();
+                for (int block = from; block < to; block++) scoreBlock(starts[block], ends[block], pairs);
+                return pairs;
+            }
+            int mid = (from + to) >>> 1;
+            BlockTask left = new BlockTask(keys, starts, ends, from, mid, minScore);
+            left.fork();
+            PairList right = new BlockTask(keys, starts, ends, mid, to, minScore).compute();
+            return left.join().addAll(right);
+        }
+
+        private void scoreBlock(int start, int end, PairList pairs) {
+            for (int i = start; i < end; i++) {
+                int a = (int) (keys[i] & INDEX_MASK);
+                for (int j = i + 1; j < end; j++) {
+                    int b = (int) (keys[j] & INDEX_MASK);
+                    if (a != b && scoresAtLeast(a, b, minScore)) {
+                        pairs.add(Math.min(a, b), Math.max(a, b));
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class PairList {
+
+        private long[] pairs = new long[16];
+        private int size;
+
+        private void add(int a, int b) {
+            if (size == pairs.length) pairs = Arrays.copyOf(pairs, size * 2);
+            pairs[size++] = (long) a << 32 | b;
+        }
+
+        private PairList addAll(PairList other) {
+            if (size + other.size > pairs.length) pairs = Arrays.copyOf(pairs, Math.max(size + other.size, size * 2));
+            System.arraycopy(other.pairs, 0, pairs, size, other.size);
+            size += other.size;
+            return this;
+        }
+    }
+
+    public static final class Builder {
+
+        private long[] ids;
+        private String[] names;
+        private String[] emailNames;
+        private String[] emailDomains;
+        private int[] birthEpochDays;
+        private int size;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            ids = new long[capacity];
+            names = new String[capacity];
+            emailNames = new String[capacity];
+            emailDomains = new String[capacity];
+            birthEpochDays = new int[capacity];
+        }
+
+        public Builder add(long id, String name, String email, LocalDate birthDate) {
+            if (size == MAX_PATIENTS) {
+                throw new IllegalStateException("Duplicate detection supports at most " + MAX_PATIENTS + " patients");
+            }
+            if (size == ids.length) grow();
+            ids[size] = id;
+            names[size] = normalizeName(name);
+            emailNames[size] = emailName(email);
+            emailDomains[size] = emailDomain(email);
+            birthEpochDays[size] = birthDate == null ? BIRTH_DATE_UNKNOWN : (int) birthDate.toEpochDay();
+            size++;
+            return this;
+        }
+
+        public DuplicatePatientDetector build() {
+            return new DuplicatePatientDetector(
+                    Arrays.copyOf(ids, size),
+                    Arrays.copyOf(names, size),
+                    Arrays.copyOf(emailNames, size),
+                    Arrays.copyOf(emailDomains, size),
+                    Arrays.copyOf(birthEpochDays, size),
+                    size
+            );
+        }
+
+        private void grow() {
+            int capacity = Math.min(ids.length + (ids.length >> 1), MAX_PATIENTS);
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            emailNames = Arrays.copyOf(emailNames, capacity);
+            emailDomains = Arrays.copyOf(emailDomains, capacity);
+            birthEpochDays = Arrays.copyOf(birthEpochDays, capacity);
+        }
+    }
+}
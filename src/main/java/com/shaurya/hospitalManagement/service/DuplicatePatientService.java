@@ -0,0 +1,169 @@
+package com.shaurya.hospitalManagement.service;
+
+import com.shaurya.hospitalManagement.dto.DuplicateScanResponseDto;
+import com.shaurya.hospitalManagement.dto.PatientMergeCandidateResponseDto;
+import com.shaurya.hospitalManagement.error.ConflictException;
+import com.shaurya.hospitalManagement.mapper.PatientMergeCandidateMapper;
+import com.shaurya.hospitalManagement.repository.PatientMergeCandidateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs DuplicatePatientDetector over all patients and stores the ranked pairs in patient_merge_candidate.
+ * A scan reads the patient columns it needs in one streamed query and replaces the previous candidates in a single
+ * transaction, so the list never shows a half written scan.
+ */
+@Service
+@Slf4j
+public class DuplicatePatientService {
+
+    private static final String PATIENT_QUERY = "select id, name, email, birth_date from patient";
+    private static final String INSERT_SQL = "insert into patient_merge_candidate " +
+            "(patient_id, duplicate_patient_id, score, reasons, detected_at) values (?, ?, ?, ?, ?)";
+    private static final int FETCH_SIZE = 10_000;
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final PatientMergeCandidateRepository patientMergeCandidateRepository;
+    private final PatientMergeCandidateMapper patientMergeCandidateMapper;
+    private final double minScore;
+    private final int maxBlockSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile DuplicateScanResponseDto lastScan;
+
+    public DuplicatePatientService(
+            @Qualifier("batchJdbcTemplate") JdbcTemplate jdbcTemplate,
+            @Qualifier("batchTransactionManager") PlatformTransactionManager transactionManager,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            PatientMergeCandidateRepository patientMergeCandidateRepository,
+            PatientMergeCandidateMapper patientMergeCandidateMapper,
+            @Value("${patient.duplicates.min-score:0.8}") double minScore,
+            @Value("${patient.duplicates.max-block-size:500}") int maxBlockSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.patientMergeCandidateRepository = patientMergeCandidateRepository;
+        this.patientMergeCandidateMapper = patientMergeCandidateMapper;
+        this.minScore = minScore;
+        this.maxBlockSize = maxBlockSize;
+    }
+
+    @PreAuthorize("hasAuthority('patient:write')")
+    public DuplicateScanResponseDto startScan() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("A duplicate patient scan is already running");
+        }
+        DuplicateScanResponseDto scan = new DuplicateScanResponseDto();
+        scan.setStatus(DuplicateScanResponseDto.Status.RUNNING);
+        scan.setStartedAt(LocalDateTime.now());
+        lastScan = scan;
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    lastScan = scan(scan.getStartedAt());
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return scan;
+    }
+
+    @PreAuthorize("hasAuthority('patient:read')")
+    public DuplicateScanResponseDto getLastScan() {
+        return lastScan;
+    }
+
+    @PreAuthorize("hasAuthority('patient:read')")
+    public List<PatientMergeCandidateResponseDto> getCandidates(Integer pageNumber, Integer pageSize) {
+        return patientMergeCandidateMapper.toResponseDtos(
+                patientMergeCandidateRepository.findAllByOrderByScoreDescIdAsc(PageRequest.of(pageNumber, pageSize)).getContent());
+    }
+
+    DuplicateScanResponseDto scan(LocalDateTime startedAt) {
+        DuplicateScanResponseDto result = new DuplicateScanResponseDto();
+        result.setStartedAt(startedAt);
+        try {
+            DuplicatePatientDetector detector = transactionTemplate.execute(status -> loadPatients());
+            DuplicatePatientDetector.Result detected = detector.detect(minScore, maxBlockSize);
+            transactionTemplate.executeWithoutResult(status -> replaceCandidates(detected.candidates(), startedAt));
+
+            result.setPatients(detector.getSize());
+            result.setBlocks(detected.blocks());
+            result.setOversizedBlocks(detected.oversizedBlocks());
+            result.setComparisons(detected.comparisons());
+            result.setCandidates(detected.candidates().size());
+            result.setStatus(DuplicateScanResponseDto.Status.COMPLETED);
+            log.info("Duplicate patient scan found {} candidates among {} patients ({} blocks, {} oversized)",
+                    detected.candidates().size(), detector.getSize(), detected.blocks(), detected.oversizedBlocks());
+        } catch (Exception e) {
+            result.setStatus(DuplicateScanResponseDto.Status.FAILED);
+            result.setError(e.getMessage());
+            log.error("Duplicate patient scan failed: {}", e.getMessage());
+        }
+        result.setFinishedAt(LocalDateTime.now());
+        return result;
+    }
+
+    private DuplicatePatientDetector loadPatients() {
+        DuplicatePatientDetector.Builder builder = DuplicatePatientDetector.builder(1024);
+        // inside a transaction so the postgres driver honours the fetch size instead of buffering every row
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(PATIENT_QUERY);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, resultSet -> {
+            Date birthDate = resultSet.getDate(4);
+            builder.add(
+                    resultSet.getLong(1),
+                    resultSet.getString(2),
+                    resultSet.getString(3),
+                    birthDate != null ? birthDate.toLocalDate() : null
+            );
+        });
+        return builder.build();
+    }
+
+    private void replaceCandidates(List<DuplicatePatientDetector.Candidate> candidates, LocalDateTime detectedAt) {
+        jdbcTemplate.update("delete from patient_merge_candidate");
+        Timestamp timestamp = Timestamp.valueOf(detectedAt);
+        jdbcTemplate.batchUpdate(INSERT_SQL, candidates, INSERT_BATCH_SIZE, (statement, candidate) -> {
+            statement.setLong(1, candidate.patientId());
+            statement.setLong(2, candidate.duplicatePatientId());
+            statement.setDouble(3, Math.round(candidate.score() * 10_000) / 10_000.0);
+            statement.setString(4, reasons(candidate.reasons()));
+            statement.setTimestamp(5, timestamp);
+        });
+    }
+
+    static String reasons(int flags) {
+        List<String> reasons = new ArrayList<>(3);
+        if ((flags & DuplicatePatientDetector.REASON_SIMILAR_NAME) != 0) reasons.add("SIMILAR_NAME");
+        if ((flags & DuplicatePatientDetector.REASON_SAME_BIRTH_DATE) != 0) reasons.add("SAME_BIRTH_DATE");
+        if ((flags & DuplicatePatientDetector.REASON_SAME_EMAIL_NAME) != 0) reasons.add("SAME_EMAIL_NAME");
+        return String.join(",", reasons);
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 public class InsuranceService {
 
     private final PatientRepository patientRepository;
+    private final PatientProfileCache patientProfileCache;
 
     @Transactional
     public Patient assignInsuranceToPatient(Insurance insurance, Long patientId) {
@@ -21,6 +22,7 @@ public class InsuranceService {
 
         patient.setInsurance(insurance);
         insurance.setPatient(patient); // bidirectional consistency maintenance
+        patientProfileCache.evict(patientId);
 
         return patient;
     }
@@ -31,6 +33,7 @@ public class InsuranceService {
                 .orElseThrow(() -> new EntityNotFoundException("Patient not found with id: " + patientId));
 
         patient.setInsurance(null);
+        patientProfileCache.evict(patientId);
         return patient;
     }
 }
\ No newline at end of file
@@ -0,0 +1,193 @@
+package com.shaurya.hospitalManagement.service;
+
+import com.shaurya.hospitalManagement.dto.PatientBatchUpdateResponseDto;
+import com.shaurya.hospitalManagement.dto.PatientUpdateFailureDto;
+import com.shaurya.hospitalManagement.dto.PatientUpdateRequestDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Applies large files of partial patient updates. Rows are validated one by one, sent to the database as
+ * JDBC batches and committed per chunk, so a bad row only fails itself instead of the whole upload.
+ */
+@Service
+@Slf4j
+public class PatientBatchUpdateService {
+
+    // null parameters keep the current column value
+    private static final String UPDATE_SQL = "update patient set " +
+            "name = coalesce(?, name), " +
+            "gender = coalesce(?, gender), " +
+            "blood_group = coalesce(?, blood_group), " +
+            "birth_date = coalesce(?, birth_date) " +
+            "where id = ?";
+
+    private static final int MAX_NAME_LENGTH = 40;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PatientProfileCache patientProfileCache;
+    private final ObjectReader updateReader;
+    private final int chunkSize;
+    private final int maxReportedFailures;
+
+    public PatientBatchUpdateService(
+            @Qualifier("batchJdbcTemplate") JdbcTemplate jdbcTemplate,
+            @Qualifier("batchTransactionManager") PlatformTransactionManager transactionManager,
+            JsonMapper jsonMapper,
+            PatientProfileCache patientProfileCache,
+            @Value("${patient.batch-update.chunk-size:1000}") int chunkSize,
+            @Value("${patient.batch-update.max-reported-failures:1000}") int maxReportedFailures
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.updateReader = jsonMapper.readerFor(PatientUpdateRequestDto.class);
+        this.patientProfileCache = patientProfileCache;
+        this.chunkSize = chunkSize;
+        this.maxReportedFailures = maxReportedFailures;
+    }
+
+    /**
+     * @param lines newline delimited JSON, one PatientUpdateRequestDto per line. Blank lines are skipped.
+     */
+    @PreAuthorize("hasAuthority('patient:write')")
+    public PatientBatchUpdateResponseDto updatePatients(Stream<String> lines) {
+        BatchResult result = new BatchResult();
+        List<PendingUpdate> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+
+        Iterator<String> iterator = lines.iterator();
+        while (iterator.hasNext()) {
+            String line = iterator.next();
+            lineNumber++;
+            if (line.isBlank()) continue;
+            result.received++;
+
+            PatientUpdateRequestDto update;
+            try {
+                update = updateReader.readValue(line);
+            } catch (Exception e) {
+                result.fail(lineNumber, null, "Malformed row: " + e.getMessage());
+                continue;
+            }
+
+            String validationError = validate(update);
+            if (validationError != null) {
+                result.fail(lineNumber, update.getId(), validationError);
+                continue;
+            }
+
+            chunk.add(new PendingUpdate(lineNumber, update));
+            if (chunk.size() == chunkSize) {
+                applyChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) applyChunk(chunk, result);
+
+        log.info("Patient batch update finished: {} received, {} updated, {} failed",
+                result.received, result.updated, result.failed);
+        return result.toResponse();
+    }
+
+    private void applyChunk(List<PendingUpdate> chunk, BatchResult result) {
+        int[][] counts;
+        try {
+            // batch size equals the chunk size, so the driver sees exactly one batch
+            counts = transactionTemplate.execute(status ->
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, chunk, chunk.size(),
+                            (statement, pending) -> bind(statement, pending.update())));
+        } catch (DataAccessException e) {
+            // postgres aborts the whole transaction on the first error, so find the bad rows one at a time
+            log.warn("Batch of {} patient updates failed, retrying row by row: {}", chunk.size(), e.getMessage());
+            applyRowByRow(chunk, result);
+            return;
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            tally(chunk.get(i), counts[0][i], result);
+        }
+        patientProfileCache.evictAll(chunk.stream().map(pending -> pending.update().getId()).toList());
+    }
+
+    private void applyRowByRow(List<PendingUpdate> chunk, BatchResult result) {
+        for (PendingUpdate pending : chunk) {
+            try {
+                Integer count = transactionTemplate.execute(status ->
+                        jdbcTemplate.update(UPDATE_SQL, statement -> bind(statement, pending.update())));
+                tally(pending, count != null ? count : 0, result);
+                patientProfileCache.evict(pending.update().getId());
+            } catch (DataAccessException e) {
+                result.fail(pending.line(), pending.update().getId(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+        }
+    }
+
+    private static void tally(PendingUpdate pending, int count, BatchResult result) {
+        if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+            result.updated++;
+        } else {
+            result.fail(pending.line(), pending.update().getId(), "Patient not found with id: " + pending.update().getId());
+        }
+    }
+
+    private static void bind(PreparedStatement statement, PatientUpdateRequestDto update) throws SQLException {
+        statement.setObject(1, update.getName(), Types.VARCHAR);
+        statement.setObject(2, update.getGender(), Types.VARCHAR);
+        statement.setObject(3, update.getBloodGroup() != null ? update.getBloodGroup().name() : null, Types.VARCHAR);
+        statement.setObject(4, update.getBirthDate(), Types.DATE);
+        statement.setLong(5, update.getId());
+    }
+
+    private static String validate(PatientUpdateRequestDto update) {
+        if (update.getId() == null) return "id is required";
+        if (update.getName() == null && update.getGender() == null
+                && update.getBloodGroup() == null && update.getBirthDate() == null) {
+            return "Nothing to update";
+        }
+        if (update.getName() != null && (update.getName().isBlank() || update.getName().length() > MAX_NAME_LENGTH)) {
+            return "name must be 1 to " + MAX_NAME_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private record PendingUpdate(long line, PatientUpdateRequestDto update) {
+    }
+
+    private final class BatchResult {
+        private long received;
+        private long updated;
+        private long failed;
+        private final List<PatientUpdateFailureDto> failures = new ArrayList<>();
+
+        private void fail(long line, Long patientId, String error) {
+            failed++;
+            if (failures.size() < maxReportedFailures) {
+                failures.add(new PatientUpdateFailureDto(line, patientId, error));
+            }
+        }
+
+        private PatientBatchUpdateResponseDto toResponse() {
+            return new PatientBatchUpdateResponseDto(received, updated, failed, failures);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.shaurya.hospitalManagement.service;
+
+import com.shaurya.hospitalManagement.dto.AgeBandCountResponseDto;
+import com.shaurya.hospitalManagement.dto.BloodGroupCountResponseEntity;
+import com.shaurya.hospitalManagement.entity.type.BloodGroupType;
+import com.shaurya.hospitalManagement.error.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves the patient demographic reports from an in-memory PatientDemographicsSnapshot.
+ * The snapshot is rebuilt on a fixed delay, so report results can be up to one refresh interval old.
+ */
+@Service
+@Slf4j
+public class PatientDemographicsService {
+
+    private static final String SNAPSHOT_QUERY = "select id, birth_date, blood_group, gender from patient";
+    private static final int FETCH_SIZE = 10_000;
+    private static final BloodGroupType[] BLOOD_GROUPS = BloodGroupType.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile PatientDemographicsSnapshot snapshot;
+    // the first load streams every patient row, callers wait on a lock so virtual threads can unmount
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    public PatientDemographicsService(
+            @Qualifier("batchJdbcTemplate") JdbcTemplate jdbcTemplate,
+            @Qualifier("batchTransactionManager") PlatformTransactionManager transactionManager
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Scheduled(fixedDelayString = "${report.demographics.refresh-interval-ms:300000}")
+    public void refreshSnapshot() {
+        long start = System.currentTimeMillis();
+        // the transaction turns off autocommit, which the postgres driver needs to honour the fetch size
+        PatientDemographicsSnapshot fresh = readOnlyTransaction.execute(status -> loadSnapshot());
+        snapshot = fresh;
+        log.info("Patient demographics snapshot rebuilt with {} patients in {} ms",
+                fresh != null ? fresh.getSize() : 0, System.currentTimeMillis() - start);
+    }
+
+    public PatientDemographicsSnapshot getSnapshot() {
+        PatientDemographicsSnapshot current = snapshot;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                if (snapshot == null) refreshSnapshot();
+                current = snapshot;
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    @PreAuthorize("hasAuthority('report:view')")
+    public long countPatientsBornBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        return getSnapshot().countBornBetween(from, to);
+    }
+
+    @PreAuthorize("hasAuthority('report:view')")
+    public List<BloodGroupCountResponseEntity> countEachBloodGroupType() {
+        long[] counts = getSnapshot().countByBloodGroup();
+        List<BloodGroupCountResponseEntity> result = new ArrayList<>(BLOOD_GROUPS.length);
+        for (BloodGroupType bloodGroup : BLOOD_GROUPS) {
+            result.add(new BloodGroupCountResponseEntity(bloodGroup, counts[bloodGroup.ordinal()]));
+        }
+        return result;
+    }
+
+    @PreAuthorize("hasAuthority('report:view')")
+    public List<AgeBandCountResponseDto> countByAgeBandAndBloodGroup(int[] bandLowerAges) {
+        validateBands(bandLowerAges);
+        long[][] crossTab = getSnapshot().countByAgeBandAndBloodGroup(LocalDate.now(), bandLowerAges);
+
+        List<AgeBandCountResponseDto> result = new ArrayList<>(bandLowerAges.length);
+        for (int band = 0; band < bandLowerAges.length; band++) {
+            long[] row = crossTab[band];
+            Map<BloodGroupType, Long> byBloodGroup = new EnumMap<>(BloodGroupType.class);
+            long total = 0;
+            for (BloodGroupType bloodGroup : BLOOD_GROUPS) {
+                byBloodGroup.put(bloodGroup, row[bloodGroup.ordinal()]);
+                total += row[bloodGroup.ordinal()];
+            }
+            long unknown = row[PatientDemographicsSnapshot.BLOOD_GROUP_BUCKETS - 1];
+            Integer maxAge = band + 1 < bandLowerAges.length ? bandLowerAges[band + 1] - 1 : null;
+            result.add(new AgeBandCountResponseDto(bandLowerAges[band], maxAge, total + unknown, byBloodGroup, unknown));
+        }
+        return result;
+    }
+
+    private PatientDemographicsSnapshot loadSnapshot() {
+        PatientDemographicsSnapshot current = snapshot;
+        PatientDemographicsSnapshot.Builder builder =
+                PatientDemographicsSnapshot.builder(current != null ? current.getSize() : 1024);
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SNAPSHOT_QUERY);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, resultSet -> {
+            Date birthDate = resultSet.getDate(2);
+            String bloodGroup = resultSet.getString(3);
+            builder.add(
+                    resultSet.getLong(1),
+                    birthDate != null ? birthDate.toLocalDate() : null,
+                    bloodGroup != null ? BloodGroupType.valueOf(bloodGroup) : null,
+                    resultSet.getString(4)
+            );
+        });
+        return builder.build();
+    }
+
+    private static void validateBands(int[] bandLowerAges) {
+        if (bandLowerAges == null || bandLowerAges.length == 0) {
+            throw new BadRequestException("At least one age band is required");
+        }
+        for (int i = 0; i < bandLowerAges.length; i++) {
+            if (bandLowerAges[i] < 0 || (i > 0 && bandLowerAges[i] <= bandLowerAges[i - 1])) {
+                throw new BadRequestException("Age bands must be non-negative and strictly increasing");
+            }
+        }
+    }
+}
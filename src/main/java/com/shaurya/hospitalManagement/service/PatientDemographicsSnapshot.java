@@ -0,0 +1,248 @@
+package com.shaurya.hospitalManagement.service;
+
+import com.shaurya.hospitalManagement.entity.type.BloodGroupType;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Immutable, column oriented copy of the patient demographics used by the reporting endpoints.
+ * Every patient is one slot in the parallel primitive arrays, so a report is a scan over a few
+ * MB of ints and bytes instead of a query that loads full Patient entities.
+ */
+public final class PatientDemographicsSnapshot {
+
+    public static final byte GENDER_UNKNOWN = 0;
+    public static final byte GENDER_MALE = 1;
+    public static final byte GENDER_FEMALE = 2;
+    public static final byte GENDER_OTHER = 3;
+    public static final int GENDER_CODES = 4;
+
+    public static final byte BLOOD_GROUP_UNKNOWN = -1;
+    // one bucket per BloodGroupType plus a trailing one for patients without a blood group
+    public static final int BLOOD_GROUP_BUCKETS = BloodGroupType.values().length + 1;
+
+    public static final int BIRTH_DATE_UNKNOWN = Integer.MIN_VALUE;
+
+    // below this many rows a range is scanned on the calling thread instead of being split again
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 15;
+
+    private final long[] ids;
+    private final int[] birthEpochDays;
+    private final byte[] bloodGroups;
+    private final byte[] genders;
+
+    @Getter
+    private final int size;
+
+    @Getter
+    private final LocalDateTime builtAt;
+
+    private PatientDemographicsSnapshot(long[] ids, int[] birthEpochDays, byte[] bloodGroups, byte[] genders,
+                                        int size, LocalDateTime builtAt) {
+        this.ids = ids;
+        this.birthEpochDays = birthEpochDays;
+        this.bloodGroups = bloodGroups;
+        this.genders = genders;
+        this.size = size;
+        this.builtAt = builtAt;
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public static PatientDemographicsSnapshot empty() {
+        return new Builder(0).build();
+    }
+
+    public long idAt(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Same semantics as PatientRepository.findByBirthDateBetween, both bounds inclusive.
+     */
+    public long countBornBetween(LocalDate from, LocalDate to) {
+        final int fromDay = (int) from.toEpochDay();
+        final int toDay = (int) to.toEpochDay();
+        return histogram(1, (start, end, acc) -> {
+            long count = 0;
+            for (int i = start; i < end; i++) {
+                int day = birthEpochDays[i];
+                if (day != BIRTH_DATE_UNKNOWN && day >= fromDay && day <= toDay) count++;
+            }
+            acc[0] += count;
+        })[0];
+    }
+
+    /**
+     * Counts per blood group, indexed by BloodGroupType ordinal. The last slot holds the patients
+     * without a blood group.
+     */
+    public long[] countByBloodGroup() {
+        return histogram(BLOOD_GROUP_BUCKETS, (start, end, acc) -> {
+            for (int i = start; i < end; i++) {
+                acc[bloodGroupBucket(bloodGroups[i])]++;
+            }
+        });
+    }
+
+    /**
+     * Age band x blood group cross tab. Band i holds the patients aged [bandLowerAges[i], bandLowerAges[i + 1])
+     * on the given date, the last band is open ended. Patients without a birth date or born after the
+     * youngest band are left out.
+     *
+     * @return counts as [band][BloodGroupType ordinal], the last column holds unknown blood groups
+     */
+    public long[][] countByAgeBandAndBloodGroup(LocalDate asOf, int[] bandLowerAges) {
+        return crossTab(asOf, bandLowerAges, bloodGroups, BLOOD_GROUP_BUCKETS, true);
+    }
+
+    /**
+     * Age band x gender cross tab, columns are the GENDER_* codes.
+     */
+    public long[][] countByAgeBandAndGender(LocalDate asOf, int[] bandLowerAges) {
+        return crossTab(asOf, bandLowerAges, genders, GENDER_CODES, false);
+    }
+
+    private long[][] crossTab(LocalDate asOf, int[] bandLowerAges, byte[] column, int columnWidth,
+                              boolean bloodGroupColumn) {
+        final int bands = bandLowerAges.length;
+        // age >= a exactly when birthDate <= asOf - a years, so each band turns into an epoch day cutoff
+        final int[] cutoffs = new int[bands];
+        for (int b = 0; b < bands; b++) {
+            cutoffs[b] = (int) asOf.minusYears(bandLowerAges[b]).toEpochDay();
+        }
+
+        long[] flat = histogram(bands * columnWidth, (start, end, acc) -> {
+            for (int i = start; i < end; i++) {
+                int day = birthEpochDays[i];
+                if (day == BIRTH_DATE_UNKNOWN || day > cutoffs[0]) continue;
+
+                int band = bands - 1;
+                while (day > cutoffs[band]) band--;
+
+                int bucket = bloodGroupColumn ? bloodGroupBucket(column[i]) : column[i];
+                acc[band * columnWidth + bucket]++;
+            }
+        });
+
+        long[][] result = new long[bands][];
+        for (int b = 0; b < bands; b++) {
+            result[b] = Arrays.copyOfRange(flat, b * columnWidth, (b + 1) * columnWidth);
+        }
+        return result;
+    }
+
+    private static int bloodGroupBucket(byte code) {
+        return code == BLOOD_GROUP_UNKNOWN ? BLOOD_GROUP_BUCKETS - 1 : code;
+    }
+
+    private long[] histogram(int width, RangeCounter counter) {
+        if (size <= SEQUENTIAL_THRESHOLD) {
+            long[] acc = new long[width];
+            counter.count(0, size, acc);
+            return acc;
+        }
+        return ForkJoinPool.commonPool().invoke(new HistogramTask(counter, width, 0, size));
+    }
+
+    @FunctionalInterface
+    private interface RangeCounter {
+        void count(int start, int end, long[] acc);
+    }
+
+    private static final class HistogramTask extends RecursiveTask<long[]> {
+
+        private final RangeCounter counter;
+        private final int width;
+        private final int start;
+        private final int end;
+
+        private HistogramTask(RangeCounter counter, int width, int start, int end) {
+            this.counter = counter;
+            this.width = width;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (end - start <= SEQUENTIAL_THRESHOLD) {
+                long[] acc = new long[width];
+                counter.count(start, end, acc);
+                return acc;
+            }
+            int mid = (start + end) >>> 1;
+            HistogramTask left = new HistogramTask(counter, width, start, mid);
+            left.fork();
+            long[] right = new HistogramTask(counter, width, mid, end).compute();
+            long[] merged = left.join();
+            for (int i = 0; i < width; i++) {
+                merged[i] += right[i];
+            }
+            return merged;
+        }
+    }
+
+    public static final class Builder {
+
+        private long[] ids;
+        private int[] birthEpochDays;
+        private byte[] bloodGroups;
+        private byte[] genders;
+        private int size;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            ids = new long[capacity];
+            birthEpochDays = new int[capacity];
+            bloodGroups = new byte[capacity];
+            genders = new byte[capacity];
+        }
+
+        public Builder add(long id, LocalDate birthDate, BloodGroupType bloodGroup, String gender) {
+            if (size == ids.length) grow();
+            ids[size] = id;
+            birthEpochDays[size] = birthDate == null ? BIRTH_DATE_UNKNOWN : (int) birthDate.toEpochDay();
+            bloodGroups[size] = bloodGroup == null ? BLOOD_GROUP_UNKNOWN : (byte) bloodGroup.ordinal();
+            genders[size] = genderCode(gender);
+            size++;
+            return this;
+        }
+
+        public PatientDemographicsSnapshot build() {
+            return new PatientDemographicsSnapshot(
+                    Arrays.copyOf(ids, size),
+                    Arrays.copyOf(birthEpochDays, size),
+                    Arrays.copyOf(bloodGroups, size),
+                    Arrays.copyOf(genders, size),
+                    size,
+                    LocalDateTime.now()
+            );
+        }
+
+        private void grow() {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            birthEpochDays = Arrays.copyOf(birthEpochDays, capacity);
+            bloodGroups = Arrays.copyOf(bloodGroups, capacity);
+            genders = Arrays.copyOf(genders, capacity);
+        }
+    }
+
+    // Patient.gender is free text, so only the common spellings are folded into codes
+    static byte genderCode(String gender) {
+        if (gender == null || gender.isBlank()) return GENDER_UNKNOWN;
+        return switch (gender.trim().toLowerCase()) {
+            case "male", "m" -> GENDER_MALE;
+            case "female", "f" -> GENDER_FEMALE;
+            default -> GENDER_OTHER;
+        };
+    }
+}
@@ -0,0 +1,214 @@
+package com.shaurya.hospitalManagement.service;
+
+import com.shaurya.hospitalManagement.dto.PatientResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Two level cache for patient profiles: a small local near-cache in front of Redis.
+ * Entries are dropped on every patient or insurance change; the drop is broadcast over Redis pub/sub
+ * so the near-caches of the other instances follow. The near-cache TTL bounds staleness if a message is lost.
+ * A drop overwrites the Redis entry with a tombstone unique to that drop, and a miss only writes the profile it loaded
+ * if the key still holds what it read before the load, so a drop racing the load on any instance wins.
+ */
+@Component
+@Slf4j
+public class PatientProfileCache implements MessageListener {
+
+    static final String KEY_PREFIX = "cache:patient:profile:";
+    public static final String INVALIDATION_CHANNEL = "cache:patient:profile:invalidate";
+    // profiles are JSON objects, so this prefix can never start one
+    static final String TOMBSTONE_PREFIX = "dropped:";
+
+    // single key, so it runs on any topology; ARGV: value read before the load ("" if none), profile json, ttl in ms
+    private static final RedisScript<Long> WRITE_IF_UNCHANGED = new DefaultRedisScript<>("""
+            if (redis.call('get', KEYS[1]) or '') ~= ARGV[1] then return 0 end
+            redis.call('set', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1""", Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final JsonMapper jsonMapper;
+    private final Duration redisTtl;
+    private final long nearCacheTtlMillis;
+    private final int nearCacheMaxEntries;
+
+    private final Map<Long, NearEntry> nearCache = new ConcurrentHashMap<>();
+
+    public PatientProfileCache(
+            RedisTemplate<String, String> redisTemplate,
+            JsonMapper jsonMapper,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${patient.profile-cache.redis-ttl-ms:600000}") long redisTtlMillis,
+            @Value("${patient.profile-cache.near-ttl-ms:30000}") long nearCacheTtlMillis,
+            @Value("${patient.profile-cache.near-max-entries:10000}") int nearCacheMaxEntries
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.jsonMapper = jsonMapper;
+        this.redisTtl = Duration.ofMillis(redisTtlMillis);
+        this.nearCacheTtlMillis = nearCacheTtlMillis;
+        this.nearCacheMaxEntries = nearCacheMaxEntries;
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    public record Entry(PatientResponseDto profile, String eTag) {
+    }
+
+    private record NearEntry(Entry entry, long expiresAt) {
+    }
+
+    // what the Redis key held: raw is "" when it was empty, entry is null unless it held a readable profile
+    private record Slot(String raw, Entry entry) {
+    }
+
+    public Entry get(Long patientId, Supplier<PatientResponseDto> loader) {
+        NearEntry near = nearCache.get(patientId);
+        if (near != null && near.expiresAt() > System.currentTimeMillis()) {
+            return near.entry();
+        }
+
+        Slot slot = readFromRedis(patientId);
+        if (slot != null && slot.entry() != null) {
+            putNear(patientId, slot.entry());
+            return slot.entry();
+        }
+
+        Entry entry = toEntry(loader.get());
+        // a refused write means the profile was dropped while it loaded, so it is not kept locally either
+        if (slot == null || writeToRedis(patientId, slot.raw(), entry)) {
+            putNear(patientId, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Drops the profile everywhere. Inside a transaction this waits for the commit,
+     * otherwise a concurrent read could cache the old row again before the change is visible.
+     */
+    public void evict(Long patientId) {
+        evictAll(List.of(patientId));
+    }
+
+    public void evictAll(Collection<Long> patientIds) {
+        if (patientIds.isEmpty()) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(patientIds);
+                }
+            });
+        } else {
+            evictNow(patientIds);
+        }
+    }
+
+    // message body is a comma separated list of patient ids
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        for (String id : new String(message.getBody(), StandardCharsets.UTF_8).split(",")) {
+            try {
+                nearCache.remove(Long.valueOf(id.trim()));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed patient profile invalidation entry: {}", id);
+            }
+        }
+    }
+
+    private void evictNow(Collection<Long> patientIds) {
+        patientIds.forEach(nearCache::remove);
+        try {
+            byte[] tombstone = (TOMBSTONE_PREFIX + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long id : patientIds) {
+                    connection.stringCommands().set((KEY_PREFIX + id).getBytes(StandardCharsets.UTF_8), tombstone,
+                            Expiration.from(redisTtl), RedisStringCommands.SetOption.upsert());
+                }
+                return null;
+            });
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL,
+                    patientIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        } catch (Exception e) {
+            log.warn("Could not invalidate {} cached patient profiles in Redis: {}", patientIds.size(), e.getMessage());
+        }
+    }
+
+    // null when Redis is unavailable
+    private Slot readFromRedis(Long patientId) {
+        String raw;
+        try {
+            raw = redisTemplate.opsForValue().get(KEY_PREFIX + patientId);
+        } catch (Exception e) {
+            // the cache is an optimisation, a Redis outage must not take the profile endpoint down
+            log.debug("Patient profile cache read failed for {}: {}", patientId, e.getMessage());
+            return null;
+        }
+        if (raw == null) return new Slot("", null);
+        if (raw.startsWith(TOMBSTONE_PREFIX)) return new Slot(raw, null);
+        try {
+            return new Slot(raw, new Entry(jsonMapper.readValue(raw, PatientResponseDto.class), eTagOf(raw)));
+        } catch (Exception e) {
+            // e.g. written by an older DTO, the load below replaces it
+            log.debug("Unreadable cached patient profile for {}: {}", patientId, e.getMessage());
+            return new Slot(raw, null);
+        }
+    }
+
+    // false only when the key changed since it was read, i.e. the profile was dropped during the load
+    private boolean writeToRedis(Long patientId, String expected, Entry entry) {
+        try {
+            Long written = redisTemplate.execute(WRITE_IF_UNCHANGED, List.of(KEY_PREFIX + patientId),
+                    expected, jsonMapper.writeValueAsString(entry.profile()), String.valueOf(redisTtl.toMillis()));
+            return !Long.valueOf(0).equals(written);
+        } catch (Exception e) {
+            log.debug("Patient profile cache write failed for {}: {}", patientId, e.getMessage());
+            return true;
+        }
+    }
+
+    private void putNear(Long patientId, Entry entry) {
+        if (nearCache.size() >= nearCacheMaxEntries) {
+            long now = System.currentTimeMillis();
+            nearCache.values().removeIf(near -> near.expiresAt() <= now);
+            if (nearCache.size() >= nearCacheMaxEntries) nearCache.clear();
+        }
+        nearCache.put(patientId, new NearEntry(entry, System.currentTimeMillis() + nearCacheTtlMillis));
+    }
+
+    private Entry toEntry(PatientResponseDto profile) {
+        try {
+            return new Entry(profile, eTagOf(jsonMapper.writeValueAsString(profile)));
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not serialize patient profile", e);
+        }
+    }
+
+    // content hash, so every instance hands out the same ETag for the same profile
+    private static String eTagOf(String json) {
+        return "\"" + DigestUtils.md5DigestAsHex(json.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -1,36 +1,83 @@
 package com.shaurya.hospitalManagement.service;
 
+import com.shaurya.hospitalManagement.config.ReplicaRoutingDataSource;
 import com.shaurya.hospitalManagement.dto.PatientResponseDto;
 import com.shaurya.hospitalManagement.entity.Patient;
+import com.shaurya.hospitalManagement.error.BadRequestException;
+import com.shaurya.hospitalManagement.mapper.PatientMapper;
 import com.shaurya.hospitalManagement.repository.PatientRepository;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
-@RequiredArgsConstructor
 public class PatientService {
 
+    // the PatientResponseDto properties, each one a Patient attribute of the same name
+    private static final List<String> FIELDS = List.of("id", "name", "gender", "birthDate", "bloodGroup");
+    // the list reads on the interactive pool next to bookings, a page this size holds a connection for milliseconds
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final PatientRepository patientRepository;
-    private final ModelMapper modelMapper;
+    private final PatientMapper patientMapper;
+    private final PatientProfileCache patientProfileCache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public PatientService(
+            PatientRepository patientRepository,
+            PatientMapper patientMapper,
+            PatientProfileCache patientProfileCache,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.patientRepository = patientRepository;
+        this.patientMapper = patientMapper;
+        this.patientProfileCache = patientProfileCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public PatientResponseDto getPatientById(Long patientId) {
         Patient patient = patientRepository.findById(patientId).orElseThrow(() -> new EntityNotFoundException("Patient Not " +
                 "Found with id: " + patientId));
-        return modelMapper.map(patient, PatientResponseDto.class);
+        return patientMapper.toResponseDto(patient);
+    }
+
+    public PatientProfileCache.Entry getPatientProfile(Long patientId) {
+        // a call to this.getPatientById skips the @Transactional proxy, the template keeps the load read-only and
+        // cache hits never open a transaction. The fill reads the primary: a lagging replica can still hold the row
+        // from before an eviction, and the cache would keep it for the whole Redis TTL
+        return patientProfileCache.get(patientId, () -> ReplicaRoutingDataSource.onPrimary(() ->
+                readOnlyTransaction.execute(status -> getPatientById(patientId))));
     }
 
+    @Transactional(readOnly = true)
     public List<PatientResponseDto> getAllPatients(Integer pageNumber, Integer pageSize) {
-        return patientRepository.findAllPatients(PageRequest.of(pageNumber, pageSize))
-                .stream()
-                .map(patient -> modelMapper.map(patient, PatientResponseDto.class))
-                .collect(Collectors.toList());
+        return patientMapper.toResponseDtos(patientRepository.findAllPatients(pageRequest(pageNumber, pageSize)).getContent());
+    }
+
+    /**
+     * Same page as getAllPatients with only the requested fields, read straight from their columns.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllPatients(Integer pageNumber, Integer pageSize, String fields) {
+        return patientRepository.findFields(Patient.class, SparseFields.parse(fields, FIELDS), null,
+                pageRequest(pageNumber, pageSize));
+    }
+
+    private static PageRequest pageRequest(Integer pageNumber, Integer pageSize) {
+        if (pageNumber < 0) {
+            throw new BadRequestException("page must not be negative");
+        }
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return PageRequest.of(pageNumber, pageSize);
     }
 }
\ No newline at end of file
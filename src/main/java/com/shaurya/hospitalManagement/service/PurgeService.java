@@ -0,0 +1,177 @@
+package com.shaurya.hospitalManagement.service;
+
+import com.shaurya.hospitalManagement.dto.PurgeJobResponseDto;
+import com.shaurya.hospitalManagement.entity.Insurance;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deletes patients and old appointments with set-based SQL instead of the JPA cascade on Patient.appointments,
+ * which loads every appointment and removes them one by one. Dependent rows go in chunks of chunk-size,
+ * each chunk in its own short transaction, so locks are held briefly and a failure keeps the finished chunks.
+ * Purges run in the background; their progress is kept in memory for job-retention-ms after they finish.
+ */
+@Service
+@Slf4j
+public class PurgeService {
+
+    // limited subquery, postgres has no DELETE ... LIMIT
+    private static final String DELETE_PATIENT_APPOINTMENTS_CHUNK = "delete from appointment where id in " +
+            "(select id from appointment where patient_id = ? limit ?)";
+    private static final String DELETE_APPOINTMENTS_BEFORE_CHUNK = "delete from appointment where id in " +
+            "(select id from appointment where appointment_time < ? limit ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final PatientProfileCache patientProfileCache;
+    private final SecondLevelCacheInvalidator secondLevelCacheInvalidator;
+    private final int chunkSize;
+    private final Duration jobRetention;
+
+    private final Map<String, PurgeJob> jobs = new ConcurrentHashMap<>();
+
+    public PurgeService(
+            @Qualifier("batchJdbcTemplate") JdbcTemplate jdbcTemplate,
+            @Qualifier("batchTransactionManager") PlatformTransactionManager transactionManager,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            PatientProfileCache patientProfileCache,
+            SecondLevelCacheInvalidator secondLevelCacheInvalidator,
+            @Value("${purge.chunk-size:5000}") int chunkSize,
+            @Value("${purge.job-retention-ms:3600000}") long jobRetentionMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.patientProfileCache = patientProfileCache;
+        this.secondLevelCacheInvalidator = secondLevelCacheInvalidator;
+        this.chunkSize = chunkSize;
+        this.jobRetention = Duration.ofMillis(jobRetentionMillis);
+    }
+
+    /**
+     * Removes the patient, their appointments and their insurance. The login account is kept, the same as
+     * deleting the Patient entity through JPA.
+     */
+    @PreAuthorize("hasAuthority('user:manage')")
+    public PurgeJobResponseDto deletePatient(Long patientId) {
+        List<Long> appointments = jdbcTemplate.queryForList(
+                "select (select count(*) from appointment where patient_id = ?) from patient where id = ?",
+                Long.class, patientId, patientId);
+        if (appointments.isEmpty()) {
+            throw new EntityNotFoundException("Patient not found with id: " + patientId);
+        }
+
+        PurgeJob job = startJob("Delete patient " + patientId, appointments.getFirst() + 1);
+        taskExecutor.execute(() -> run(job, () -> {
+            deleteInChunks(job, DELETE_PATIENT_APPOINTMENTS_CHUNK, patientId);
+            transactionTemplate.executeWithoutResult(status -> deletePatientRow(patientId, job));
+            patientProfileCache.evict(patientId);
+        }));
+        return job.toResponse();
+    }
+
+    @PreAuthorize("hasAuthority('user:manage')")
+    public PurgeJobResponseDto purgeAppointmentsBefore(LocalDateTime before) {
+        Long appointments = jdbcTemplate.queryForObject(
+                "select count(*) from appointment where appointment_time < ?", Long.class, before);
+
+        PurgeJob job = startJob("Delete appointments before " + before, appointments != null ? appointments : 0);
+        taskExecutor.execute(() -> run(job, () -> deleteInChunks(job, DELETE_APPOINTMENTS_BEFORE_CHUNK, before)));
+        return job.toResponse();
+    }
+
+    @PreAuthorize("hasAuthority('user:manage')")
+    public PurgeJobResponseDto getJob(String jobId) {
+        PurgeJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new EntityNotFoundException("Purge job not found with id: " + jobId);
+        }
+        return job.toResponse();
+    }
+
+    private void deleteInChunks(PurgeJob job, String sql, Object key) {
+        int deleted;
+        do {
+            Integer count = transactionTemplate.execute(status -> jdbcTemplate.update(sql, key, chunkSize));
+            deleted = count != null ? count : 0;
+            job.deletedRows += deleted;
+        } while (deleted == chunkSize);
+    }
+
+    private void deletePatientRow(Long patientId, PurgeJob job) {
+        // insurance is owned by the patient row, so it can only go after the patient
+        List<Long> insuranceIds = jdbcTemplate.queryForList(
+                "select patient_insurance_id from patient where id = ?", Long.class, patientId);
+        // appointments booked after the chunked pass started
+        job.deletedRows += jdbcTemplate.update("delete from appointment where patient_id = ?", patientId);
+        jdbcTemplate.update("delete from patient_merge_candidate where patient_id = ? or duplicate_patient_id = ?",
+                patientId, patientId);
+        job.deletedRows += jdbcTemplate.update("delete from patient where id = ?", patientId);
+        if (!insuranceIds.isEmpty() && insuranceIds.getFirst() != null) {
+            jdbcTemplate.update("delete from insurance where id = ?", insuranceIds.getFirst());
+            // plain SQL bypasses Hibernate, so the cached insurance has to be dropped by hand
+            secondLevelCacheInvalidator.evictEntity(Insurance.class, insuranceIds.getFirst());
+        }
+    }
+
+    private PurgeJob startJob(String description, long totalRows) {
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(expiredBefore));
+
+        PurgeJob job = new PurgeJob(UUID.randomUUID().toString(), description, totalRows);
+        jobs.put(job.id, job);
+        return job;
+    }
+
+    private void run(PurgeJob job, Runnable work) {
+        try {
+            work.run();
+            job.finishedAt = LocalDateTime.now();
+            job.status = PurgeJobResponseDto.Status.COMPLETED;
+            log.info("{} finished: {} rows deleted", job.description, job.deletedRows);
+        } catch (Exception e) {
+            job.error = e.getMessage();
+            job.finishedAt = LocalDateTime.now();
+            job.status = PurgeJobResponseDto.Status.FAILED;
+            log.error("{} failed after {} rows: {}", job.description, job.deletedRows, e.getMessage());
+        }
+    }
+
+    // written by the single worker thread, read by status requests
+    private static final class PurgeJob {
+        private final String id;
+        private final String description;
+        private final long totalRows;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile long deletedRows;
+        private volatile PurgeJobResponseDto.Status status = PurgeJobResponseDto.Status.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private PurgeJob(String id, String description, long totalRows) {
+            this.id = id;
+            this.description = description;
+            this.totalRows = totalRows;
+        }
+
+        private PurgeJobResponseDto toResponse() {
+            return new PurgeJobResponseDto(id, description, status, totalRows, deletedRows, startedAt, finishedAt, error);
+        }
+    }
+}
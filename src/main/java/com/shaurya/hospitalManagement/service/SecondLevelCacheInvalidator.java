@@ -0,0 +1,169 @@
+package com.shaurya.hospitalManagement.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Keeps the local Hibernate second-level caches of all instances in step. Each instance caches in its own heap,
+ * so a change committed here is broadcast over Redis pub/sub and the other instances evict the entry; the region
+ * TTLs in ehcache.xml bound staleness if a message is lost. Writes that bypass Hibernate (JdbcTemplate) must call
+ * evictEntity themselves.
+ */
+@Component
+@Slf4j
+public class SecondLevelCacheInvalidator implements MessageListener,
+        PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    public static final String INVALIDATION_CHANNEL = "cache:l2:invalidate";
+
+    private static final String ENTITY = "E";
+    private static final String COLLECTION = "C";
+
+    // this instance's cache is already current after its own commit, so it skips its own messages
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public SecondLevelCacheInvalidator(
+            EntityManagerFactory entityManagerFactory,
+            RedisTemplate<String, String> redisTemplate,
+            RedisMessageListenerContainer listenerContainer
+    ) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.redisTemplate = redisTemplate;
+
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * For rows changed with plain SQL. Evicts locally and on the other instances after commit.
+     */
+    public void evictEntity(Class<?> entityClass, Object id) {
+        String entityName = entityClass.getName();
+        afterCommit(() -> {
+            sessionFactory.getCache().evictEntityData(entityName, id);
+            publish(ENTITY, entityName, id);
+        });
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        entityChanged(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        entityChanged(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        collectionChanged(event);
+    }
+
+    // the broadcast is registered at flush and sent after commit, no post commit listener needed
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // message body is "<instance> <E|C> <entity name or collection role> <id>"
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(" ");
+        if (parts.length != 4) {
+            log.warn("Ignoring malformed second-level cache invalidation message");
+            return;
+        }
+        if (instanceId.equals(parts[0])) return;
+        try {
+            Long id = Long.valueOf(parts[3]);
+            if (ENTITY.equals(parts[1])) {
+                sessionFactory.getCache().evictEntityData(parts[2], id);
+            } else if (COLLECTION.equals(parts[1])) {
+                sessionFactory.getCache().evictCollectionData(parts[2], id);
+            }
+        } catch (Exception e) {
+            log.warn("Could not apply second-level cache invalidation for {}: {}", parts[2], e.getMessage());
+        }
+    }
+
+    private void entityChanged(EntityPersister persister, Object id) {
+        if (!persister.canWriteToCache() || id == null) return;
+        String entityName = persister.getEntityName();
+        afterCommit(() -> publish(ENTITY, entityName, id));
+    }
+
+    private void collectionChanged(AbstractCollectionEvent event) {
+        String role = event.getCollection().getRole();
+        Object ownerId = event.getAffectedOwnerIdOrNull();
+        if (role == null || ownerId == null) return;
+        if (!sessionFactory.getMappingMetamodel().getCollectionDescriptor(role).hasCache()) return;
+        afterCommit(() -> publish(COLLECTION, role, ownerId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void publish(String kind, String name, Object id) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, instanceId + " " + kind + " " + name + " " + id);
+        } catch (Exception e) {
+            log.warn("Could not broadcast second-level cache invalidation for {}: {}", name, e.getMessage());
+        }
+    }
+}
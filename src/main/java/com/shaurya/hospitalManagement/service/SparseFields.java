@@ -0,0 +1,35 @@
+package com.shaurya.hospitalManagement.service;
+
+import com.shaurya.hospitalManagement.error.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the {@code fields} query parameter, a comma separated list of response properties.
+ */
+final class SparseFields {
+
+    private SparseFields() {
+    }
+
+    /**
+     * The requested properties in request order without duplicates. Each one must be in {@code allowed}, which
+     * names response properties that are also entity attributes.
+     */
+    static List<String> parse(String fields, List<String> allowed) {
+        List<String> parsed = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty() || parsed.contains(name)) continue;
+            if (!allowed.contains(name)) {
+                throw new BadRequestException("Unknown field: " + name + ", allowed fields are " + String.join(",", allowed));
+            }
+            parsed.add(name);
+        }
+        if (parsed.isEmpty()) {
+            throw new BadRequestException("fields must name at least one of " + String.join(",", allowed));
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,145 @@
+package com.shaurya.hospitalManagement.service;
+
+import com.shaurya.hospitalManagement.dto.PinnedSectionResponseDto;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier, in practice a blocking call inside a synchronized
+ * section. Listens to the JFR jdk.VirtualThreadPinned event while spring.threads.virtual.enabled is on and groups
+ * the events by the innermost frame of the JDBC driver, the Hikari pool, Lettuce or this application, so a driver
+ * or a cache that still blocks under a monitor shows up by name. Counted per instance since startup.
+ */
+@Service
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    // the innermost frame in one of these packages names the section, a driver frame sits below the code calling it
+    private static final String[][] SOURCES = {
+            {"org.postgresql.", "JDBC"},
+            {"org.h2.", "JDBC"},
+            {"com.zaxxer.hikari.", "JDBC pool"},
+            {"io.lettuce.", "Lettuce"},
+            {"org.springframework.data.redis.", "Lettuce"},
+            {"com.shaurya.hospitalManagement.", "application"},
+    };
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final Map<String, Section> sections = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean enabled,
+            @Value("${threads.pinning.threshold-ms:20}") long thresholdMillis
+    ) {
+        this.enabled = enabled;
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for more than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) stream.close();
+    }
+
+    /**
+     * Adds one pinned interval. The stack is innermost frame first, as JFR and Throwable report it.
+     */
+    public void record(List<StackTraceElement> stack, Duration duration) {
+        String source = "other";
+        StackTraceElement frame = stack.isEmpty() ? null : stack.getFirst();
+        search:
+        for (StackTraceElement element : stack) {
+            for (String[] candidate : SOURCES) {
+                if (element.getClassName().startsWith(candidate[0])) {
+                    source = candidate[1];
+                    frame = element;
+                    break search;
+                }
+            }
+        }
+        String sourceName = source;
+        String frameName = frame == null ? "unknown"
+                : frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+
+        Section section = sections.computeIfAbsent(sourceName + " " + frameName, key -> new Section(sourceName, frameName));
+        if (section.add(duration.toMillis()) == 1) {
+            log.warn("Virtual thread pinned for {} ms in {} ({})", duration.toMillis(), frameName, sourceName);
+        }
+    }
+
+    @PreAuthorize("hasAuthority('report:view')")
+    public List<PinnedSectionResponseDto> getPinnedSections() {
+        List<PinnedSectionResponseDto> result = new ArrayList<>();
+        sections.values().forEach(section -> result.add(section.toResponse()));
+        result.sort(Comparator.comparingLong(PinnedSectionResponseDto::getTotalMillis).reversed());
+        return result;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<StackTraceElement> stack = new ArrayList<>();
+        if (stackTrace != null) {
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                if (!frame.isJavaFrame()) continue;
+                stack.add(new StackTraceElement(frame.getMethod().getType().getName(), frame.getMethod().getName(),
+                        null, frame.getLineNumber()));
+            }
+        }
+        record(stack, event.getDuration());
+    }
+
+    private static final class Section {
+        private final String source;
+        private final String frame;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+
+        Section(String source, String frame) {
+            this.source = source;
+            this.frame = frame;
+        }
+
+        long add(long millis) {
+            totalMillis.addAndGet(millis);
+            maxMillis.accumulate(millis);
+            return count.incrementAndGet();
+        }
+
+        PinnedSectionResponseDto toResponse() {
+            return new PinnedSectionResponseDto(source, frame, count.get(), totalMillis.get(), maxMillis.get());
+        }
+    }
+}
@@ -0,0 +1,5 @@
+-- Indexes JPA cannot declare, applied at startup by SchemaIndexInitializer.
+-- Every statement must be idempotent.
+
+-- doctor directory name prefix search: lower(name) like 'abc%'
+CREATE INDEX IF NOT EXISTS idx_doctor_lower_name ON doctor (lower(name) text_pattern_ops);
@@ -0,0 +1,88 @@
+-- Schema as Hibernate's ddl-auto created it. Databases that were created that way are baselined at
+-- version 1 (baselineOnMigrate) and start from V2.
+
+create table app_user (
+    id            bigint generated by default as identity primary key,
+    username      varchar(255) not null unique,
+    password      varchar(255),
+    provider_id   varchar(255),
+    provider_type varchar(255) check (provider_type in ('GOOGLE', 'GITHUB', 'EMAIL'))
+);
+create index idx_provider_id_provider_type on app_user (provider_id, provider_type);
+
+create table app_user_roles (
+    user_id bigint not null references app_user,
+    roles   varchar(255) check (roles in ('ADMIN', 'DOCTOR', 'PATIENT'))
+);
+
+create table insurance (
+    id            bigint generated by default as identity primary key,
+    policy_number varchar(50)  not null unique,
+    provider      varchar(100) not null,
+    valid_until   date         not null,
+    created_at    timestamp(6) not null
+);
+
+create table patient (
+    id                   bigint primary key references app_user,
+    name                 varchar(40)  not null,
+    birth_date           date,
+    email                varchar(255) not null unique,
+    gender               varchar(255),
+    created_at           timestamp(6),
+    blood_group          varchar(255) check (blood_group in ('A_POSITIVE', 'A_NEGATIVE', 'B_POSITIVE', 'B_NEGATIVE',
+                                                             'AB_POSITIVE', 'AB_NEGATIVE', 'O_POSITIVE', 'O_NEGATIVE')),
+    patient_insurance_id bigint unique references insurance
+);
+create index idx_patient_birth_date on patient (birth_date);
+
+create table doctor (
+    id             bigint primary key references app_user,
+    name           varchar(100) not null,
+    specialization varchar(100),
+    email          varchar(100) not null unique
+);
+create index idx_doctor_specialization on doctor (specialization, id);
+
+create table department (
+    id             bigint generated by default as identity primary key,
+    name           varchar(100) not null unique,
+    head_doctor_id bigint unique references doctor
+);
+
+create table my_dpt_doctors (
+    dpt_id    bigint not null references department,
+    doctor_id bigint not null references doctor,
+    primary key (dpt_id, doctor_id)
+);
+
+create table appointment (
+    id               bigint generated by default as identity primary key,
+    appointment_time timestamp(6) not null,
+    reason           varchar(500),
+    patient_id       bigint       not null references patient,
+    doctor_id        bigint       not null references doctor
+);
+create index idx_appointment_patient_id on appointment (patient_id);
+create index idx_appointment_time on appointment (appointment_time);
+create index idx_appointment_doctor_time on appointment (doctor_id, appointment_time);
+
+create table doctor_daily_workload (
+    doctor_id         bigint  not null,
+    work_date         date    not null,
+    appointment_count integer not null,
+    primary key (doctor_id, work_date)
+);
+create index idx_doctor_daily_workload_date on doctor_daily_workload (work_date, doctor_id);
+
+create table patient_merge_candidate (
+    id                   bigint generated by default as identity primary key,
+    patient_id           bigint       not null,
+    duplicate_patient_id bigint       not null,
+    score                float(53)    not null,
+    reasons              varchar(100),
+    detected_at          timestamp(6) not null
+);
+create index idx_merge_candidate_score on patient_merge_candidate (score);
+create index idx_merge_candidate_patient_id on patient_merge_candidate (patient_id);
+create index idx_merge_candidate_duplicate_patient_id on patient_merge_candidate (duplicate_patient_id);
@@ -0,0 +1,4 @@
+-- same index as db/indexes.sql, which SchemaIndexInitializer applies when the schema is not migrated
+
+-- doctor directory name prefix search: lower(name) like 'abc%'
+CREATE INDEX IF NOT EXISTS idx_doctor_lower_name ON doctor (lower(name) text_pattern_ops);
@@ -0,0 +1,109 @@
+package benchmark;
+
+import com.shaurya.hospitalManagement.config.JacksonConfig;
+import com.shaurya.hospitalManagement.dto.AppointmentResponseDto;
+import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
+import com.shaurya.hospitalManagement.dto.PatientResponseDto;
+import com.shaurya.hospitalManagement.entity.type.BloodGroupType;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and decodes the /admin/patients and /doctors/appointments list responses as JSON, CBOR and Smile, all
+ * with the JacksonConfig setup the message converters use. Decoding is what the internal consumers pay for, so
+ * both directions are measured. JacksonConfigTest checks that the binary payloads are the smaller ones.
+ *
+ * Run with: mvn -Pbenchmark -DskipTests test -Djmh.include=BinaryFormatBenchmark -Djmh.args="-prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryFormatBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private String format;
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private final OutputStream discard = OutputStream.nullOutputStream();
+
+    private ObjectWriter writer;
+    private ObjectReader patientReader;
+    private ObjectReader appointmentReader;
+    private List<PatientResponseDto> patients;
+    private List<AppointmentResponseDto> appointments;
+    private byte[] encodedPatients;
+    private byte[] encodedAppointments;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = switch (format) {
+            case "CBOR" -> JacksonConfig.configure(CBORMapper.builder()).build();
+            case "SMILE" -> JacksonConfig.configure(SmileMapper.builder()).build();
+            default -> JacksonConfig.configure(JsonMapper.builder()).build();
+        };
+        writer = mapper.writer();
+        patientReader = mapper.readerForListOf(PatientResponseDto.class);
+        appointmentReader = mapper.readerForListOf(AppointmentResponseDto.class);
+
+        BloodGroupType[] bloodGroups = BloodGroupType.values();
+        patients = new ArrayList<>(size);
+        appointments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            PatientResponseDto patient = new PatientResponseDto();
+            patient.setId((long) i);
+            patient.setName("Patient " + i);
+            patient.setGender(i % 2 == 0 ? "Male" : "Female");
+            patient.setBirthDate(LocalDate.of(1950, 1, 1).plusDays(i % 25_000));
+            patient.setBloodGroup(bloodGroups[i % bloodGroups.length]);
+            patients.add(patient);
+
+            // a doctor's own appointments all carry the same doctor
+            AppointmentResponseDto appointment = new AppointmentResponseDto();
+            appointment.setId((long) i);
+            appointment.setAppointmentTime(LocalDateTime.of(2026, 1, 1, 9, 0).plusMinutes(i));
+            appointment.setReason("Checkup " + i);
+            appointment.setDoctor(new DoctorResponseDto(1L, "Dr. Amit Mehta", "Cardiology", "amit.mehta@hospital.com"));
+            appointments.add(appointment);
+        }
+
+        encodedPatients = writer.writeValueAsBytes(patients);
+        encodedAppointments = writer.writeValueAsBytes(appointments);
+    }
+
+    @Benchmark
+    public void encodePatients() {
+        writer.writeValue(discard, patients);
+    }
+
+    @Benchmark
+    public List<PatientResponseDto> decodePatients() {
+        return patientReader.readValue(encodedPatients);
+    }
+
+    @Benchmark
+    public void encodeAppointments() {
+        writer.writeValue(discard, appointments);
+    }
+
+    @Benchmark
+    public List<AppointmentResponseDto> decodeAppointments() {
+        return appointmentReader.readValue(encodedAppointments);
+    }
+}
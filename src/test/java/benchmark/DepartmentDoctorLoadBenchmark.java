@@ -0,0 +1,61 @@
+package benchmark;
+
+import com.shaurya.hospitalManagement.service.DepartmentDoctorLoad;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking throughput of the auto-assign load structure under contention, against a synchronised linear scan
+ * for the least loaded doctor, i.e. what picking from the department's doctor list would cost.
+ *
+ * Run with: mvn -Pbenchmark -DskipTests test -Djmh.include=DepartmentDoctorLoadBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class DepartmentDoctorLoadBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int doctors;
+
+    private DepartmentDoctorLoad load;
+    private int[] scanLoads;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Random random = new Random(7);
+        Map<Long, Integer> initial = new HashMap<>();
+        scanLoads = new int[doctors];
+        for (int i = 0; i < doctors; i++) {
+            int upcoming = random.nextInt(50);
+            initial.put((long) i, upcoming);
+            scanLoads[i] = upcoming;
+        }
+        load = new DepartmentDoctorLoad(initial);
+    }
+
+    @Benchmark
+    public long skipList() {
+        return load.acquire();
+    }
+
+    @Benchmark
+    public long linearScan() {
+        synchronized (scanLoads) {
+            int least = 0;
+            for (int i = 1; i < scanLoads.length; i++) {
+                if (scanLoads[i] < scanLoads[least]) least = i;
+            }
+            scanLoads[least]++;
+            return least;
+        }
+    }
+}
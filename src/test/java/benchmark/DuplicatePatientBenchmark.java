@@ -0,0 +1,67 @@
+package benchmark;
+
+import com.shaurya.hospitalManagement.service.DuplicatePatientDetector;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full duplicate detection run (blocking key sort, parallel scoring, de-duplication) over a synthetic population
+ * drawn from a few thousand first and last names, with one planted duplicate per thousand patients.
+ *
+ * Run with: mvn -Pbenchmark -DskipTests test -Djmh.include=DuplicatePatientBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = "-Xmx8g")
+@State(Scope.Benchmark)
+public class DuplicatePatientBenchmark {
+
+    private static final String[] DOMAINS = {"gmail.com", "yahoo.com", "outlook.com", "hospital.org"};
+
+    @Param({"1000000", "5000000"})
+    private int patients;
+
+    private DuplicatePatientDetector detector;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        String[] firstNames = words(random, 2_000, 5);
+        String[] lastNames = words(random, 5_000, 7);
+
+        DuplicatePatientDetector.Builder builder = DuplicatePatientDetector.builder(patients);
+        for (int i = 0; i < patients; i++) {
+            String first = firstNames[random.nextInt(firstNames.length)];
+            String last = lastNames[random.nextInt(lastNames.length)];
+            LocalDate birthDate = LocalDate.of(1930, 1, 1).plusDays(random.nextInt(95 * 365));
+            if (i % 1000 == 999) {
+                // same person signing up again with another provider
+                builder.add(i, last + " " + first, first + last + "@" + DOMAINS[0], birthDate);
+            } else {
+                builder.add(i, first + " " + last, first + "." + last + i + "@" + DOMAINS[random.nextInt(DOMAINS.length)],
+                        birthDate);
+            }
+        }
+        detector = builder.build();
+    }
+
+    @Benchmark
+    public DuplicatePatientDetector.Result detect() {
+        return detector.detect(0.8, 500);
+    }
+
+    private static String[] words(Random random, int count, int length) {
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            StringBuilder word = new StringBuilder(length);
+            for (int j = 0; j < length; j++) word.append((char) ('a' + random.nextInt(26)));
+            words[i] = word.toString();
+        }
+        return words;
+    }
+}
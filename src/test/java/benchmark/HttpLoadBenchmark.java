@@ -0,0 +1,83 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test against a running instance, e.g. to compare the platform thread pool with the virtual-threads profile.
+ * Start the app once without and once with --spring.profiles.active=virtual-threads and run the same command
+ * against each; throughput is reported per second and the sample mode reports the p99 latency. The default
+ * endpoint queries Postgres on every call, the JMH thread count is the number of concurrent clients and should
+ * be well above Tomcat's 200 worker threads.
+ *
+ * Run with: mvn -Pbenchmark -DskipTests test -Djmh.include=HttpLoadBenchmark -Djmh.args="-t 1000 -p token=YOUR_JWT_TOKEN"
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+@Threads(1000)
+@State(Scope.Benchmark)
+public class HttpLoadBenchmark {
+
+    @Param({"http://localhost:8080/public/doctors?specialization=Cardiology&size=20"})
+    private String url;
+
+    // bearer token for protected endpoints such as /admin/patients, empty for public ones
+    @Param({""})
+    private String token;
+
+    // JSON body, sent as a POST when set, e.g. the credentials for /auth/login
+    @Param({""})
+    private String body;
+
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        // the client must not be the bottleneck, each connection waits on its own virtual thread
+        client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30));
+        if (body.isEmpty()) {
+            builder.GET();
+        } else {
+            builder.POST(HttpRequest.BodyPublishers.ofString(body)).header("Content-Type", "application/json");
+        }
+        if (!token.isEmpty()) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        request = builder.build();
+
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException(url + " answered " + status + ", is the app running?");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public int request() throws IOException, InterruptedException {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException(url + " answered " + status);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,106 @@
+package benchmark;
+
+import com.shaurya.hospitalManagement.config.JacksonConfig;
+import com.shaurya.hospitalManagement.dto.AppointmentResponseDto;
+import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
+import com.shaurya.hospitalManagement.dto.PatientResponseDto;
+import com.shaurya.hospitalManagement.entity.type.BloodGroupType;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialises the list responses with the mapper as tuned by JacksonConfig against a plain JsonMapper with
+ * Jackson's own date/time handling. Both write into a discarding stream, like a converter writing to the response,
+ * so the numbers cover serialisation only and not building a String or byte[].
+ *
+ * Run with: mvn -Pbenchmark -DskipTests test -Djmh.include=JsonSerializationBenchmark -Djmh.args="-prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private final OutputStream discard = OutputStream.nullOutputStream();
+
+    private ObjectWriter plain;
+    private ObjectWriter tuned;
+    private List<PatientResponseDto> patients;
+    private List<AppointmentResponseDto> appointments;
+    private List<DoctorResponseDto> doctors;
+
+    @Setup
+    public void setUp() {
+        plain = JsonMapper.builder().build().writer();
+        tuned = JacksonConfig.configure(JsonMapper.builder()).build().writer();
+
+        BloodGroupType[] bloodGroups = BloodGroupType.values();
+        patients = new ArrayList<>(size);
+        appointments = new ArrayList<>(size);
+        doctors = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            DoctorResponseDto doctor = new DoctorResponseDto((long) i, "Dr. Doctor " + i,
+                    i % 2 == 0 ? "Cardiology" : "Neurology", "doctor" + i + "@hospital.com");
+            doctors.add(doctor);
+
+            PatientResponseDto patient = new PatientResponseDto();
+            patient.setId((long) i);
+            patient.setName("Patient " + i);
+            patient.setGender(i % 2 == 0 ? "Male" : "Female");
+            patient.setBirthDate(LocalDate.of(1950, 1, 1).plusDays(i % 25_000));
+            patient.setBloodGroup(bloodGroups[i % bloodGroups.length]);
+            patients.add(patient);
+
+            AppointmentResponseDto appointment = new AppointmentResponseDto();
+            appointment.setId((long) i);
+            appointment.setAppointmentTime(LocalDateTime.of(2026, 1, 1, 9, 0).plusMinutes(i));
+            appointment.setReason("Checkup " + i);
+            appointment.setDoctor(doctor);
+            appointments.add(appointment);
+        }
+    }
+
+    @Benchmark
+    public void patientsPlain() throws IOException {
+        plain.writeValue(discard, patients);
+    }
+
+    @Benchmark
+    public void patientsTuned() throws IOException {
+        tuned.writeValue(discard, patients);
+    }
+
+    @Benchmark
+    public void appointmentsPlain() throws IOException {
+        plain.writeValue(discard, appointments);
+    }
+
+    @Benchmark
+    public void appointmentsTuned() throws IOException {
+        tuned.writeValue(discard, appointments);
+    }
+
+    @Benchmark
+    public void doctorsPlain() throws IOException {
+        plain.writeValue(discard, doctors);
+    }
+
+    @Benchmark
+    public void doctorsTuned() throws IOException {
+        tuned.writeValue(discard, doctors);
+    }
+}
@@ -0,0 +1,137 @@
+package benchmark;
+
+import com.shaurya.hospitalManagement.dto.AppointmentResponseDto;
+import com.shaurya.hospitalManagement.dto.PatientResponseDto;
+import com.shaurya.hospitalManagement.entity.Appointment;
+import com.shaurya.hospitalManagement.entity.Doctor;
+import com.shaurya.hospitalManagement.entity.Patient;
+import com.shaurya.hospitalManagement.entity.type.BloodGroupType;
+import com.shaurya.hospitalManagement.mapper.AppointmentMapper;
+import com.shaurya.hospitalManagement.mapper.AppointmentMapperImpl;
+import com.shaurya.hospitalManagement.mapper.DoctorMapperImpl;
+import com.shaurya.hospitalManagement.mapper.PatientMapper;
+import com.shaurya.hospitalManagement.mapper.PatientMapperImpl;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generated MapStruct mappers against the default ModelMapper the services used before, for one entity and for
+ * a 10k row list. ModelMapper is warmed up with the same types first, so its cached type maps are measured, not
+ * their creation. The gc profiler reports the allocation per operation.
+ *
+ * Run with: mvn -Pbenchmark -DskipTests test -Djmh.include=MapperBenchmark -Djmh.args="-prof gc"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private static final int LIST_SIZE = 10_000;
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final PatientMapper patientMapper = new PatientMapperImpl();
+    private final AppointmentMapper appointmentMapper = new AppointmentMapperImpl(new DoctorMapperImpl());
+
+    private Patient patient;
+    private Appointment appointment;
+    private List<Patient> patients;
+    private List<Appointment> appointments;
+
+    @Setup
+    public void setUp() {
+        BloodGroupType[] bloodGroups = BloodGroupType.values();
+        Doctor doctor = Doctor.builder()
+                .id(1L)
+                .name("Dr. Amit Mehta")
+                .specialization("Cardiology")
+                .email("amit.mehta@hospital.com")
+                .build();
+
+        patients = new ArrayList<>(LIST_SIZE);
+        appointments = new ArrayList<>(LIST_SIZE);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            Patient p = Patient.builder()
+                    .id((long) i)
+                    .name("Patient " + i)
+                    .gender(i % 2 == 0 ? "Male" : "Female")
+                    .birthDate(LocalDate.of(1950, 1, 1).plusDays(i))
+                    .bloodGroup(bloodGroups[i % bloodGroups.length])
+                    .email("patient" + i + "@mail.com")
+                    .build();
+            patients.add(p);
+            appointments.add(Appointment.builder()
+                    .id((long) i)
+                    .appointmentTime(LocalDateTime.of(2026, 1, 1, 9, 0).plusMinutes(i))
+                    .reason("Checkup " + i)
+                    .patient(p)
+                    .doctor(doctor)
+                    .build());
+        }
+        patient = patients.getFirst();
+        appointment = appointments.getFirst();
+
+        modelMapper.map(patient, PatientResponseDto.class);
+        modelMapper.map(appointment, AppointmentResponseDto.class);
+    }
+
+    @Benchmark
+    public PatientResponseDto patientModelMapper() {
+        return modelMapper.map(patient, PatientResponseDto.class);
+    }
+
+    @Benchmark
+    public PatientResponseDto patientMapStruct() {
+        return patientMapper.toResponseDto(patient);
+    }
+
+    @Benchmark
+    public AppointmentResponseDto appointmentModelMapper() {
+        return modelMapper.map(appointment, AppointmentResponseDto.class);
+    }
+
+    @Benchmark
+    public AppointmentResponseDto appointmentMapStruct() {
+        return appointmentMapper.toResponseDto(appointment);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public List<PatientResponseDto> patientListModelMapper() {
+        List<PatientResponseDto> result = new ArrayList<>(patients.size());
+        for (Patient p : patients) {
+            result.add(modelMapper.map(p, PatientResponseDto.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public List<PatientResponseDto> patientListMapStruct() {
+        return patientMapper.toResponseDtos(patients);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public List<AppointmentResponseDto> appointmentListModelMapper() {
+        List<AppointmentResponseDto> result = new ArrayList<>(appointments.size());
+        for (Appointment a : appointments) {
+            result.add(modelMapper.map(a, AppointmentResponseDto.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public List<AppointmentResponseDto> appointmentListMapStruct() {
+        return appointmentMapper.toResponseDtos(appointments);
+    }
+}
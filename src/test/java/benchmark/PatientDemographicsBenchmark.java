@@ -0,0 +1,118 @@
+package benchmark;
+
+import com.shaurya.hospitalManagement.entity.Patient;
+import com.shaurya.hospitalManagement.entity.type.BloodGroupType;
+import com.shaurya.hospitalManagement.service.PatientDemographicsSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the columnar demographics snapshot with the entity based path the reports used before,
+ * i.e. PatientRepository.findByBirthDateBetween / findByBloodGroup followed by in-memory grouping.
+ *
+ * The entity side starts from already materialised Patient objects, so it leaves out the SQL round trip,
+ * row mapping and the eager appointment fetches; the real repository path is strictly slower than this baseline.
+ *
+ * Run with: mvn -Pbenchmark -DskipTests test -Djmh.include=PatientDemographicsBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PatientDemographicsBenchmark {
+
+    private static final LocalDate AS_OF = LocalDate.of(2026, 1, 1);
+    private static final LocalDate FROM = LocalDate.of(1980, 1, 1);
+    private static final LocalDate TO = LocalDate.of(1999, 12, 31);
+    private static final int[] BANDS = {0, 18, 40, 65};
+
+    @Param({"100000", "1000000"})
+    private int patients;
+
+    private List<Patient> entities;
+    private PatientDemographicsSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        BloodGroupType[] bloodGroups = BloodGroupType.values();
+        entities = new ArrayList<>(patients);
+        PatientDemographicsSnapshot.Builder builder = PatientDemographicsSnapshot.builder(patients);
+
+        for (int i = 0; i < patients; i++) {
+            LocalDate birthDate = LocalDate.of(1930, 1, 1).plusDays(random.nextInt(95 * 365));
+            BloodGroupType bloodGroup = bloodGroups[random.nextInt(bloodGroups.length)];
+            String gender = random.nextBoolean() ? "Male" : "Female";
+
+            Patient patient = new Patient();
+            patient.setId((long) i);
+            patient.setName("Patient " + i);
+            patient.setBirthDate(birthDate);
+            patient.setBloodGroup(bloodGroup);
+            patient.setGender(gender);
+            patient.setAppointments(new ArrayList<>());
+            entities.add(patient);
+
+            builder.add(i, birthDate, bloodGroup, gender);
+        }
+        snapshot = builder.build();
+    }
+
+    @Benchmark
+    public long entities_countBornBetween() {
+        return entities.stream()
+                .filter(p -> p.getBirthDate() != null
+                        && !p.getBirthDate().isBefore(FROM)
+                        && !p.getBirthDate().isAfter(TO))
+                .count();
+    }
+
+    @Benchmark
+    public long snapshot_countBornBetween() {
+        return snapshot.countBornBetween(FROM, TO);
+    }
+
+    @Benchmark
+    public void entities_ageBandByBloodGroup(Blackhole blackhole) {
+        List<Map<BloodGroupType, Long>> bands = new ArrayList<>(BANDS.length);
+        for (int ignored : BANDS) bands.add(new EnumMap<>(BloodGroupType.class));
+
+        for (Patient patient : entities) {
+            int age = Period.between(patient.getBirthDate(), AS_OF).getYears();
+            int band = BANDS.length - 1;
+            while (band > 0 && age < BANDS[band]) band--;
+            bands.get(band).merge(patient.getBloodGroup(), 1L, Long::sum);
+        }
+        blackhole.consume(bands);
+    }
+
+    @Benchmark
+    public long[][] snapshot_ageBandByBloodGroup() {
+        return snapshot.countByAgeBandAndBloodGroup(AS_OF, BANDS);
+    }
+
+    @Benchmark
+    public void entities_countByBloodGroup(Blackhole blackhole) {
+        Map<BloodGroupType, Long> counts = new EnumMap<>(BloodGroupType.class);
+        for (Patient patient : entities) {
+            counts.merge(patient.getBloodGroup(), 1L, Long::sum);
+        }
+        blackhole.consume(counts);
+    }
+
+    @Benchmark
+    public long[] snapshot_countByBloodGroup() {
+        return snapshot.countByBloodGroup();
+    }
+}
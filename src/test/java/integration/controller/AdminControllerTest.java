@@ -1,11 +1,20 @@
 package integration.controller;
 
 import com.shaurya.hospitalManagement.controller.AdminController;
+import com.shaurya.hospitalManagement.dto.CreateDepartmentRequestDto;
+import com.shaurya.hospitalManagement.dto.DepartmentResponseDto;
 import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
+import com.shaurya.hospitalManagement.dto.DuplicateScanResponseDto;
 import com.shaurya.hospitalManagement.dto.OnBoardDoctorRequestDto;
+import com.shaurya.hospitalManagement.dto.PatientBatchUpdateResponseDto;
 import com.shaurya.hospitalManagement.dto.PatientResponseDto;
+import com.shaurya.hospitalManagement.dto.PurgeJobResponseDto;
+import com.shaurya.hospitalManagement.service.DepartmentService;
 import com.shaurya.hospitalManagement.service.DoctorService;
+import com.shaurya.hospitalManagement.service.DuplicatePatientService;
+import com.shaurya.hospitalManagement.service.PatientBatchUpdateService;
 import com.shaurya.hospitalManagement.service.PatientService;
+import com.shaurya.hospitalManagement.service.PurgeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,9 +24,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +47,18 @@ class AdminControllerTest {
     @Mock
     private DoctorService doctorService;
 
+    @Mock
+    private PatientBatchUpdateService patientBatchUpdateService;
+
+    @Mock
+    private PurgeService purgeService;
+
+    @Mock
+    private DuplicatePatientService duplicatePatientService;
+
+    @Mock
+    private DepartmentService departmentService;
+
     @InjectMocks
     private AdminController adminController;
 
@@ -136,4 +162,109 @@ class AdminControllerTest {
                         dto.getSpecialization().equals("Cardiology")
         ));
     }
-}
\ No newline at end of file
+
+    @Test
+    void batchUpdatePatients_ShouldStreamEveryLineToService() throws Exception {
+        // Arrange
+        PatientBatchUpdateResponseDto result = new PatientBatchUpdateResponseDto(2, 2, 0, new ArrayList<>());
+        when(patientBatchUpdateService.updatePatients(any())).thenAnswer(invocation -> {
+            Stream<String> lines = invocation.getArgument(0);
+            assertEquals(2, lines.count());
+            return result;
+        });
+
+        // Act
+        ResponseEntity<PatientBatchUpdateResponseDto> response = adminController.batchUpdatePatients(
+                new StringReader("{\"id\":1,\"name\":\"A\"}\n{\"id\":2,\"name\":\"B\"}\n"));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(2, response.getBody().getUpdated());
+        verify(patientBatchUpdateService, times(1)).updatePatients(any());
+    }
+
+    @Test
+    void deletePatient_ShouldReturnAcceptedJob() {
+        // Arrange
+        PurgeJobResponseDto job = new PurgeJobResponseDto("job-1", "Delete patient 1", PurgeJobResponseDto.Status.RUNNING,
+                120, 0, LocalDateTime.now(), null, null);
+        when(purgeService.deletePatient(1L)).thenReturn(job);
+
+        // Act
+        ResponseEntity<PurgeJobResponseDto> response = adminController.deletePatient(1L);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("job-1", response.getBody().getJobId());
+    }
+
+    @Test
+    void purgeAppointmentsBefore_ShouldPurgeFromStartOfDay() {
+        // Arrange
+        when(purgeService.purgeAppointmentsBefore(any())).thenReturn(new PurgeJobResponseDto());
+
+        // Act
+        ResponseEntity<PurgeJobResponseDto> response = adminController.purgeAppointmentsBefore(LocalDate.of(2020, 1, 1));
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        verify(purgeService).purgeAppointmentsBefore(LocalDateTime.of(2020, 1, 1, 0, 0));
+    }
+
+    @Test
+    void scanForDuplicatePatients_ShouldReturnAcceptedScan() {
+        // Arrange
+        DuplicateScanResponseDto scan = new DuplicateScanResponseDto();
+        scan.setStatus(DuplicateScanResponseDto.Status.RUNNING);
+        when(duplicatePatientService.startScan()).thenReturn(scan);
+
+        // Act
+        ResponseEntity<DuplicateScanResponseDto> response = adminController.scanForDuplicatePatients();
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(DuplicateScanResponseDto.Status.RUNNING, response.getBody().getStatus());
+    }
+
+    @Test
+    void getDuplicatePatientScan_ShouldReturnNotFound_WhenNoScanRan() {
+        // Arrange
+        when(duplicatePatientService.getLastScan()).thenReturn(null);
+
+        // Act
+        ResponseEntity<DuplicateScanResponseDto> response = adminController.getDuplicatePatientScan();
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void createDepartment_ShouldReturnCreatedDepartment() {
+        // Arrange
+        CreateDepartmentRequestDto request = new CreateDepartmentRequestDto("Cardiology", 1L);
+        DepartmentResponseDto department = new DepartmentResponseDto(10L, "Cardiology", doctorResponseDto, 1);
+        when(departmentService.createDepartment(request)).thenReturn(department);
+
+        // Act
+        ResponseEntity<DepartmentResponseDto> response = adminController.createDepartment(request);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertSame(department, response.getBody());
+    }
+
+    @Test
+    void addAndRemoveDepartmentDoctor_ShouldDelegateToService() {
+        // Arrange
+        DepartmentResponseDto withDoctor = new DepartmentResponseDto(10L, "Cardiology", null, 1);
+        DepartmentResponseDto withoutDoctor = new DepartmentResponseDto(10L, "Cardiology", null, 0);
+        when(departmentService.addDoctor(10L, 1L)).thenReturn(withDoctor);
+        when(departmentService.removeDoctor(10L, 1L)).thenReturn(withoutDoctor);
+
+        // Act & Assert
+        assertEquals(1, adminController.addDoctorToDepartment(10L, 1L).getBody().getDoctorCount());
+        assertEquals(0, adminController.removeDoctorFromDepartment(10L, 1L).getBody().getDoctorCount());
+    }
+}
@@ -1,7 +1,11 @@
 package integration.controller;
 
 import com.shaurya.hospitalManagement.controller.HospitalController;
+import com.shaurya.hospitalManagement.dto.DepartmentResponseDto;
+import com.shaurya.hospitalManagement.dto.DoctorPageResponseDto;
 import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
+import com.shaurya.hospitalManagement.service.DepartmentService;
+import com.shaurya.hospitalManagement.service.DoctorDirectoryCache;
 import com.shaurya.hospitalManagement.service.DoctorService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,11 +14,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
-import java.util.Arrays;
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,90 +27,125 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class HospitalControllerTest {
 
+    private static final String ETAG = "\"5d41402abc4b2a76b9719d911017c592\"";
+
+    @Mock
+    private DoctorDirectoryCache doctorDirectoryCache;
+
     @Mock
     private DoctorService doctorService;
 
+    @Mock
+    private DepartmentService departmentService;
+
     @InjectMocks
     private HospitalController hospitalController;
 
-    private DoctorResponseDto doctor1;
-    private DoctorResponseDto doctor2;
+    private DoctorDirectoryCache.Directory directory;
 
     @BeforeEach
     void setUp() {
-        doctor1 = new DoctorResponseDto();
-        doctor1.setId(1L);
-        doctor1.setName("Dr. Smith");
-        doctor1.setSpecialization("Cardiology");
-        doctor1.setEmail("dr.smith@hospital.com");
-
-        doctor2 = new DoctorResponseDto();
-        doctor2.setId(2L);
-        doctor2.setName("Dr. Johnson");
-        doctor2.setSpecialization("Neurology");
-        doctor2.setEmail("dr.johnson@hospital.com");
+        String json = "[{\"id\":1,\"name\":\"Dr. Smith\",\"specialization\":\"Cardiology\",\"email\":\"dr.smith@hospital.com\"}," +
+                "{\"id\":2,\"name\":\"Dr. Johnson\",\"specialization\":\"Neurology\",\"email\":\"dr.johnson@hospital.com\"}]";
+        directory = new DoctorDirectoryCache.Directory(json.getBytes(StandardCharsets.UTF_8), ETAG);
     }
 
     @Test
-    void getAllDoctors_ShouldReturnListOfDoctors() {
+    void getAllDoctors_ShouldReturnPrecomputedJson() {
         // Arrange
-        List<DoctorResponseDto> doctors = Arrays.asList(doctor1, doctor2);
-        when(doctorService.getAllDoctors()).thenReturn(doctors);
+        when(doctorDirectoryCache.get()).thenReturn(directory);
 
         // Act
-        ResponseEntity<List<DoctorResponseDto>> response = hospitalController.getAllDoctors();
+        ResponseEntity<?> response = hospitalController.getAllDoctors(null, null, null, null, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().size());
-        assertEquals("Dr. Smith", response.getBody().get(0).getName());
-        assertEquals("Cardiology", response.getBody().get(0).getSpecialization());
-        assertEquals("Dr. Johnson", response.getBody().get(1).getName());
-        verify(doctorService, times(1)).getAllDoctors();
+        assertSame(directory.json(), response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertEquals("max-age=60, public", response.getHeaders().getCacheControl());
+        verify(doctorDirectoryCache, times(1)).get();
     }
 
     @Test
-    void getAllDoctors_ShouldReturnEmptyList_WhenNoDoctorsExist() {
+    void getAllDoctors_ShouldReturnNotModified_WhenETagMatches() {
         // Arrange
-        when(doctorService.getAllDoctors()).thenReturn(Collections.emptyList());
+        when(doctorDirectoryCache.get()).thenReturn(directory);
 
         // Act
-        ResponseEntity<List<DoctorResponseDto>> response = hospitalController.getAllDoctors();
+        ResponseEntity<?> response = hospitalController.getAllDoctors(null, null, null, null, null, ETAG);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(ETAG, response.getHeaders().getETag());
+    }
+
+    @Test
+    void getAllDoctors_ShouldReturnNotModified_ForWeakOrWildcardMatch() {
+        // Arrange
+        when(doctorDirectoryCache.get()).thenReturn(directory);
+
+        // Act & Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, hospitalController.getAllDoctors(null, null, null, null, null, "\"old\", W/" + ETAG).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, hospitalController.getAllDoctors(null, null, null, null, null, "*").getStatusCode());
+    }
+
+    @Test
+    void getAllDoctors_ShouldReturnBody_WhenETagIsStale() {
+        // Arrange
+        when(doctorDirectoryCache.get()).thenReturn(directory);
+
+        // Act
+        ResponseEntity<?> response = hospitalController.getAllDoctors(null, null, null, null, null, "\"old\"");
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertTrue(response.getBody().isEmpty());
-        verify(doctorService, times(1)).getAllDoctors();
+        verifyNoMoreInteractions(doctorDirectoryCache);
     }
 
     @Test
-    void getAllDoctors_ShouldReturnSingleDoctor_WhenOnlyOneDoctorExists() {
+    void getAllDoctors_ShouldSearch_WhenFiltered() {
         // Arrange
-        List<DoctorResponseDto> doctors = Collections.singletonList(doctor1);
-        when(doctorService.getAllDoctors()).thenReturn(doctors);
+        DoctorResponseDto doctor = new DoctorResponseDto();
+        doctor.setId(7L);
+        DoctorPageResponseDto page = new DoctorPageResponseDto(List.of(doctor), 7L);
+        when(doctorService.searchDoctors("Cardiology", null, null, 3L, 1)).thenReturn(page);
 
         // Act
-        ResponseEntity<List<DoctorResponseDto>> response = hospitalController.getAllDoctors();
+        ResponseEntity<?> response = hospitalController.getAllDoctors("Cardiology", null, null, 3L, 1, ETAG);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertNotNull(response.getBody());
-        assertEquals(1, response.getBody().size());
-        assertEquals("Dr. Smith", response.getBody().getFirst().getName());
+        assertSame(page, response.getBody());
+        assertNull(response.getHeaders().getETag());
+        verifyNoInteractions(doctorDirectoryCache);
+    }
+
+    @Test
+    void getDepartments_ShouldReturnIndexedDepartments() {
+        // Arrange
+        List<DepartmentResponseDto> departments = List.of(new DepartmentResponseDto(1L, "Cardiology", null, 2));
+        when(departmentService.getDepartments()).thenReturn(departments);
+
+        // Act
+        ResponseEntity<List<DepartmentResponseDto>> response = hospitalController.getDepartments();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(departments, response.getBody());
     }
 
     @Test
-    void getAllDoctors_ShouldInvokeDoctorServiceOnce() {
+    void getDepartmentDoctors_ShouldReturnNotFound_ForUnknownDepartment() {
         // Arrange
-        when(doctorService.getAllDoctors()).thenReturn(Arrays.asList(doctor1, doctor2));
+        when(departmentService.getDepartmentDoctors(99L)).thenReturn(Optional.empty());
 
         // Act
-        hospitalController.getAllDoctors();
+        ResponseEntity<List<DoctorResponseDto>> response = hospitalController.getDepartmentDoctors(99L);
 
         // Assert
-        verify(doctorService, times(1)).getAllDoctors();
-        verifyNoMoreInteractions(doctorService);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
-}
\ No newline at end of file
+}
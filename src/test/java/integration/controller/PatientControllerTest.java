@@ -5,8 +5,14 @@ import com.shaurya.hospitalManagement.dto.AppointmentResponseDto;
 import com.shaurya.hospitalManagement.dto.CreateAppointmentRequestDto;
 import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
 import com.shaurya.hospitalManagement.dto.PatientResponseDto;
+import com.shaurya.hospitalManagement.entity.User;
 import com.shaurya.hospitalManagement.entity.type.BloodGroupType;
+import com.shaurya.hospitalManagement.entity.type.RoleType;
+import com.shaurya.hospitalManagement.error.BadRequestException;
+import com.shaurya.hospitalManagement.error.ConflictException;
+import com.shaurya.hospitalManagement.error.GlobalExceptionHandler;
 import com.shaurya.hospitalManagement.service.AppointmentService;
+import com.shaurya.hospitalManagement.service.PatientProfileCache;
 import com.shaurya.hospitalManagement.service.PatientService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,14 +22,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 class PatientControllerTest {
@@ -40,9 +53,18 @@ class PatientControllerTest {
     private PatientResponseDto patientResponseDto;
     private CreateAppointmentRequestDto createAppointmentRequestDto;
     private AppointmentResponseDto appointmentResponseDto;
+    private User patientUser;
+
+    private static final String ETAG = "\"0f343b0931126a20f133d67c2b018a3b\"";
 
     @BeforeEach
     void setUp() {
+        patientUser = User.builder()
+                .id(4L)
+                .username("john@example.com")
+                .roles(Set.of(RoleType.PATIENT))
+                .build();
+
         patientResponseDto = new PatientResponseDto();
         patientResponseDto.setId(4L);
         patientResponseDto.setName("John Doe");
@@ -123,13 +145,41 @@ class PatientControllerTest {
         assertThrows(EntityNotFoundException.class, () -> patientController.createNewAppointment(createAppointmentRequestDto));
     }
 
+    @Test
+    void createNewAppointment_ShouldReturnBadRequest_WithoutDoctorOrDepartment() throws Exception {
+        // Arrange
+        when(appointmentService.createNewAppointment(any(CreateAppointmentRequestDto.class)))
+                .thenThrow(new BadRequestException("Either doctorId or departmentId is required"));
+
+        // Act & Assert
+        mockMvc().perform(post("/patients/appointments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"patientId\":4,\"reason\":\"Annual checkup\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Either doctorId or departmentId is required"));
+    }
+
+    @Test
+    void createNewAppointment_ShouldReturnConflict_WhenDepartmentHasNoDoctors() throws Exception {
+        // Arrange
+        when(appointmentService.createNewAppointment(any(CreateAppointmentRequestDto.class)))
+                .thenThrow(new ConflictException("Department has no doctors to assign"));
+
+        // Act & Assert
+        mockMvc().perform(post("/patients/appointments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"patientId\":4,\"departmentId\":2,\"reason\":\"Annual checkup\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Department has no doctors to assign"));
+    }
+
     @Test
     void getPatientProfile_ShouldReturnPatientDetails() {
         // Arrange
-        when(patientService.getPatientById(4L)).thenReturn(patientResponseDto);
+        when(patientService.getPatientProfile(4L)).thenReturn(new PatientProfileCache.Entry(patientResponseDto, ETAG));
 
         // Act
-        ResponseEntity<PatientResponseDto> response = patientController.getPatientProfile();
+        ResponseEntity<PatientResponseDto> response = patientController.getPatientProfile(patientUser, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -138,28 +188,66 @@ class PatientControllerTest {
         assertEquals("John Doe", response.getBody().getName());
         assertEquals("Male", response.getBody().getGender());
         assertEquals(BloodGroupType.O_POSITIVE, response.getBody().getBloodGroup());
-        verify(patientService, times(1)).getPatientById(4L);
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+        verify(patientService, times(1)).getPatientProfile(4L);
+    }
+
+    @Test
+    void getPatientProfile_ShouldUseLoggedInPatientId() {
+        // Arrange
+        User otherUser = User.builder().id(7L).username("other@example.com").build();
+        when(patientService.getPatientProfile(anyLong())).thenReturn(new PatientProfileCache.Entry(patientResponseDto, ETAG));
+
+        // Act
+        patientController.getPatientProfile(otherUser, null);
+
+        // Assert
+        verify(patientService).getPatientProfile(7L);
+    }
+
+    @Test
+    void getPatientProfile_ShouldReturnNotModified_WhenETagMatches() {
+        // Arrange
+        when(patientService.getPatientProfile(4L)).thenReturn(new PatientProfileCache.Entry(patientResponseDto, ETAG));
+
+        // Act
+        ResponseEntity<PatientResponseDto> response =
+                patientController.getPatientProfile(patientUser, "\"stale\", W/" + ETAG);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(ETAG, response.getHeaders().getETag());
     }
 
     @Test
-    void getPatientProfile_ShouldUseHardcodedPatientId() {
+    void getPatientProfile_ShouldReturnBody_WhenETagIsStale() {
         // Arrange
-        when(patientService.getPatientById(anyLong())).thenReturn(patientResponseDto);
+        when(patientService.getPatientProfile(4L)).thenReturn(new PatientProfileCache.Entry(patientResponseDto, ETAG));
 
         // Act
-        patientController.getPatientProfile();
+        ResponseEntity<PatientResponseDto> response = patientController.getPatientProfile(patientUser, "\"stale\"");
 
         // Assert
-        verify(patientService).getPatientById(4L);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
     }
 
     @Test
     void getPatientProfile_ShouldPropagateException_WhenPatientNotFound() {
         // Arrange
-        when(patientService.getPatientById(4L))
+        when(patientService.getPatientProfile(4L))
                 .thenThrow(new EntityNotFoundException("Patient not found"));
 
         // Act & Assert
-        assertThrows(EntityNotFoundException.class, () -> patientController.getPatientProfile());
+        assertThrows(EntityNotFoundException.class, () -> patientController.getPatientProfile(patientUser, null));
+    }
+
+    // the controller with the application's exception handler, so the status codes are the ones a client sees
+    private MockMvc mockMvc() {
+        return MockMvcBuilders.standaloneSetup(patientController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
     }
-}
\ No newline at end of file
+}
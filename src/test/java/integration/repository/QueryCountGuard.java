@@ -0,0 +1,39 @@
+package integration.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL statements Hibernate prepares while a block runs, so a test can put an upper bound on the
+ * queries behind an endpoint. An N+1 regression shows up as a count that grows with the number of rows.
+ */
+public final class QueryCountGuard {
+
+    private final EntityManager entityManager;
+    private final Statistics statistics;
+
+    public QueryCountGuard(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    public <T> T assertAtMost(long maxStatements, String description, Supplier<T> action) {
+        // start from an empty persistence context, otherwise reads are answered by the first level cache
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        T result = action.get();
+
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL statements for %s", description)
+                .isLessThanOrEqualTo(maxStatements);
+        return result;
+    }
+}
@@ -0,0 +1,270 @@
+package integration.repository;
+
+import com.shaurya.hospitalManagement.HospitalManagementApplication;
+import com.shaurya.hospitalManagement.dto.AppointmentResponseDto;
+import com.shaurya.hospitalManagement.dto.DoctorFieldsPageResponseDto;
+import com.shaurya.hospitalManagement.dto.DoctorPageResponseDto;
+import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
+import com.shaurya.hospitalManagement.entity.Appointment;
+import com.shaurya.hospitalManagement.entity.Department;
+import com.shaurya.hospitalManagement.entity.Doctor;
+import com.shaurya.hospitalManagement.entity.Patient;
+import com.shaurya.hospitalManagement.entity.User;
+import com.shaurya.hospitalManagement.entity.type.RoleType;
+import com.shaurya.hospitalManagement.mapper.AppointmentMapperImpl;
+import com.shaurya.hospitalManagement.mapper.DoctorMapper;
+import com.shaurya.hospitalManagement.mapper.DoctorMapperImpl;
+import com.shaurya.hospitalManagement.mapper.PatientMapperImpl;
+import com.shaurya.hospitalManagement.repository.AppointmentRepository;
+import com.shaurya.hospitalManagement.repository.DoctorRepository;
+import com.shaurya.hospitalManagement.repository.PatientRepository;
+import com.shaurya.hospitalManagement.repository.UserRepository;
+import com.shaurya.hospitalManagement.service.AppointmentService;
+import com.shaurya.hospitalManagement.service.DoctorDirectoryCache;
+import com.shaurya.hospitalManagement.service.DoctorLoadBalancer;
+import com.shaurya.hospitalManagement.service.DoctorService;
+import com.shaurya.hospitalManagement.service.DoctorWorkloadService;
+import com.shaurya.hospitalManagement.service.PatientProfileCache;
+import com.shaurya.hospitalManagement.service.PatientService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Query count tests for the read paths behind the doctor endpoints
+ *
+ * Purpose: Fail the build when a read starts issuing one query per row again
+ * Uses: H2 and Hibernate statistics through QueryCountGuard
+ *
+ * Every fixture has several rows per relation, so an N+1 pattern would exceed the bound.
+ */
+// data.sql holds the Postgres fixtures, it would run on the empty H2 schema before Hibernate creates the tables
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@DisplayName("Read path query count tests")
+class ReadQueryCountTest {
+
+    private static final int DOCTORS = 6;
+    private static final int APPOINTMENTS = 8;
+
+    // only the JPA slice: entities and repositories, without the web, security and Redis beans
+    @Configuration
+    @AutoConfigurationPackage(basePackageClasses = HospitalManagementApplication.class)
+    static class JpaSliceConfig {
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final DoctorMapper doctorMapper = new DoctorMapperImpl();
+
+    private QueryCountGuard guard;
+    private DoctorService doctorService;
+    private AppointmentService appointmentService;
+    private Department department;
+    private Doctor busyDoctor;
+
+    @BeforeEach
+    void setUp() {
+        guard = new QueryCountGuard(entityManager);
+        doctorService = new DoctorService(doctorRepository, doctorMapper, userRepository, mock(DoctorDirectoryCache.class));
+        appointmentService = new AppointmentService(appointmentRepository, doctorRepository, patientRepository,
+                new AppointmentMapperImpl(doctorMapper), mock(DoctorWorkloadService.class), mock(DoctorLoadBalancer.class));
+
+        department = new Department();
+        department.setName("Cardiology");
+        List<Doctor> doctors = new ArrayList<>();
+        for (int i = 1; i <= DOCTORS; i++) {
+            User user = persistUser("doctor" + i, RoleType.DOCTOR);
+            Doctor doctor = Doctor.builder()
+                    .user(user)
+                    .name("Dr. Doctor " + i)
+                    .specialization(i % 2 == 0 ? "Cardiology" : "Neurology")
+                    .email("doctor" + i + "@hospital.com")
+                    .build();
+            entityManager.persist(doctor);
+            department.getDoctors().add(doctor);
+            doctors.add(doctor);
+        }
+        entityManager.persist(department);
+        busyDoctor = doctors.getFirst();
+
+        for (int i = 1; i <= APPOINTMENTS; i++) {
+            User user = persistUser("patient" + i, RoleType.PATIENT);
+            Patient patient = Patient.builder()
+                    .user(user)
+                    .name("Patient " + i)
+                    .email("patient" + i + "@mail.com")
+                    .build();
+            entityManager.persist(patient);
+            entityManager.persist(Appointment.builder()
+                    .appointmentTime(LocalDateTime.of(2026, 1, 1, 9, 0).plusHours(i))
+                    .reason("Checkup " + i)
+                    .patient(patient)
+                    .doctor(busyDoctor)
+                    .build());
+        }
+    }
+
+    private User persistUser(String username, RoleType role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setRoles(new HashSet<>(Set.of(role)));
+        entityManager.persist(user);
+        return user;
+    }
+
+    /**
+     * Test: Doctor directory
+     * Why: Doctor.user used to be eager, findAll loaded every user and its roles one by one
+     */
+    @Test
+    @DisplayName("Should load the doctor directory with one query")
+    void getAllDoctors_ShouldUseOneQuery() {
+        // Act
+        List<DoctorResponseDto> doctors = guard.assertAtMost(1, "GET /public/doctors", doctorService::getAllDoctors);
+
+        // Assert
+        assertThat(doctors).hasSize(DOCTORS);
+        assertThat(doctors.getFirst().getEmail()).isEqualTo("doctor1@hospital.com");
+    }
+
+    /**
+     * Test: Filtered doctor search
+     * Why: The page is mapped from entities, none of their associations may be loaded per row
+     */
+    @Test
+    @DisplayName("Should search doctors with one query")
+    void searchDoctors_ShouldUseOneQuery() {
+        // Act
+        DoctorPageResponseDto page = guard.assertAtMost(1, "GET /public/doctors?departmentId",
+                () -> doctorService.searchDoctors(null, department.getId(), "dr. doctor", null, 4));
+
+        // Assert
+        assertThat(page.getDoctors()).hasSize(4);
+        assertThat(page.getNextCursor()).isNotNull();
+    }
+
+    /**
+     * Test: Doctor search with a sparse fieldset
+     * Why: The rows come from a tuple query, only the requested columns and the cursor id are read
+     */
+    @Test
+    @DisplayName("Should search doctors by field with one query and only the requested fields")
+    void searchDoctorFields_ShouldUseOneQuery() {
+        // Act
+        DoctorFieldsPageResponseDto page = guard.assertAtMost(1, "GET /public/doctors?fields=name",
+                () -> doctorService.searchDoctors(null, department.getId(), null, null, 4, "name"));
+
+        // Assert
+        assertThat(page.getDoctors()).hasSize(4);
+        assertThat(page.getDoctors()).allSatisfy(row -> assertThat(row).containsOnlyKeys("name"));
+        assertThat(page.getDoctors().getFirst()).containsEntry("name", "Dr. Doctor 1");
+        assertThat(page.getNextCursor()).isNotNull();
+    }
+
+    /**
+     * Test: Patient list with a sparse fieldset
+     * Why: Only the selected columns are read and no Patient entities are built
+     */
+    @Test
+    @DisplayName("Should list patient fields with one query and no managed entities")
+    void getAllPatientFields_ShouldUseOneQuery() {
+        // Arrange
+        PatientService patientService = new PatientService(patientRepository, new PatientMapperImpl(),
+                mock(PatientProfileCache.class), mock(PlatformTransactionManager.class));
+
+        // Act
+        List<Map<String, Object>> patients = guard.assertAtMost(1, "GET /admin/patients?fields=id,name",
+                () -> patientService.getAllPatients(0, 5, "id,name"));
+
+        // Assert
+        assertThat(patients).hasSize(5);
+        assertThat(patients).allSatisfy(row -> assertThat(row).containsOnlyKeys("id", "name"));
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    /**
+     * Test: Appointments of a doctor
+     * Why: Appointment.patient used to be eager and each patient loaded all its appointments eagerly again
+     */
+    @Test
+    @DisplayName("Should load a doctor's appointments with one query")
+    void getAllAppointmentsOfDoctor_ShouldUseOneQuery() {
+        // Act
+        List<AppointmentResponseDto> appointments = guard.assertAtMost(1, "GET /doctors/appointments",
+                () -> appointmentService.getAllAppointmentsOfDoctor(busyDoctor.getId()));
+
+        // Assert
+        assertThat(appointments).hasSize(APPOINTMENTS);
+        assertThat(appointments).allSatisfy(appointment ->
+                assertThat(appointment.getDoctor().getName()).isEqualTo("Dr. Doctor 1"));
+    }
+
+    /**
+     * Test: Mapping a doctor entity
+     * Why: The mapper reads only the doctor's own columns, its lazy associations must stay unloaded
+     */
+    @Test
+    @DisplayName("Should map a doctor without loading its lazy associations")
+    void doctorMapper_ShouldNotInitializeLazyAssociations() {
+        // Act
+        Doctor doctor = guard.assertAtMost(1, "doctor mapping", () -> {
+            Doctor found = doctorRepository.findById(busyDoctor.getId()).orElseThrow();
+            doctorMapper.toResponseDto(found);
+            return found;
+        });
+
+        // Assert
+        assertThat(Hibernate.isInitialized(doctor.getUser())).isFalse();
+        assertThat(Hibernate.isInitialized(doctor.getDepartments())).isFalse();
+        assertThat(Hibernate.isInitialized(doctor.getAppointments())).isFalse();
+    }
+
+    /**
+     * Test: User lookup on login and on every JWT request
+     * Why: Roles are needed for the authorities, the entity graph joins them into the user select
+     */
+    @Test
+    @DisplayName("Should load a user with its roles in one query")
+    void findByUsername_ShouldFetchRolesInOneQuery() {
+        // Act
+        User user = guard.assertAtMost(1, "user lookup", () -> {
+            User found = userRepository.findByUsername("doctor2").orElseThrow();
+            found.getAuthorities();
+            return found;
+        });
+
+        // Assert
+        assertThat(user.getRoles()).containsExactly(RoleType.DOCTOR);
+    }
+}
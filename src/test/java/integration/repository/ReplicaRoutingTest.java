@@ -0,0 +1,201 @@
+package integration.repository;
+
+import com.shaurya.hospitalManagement.config.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replica routing tests
+ *
+ * Purpose: Check which database a unit of work lands on
+ * Uses: two H2 databases standing in for the primary and one replica, each with a node table holding its own name
+ *
+ * The replica's lag is whatever its replica_lag table holds, so a test can put it behind and bring it back.
+ */
+@DisplayName("Replica routing tests")
+class ReplicaRoutingTest {
+
+    private static final String LAG_QUERY = "select ms from replica_lag";
+
+    private final DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1");
+    private final DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1");
+    private final AtomicReference<String> currentUser = new AtomicReference<>();
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private JdbcTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate onPrimary = new JdbcTemplate(primary);
+        onPrimary.execute("create table node (name varchar(20))");
+        onPrimary.update("insert into node values ('primary')");
+        JdbcTemplate onReplica = new JdbcTemplate(replica);
+        onReplica.execute("create table node (name varchar(20))");
+        onReplica.update("insert into node values ('replica')");
+        onReplica.execute("create table replica_lag (ms double)");
+        onReplica.update("insert into replica_lag values (0)");
+
+        useRouting(Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(primary).execute("drop all objects");
+        new JdbcTemplate(replica).execute("drop all objects");
+    }
+
+    private void useRouting(Duration stickiness) {
+        routing = new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica), LAG_QUERY,
+                Duration.ofMillis(1000), stickiness, currentUser::get);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new JdbcTransactionManager(dataSource);
+    }
+
+    private String node(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("select name from node", String.class));
+    }
+
+    private void write() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.update("update node set name = name"));
+    }
+
+    /**
+     * Test: Read-only and read-write transactions
+     * Why: Only read-only units of work may leave the primary
+     */
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and writes to the primary")
+    void readOnly_ShouldUseReplica() {
+        // Arrange
+        routing.checkLag();
+
+        // Act & Assert
+        assertThat(node(true)).isEqualTo("replica");
+        assertThat(node(false)).isEqualTo("primary");
+    }
+
+    /**
+     * Test: Reads before the first lag check
+     * Why: A replica's lag is unknown until checked, it must not serve stale reads at startup
+     */
+    @Test
+    @DisplayName("Should read from the primary until a replica passed a lag check")
+    void readOnly_BeforeLagCheck_ShouldUsePrimary() {
+        // Act & Assert
+        assertThat(routing.getInSyncReplicas()).isEmpty();
+        assertThat(node(true)).isEqualTo("primary");
+    }
+
+    /**
+     * Test: Replica falling behind and catching up
+     * Why: The lag guard takes a lagging replica out of reads and puts it back once it caught up
+     */
+    @Test
+    @DisplayName("Should skip a replica while it lags behind")
+    void readOnly_WhenReplicaLags_ShouldUsePrimaryUntilCaughtUp() {
+        // Arrange
+        JdbcTemplate onReplica = new JdbcTemplate(replica);
+        onReplica.update("update replica_lag set ms = 5000");
+        routing.checkLag();
+
+        // Act & Assert
+        assertThat(node(true)).isEqualTo("primary");
+
+        onReplica.update("update replica_lag set ms = 200");
+        routing.checkLag();
+        assertThat(node(true)).isEqualTo("replica");
+    }
+
+    /**
+     * Test: Replica whose lag cannot be read
+     * Why: An unreachable replica counts as behind instead of failing reads
+     */
+    @Test
+    @DisplayName("Should skip a replica whose lag check fails")
+    void readOnly_WhenLagCheckFails_ShouldUsePrimary() {
+        // Arrange
+        new JdbcTemplate(replica).execute("drop table replica_lag");
+        routing.checkLag();
+
+        // Act & Assert
+        assertThat(routing.getInSyncReplicas()).isEmpty();
+        assertThat(node(true)).isEqualTo("primary");
+    }
+
+    /**
+     * Test: Reads right after a user's own write
+     * Why: The writer must see their write, other users keep reading from the replica
+     */
+    @Test
+    @DisplayName("Should keep a user's reads on the primary after their write")
+    void readOnly_AfterOwnWrite_ShouldUsePrimary() {
+        // Arrange
+        routing.checkLag();
+        currentUser.set("alice");
+        write();
+
+        // Act & Assert
+        assertThat(node(true)).isEqualTo("primary");
+        currentUser.set("bob");
+        assertThat(node(true)).isEqualTo("replica");
+    }
+
+    /**
+     * Test: Reads after the stickiness ran out
+     * Why: Stickiness only bridges the replication lag, afterwards the user's reads return to the replica
+     */
+    @Test
+    @DisplayName("Should return a user's reads to the replica after the stickiness")
+    void readOnly_AfterStickiness_ShouldUseReplica() throws InterruptedException {
+        // Arrange
+        useRouting(Duration.ofMillis(1));
+        routing.checkLag();
+        currentUser.set("alice");
+        write();
+        Thread.sleep(5);
+
+        // Act & Assert
+        assertThat(node(true)).isEqualTo("replica");
+    }
+
+    /**
+     * Test: Cache fill right after another user's write, while the replica has not replayed it yet
+     * Why: The write's eviction already ran, a fill from the replica would cache the old row for the whole TTL
+     */
+    @Test
+    @DisplayName("Should read from the primary inside onPrimary while the replica is stale")
+    void onPrimary_WhenReplicaStale_ShouldUsePrimary() {
+        // Arrange
+        routing.checkLag();
+        currentUser.set("alice");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.update("update node set name = 'updated'"));
+        currentUser.set("bob");
+
+        // Act
+        String fill = ReplicaRoutingDataSource.onPrimary(() -> node(true));
+
+        // Assert
+        assertThat(fill).isEqualTo("updated");
+        assertThat(node(true)).isEqualTo("replica");
+    }
+}
@@ -0,0 +1,193 @@
+package integration.repository;
+
+import com.shaurya.hospitalManagement.HospitalManagementApplication;
+import com.shaurya.hospitalManagement.dto.CacheRegionStatsResponseDto;
+import com.shaurya.hospitalManagement.entity.Doctor;
+import com.shaurya.hospitalManagement.entity.User;
+import com.shaurya.hospitalManagement.entity.type.RoleType;
+import com.shaurya.hospitalManagement.service.CacheRegionStatisticsService;
+import com.shaurya.hospitalManagement.service.SecondLevelCacheInvalidator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Second-level cache tests for the reference entities
+ *
+ * Purpose: Show that repeated reads stop reaching the database and that changes are evicted across instances
+ * Uses: H2, the regions from ehcache.xml and QueryCountGuard
+ *
+ * The cache is only written on commit, so these tests commit for real and clean up after themselves.
+ */
+// no Postgres fixtures from data.sql, see ReadQueryCountTest
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@Import(SecondLevelCacheInvalidator.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Second-level cache tests")
+class SecondLevelCacheTest {
+
+    // only the JPA slice: entities and repositories, without the web, security and Redis beans
+    @Configuration
+    @AutoConfigurationPackage(basePackageClasses = HospitalManagementApplication.class)
+    static class JpaSliceConfig {
+    }
+
+    @MockitoBean
+    private RedisTemplate<String, String> redisTemplate;
+
+    @MockitoBean
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SecondLevelCacheInvalidator secondLevelCacheInvalidator;
+
+    private TransactionTemplate transactionTemplate;
+    private QueryCountGuard guard;
+    private Long doctorId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        guard = new QueryCountGuard(entityManager);
+        doctorId = transactionTemplate.execute(status -> {
+            User user = new User();
+            user.setUsername("cached.doctor");
+            user.setRoles(new HashSet<>(Set.of(RoleType.DOCTOR)));
+            entityManager.persist(user);
+            Doctor doctor = Doctor.builder()
+                    .user(user)
+                    .name("Dr. Amit Mehta")
+                    .specialization("Cardiology")
+                    .email("amit.mehta@hospital.com")
+                    .build();
+            entityManager.persist(doctor);
+            return doctor.getId();
+        });
+        // start every test cold
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.remove(entityManager.find(Doctor.class, doctorId));
+            entityManager.remove(entityManager.find(User.class, doctorId));
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    /**
+     * Test: Repeated doctor read
+     * Why: After the first load the doctor must come from the cache without any SQL
+     */
+    @Test
+    @DisplayName("Should serve a repeated doctor read from the cache")
+    void findDoctor_SecondRead_ShouldNotQueryDatabase() {
+        // Arrange
+        transactionTemplate.execute(status ->
+                guard.assertAtMost(1, "first doctor read", () -> entityManager.find(Doctor.class, doctorId)));
+
+        // Act
+        Doctor cached = transactionTemplate.execute(status ->
+                guard.assertAtMost(0, "cached doctor read", () -> entityManager.find(Doctor.class, doctorId)));
+
+        // Assert
+        assertThat(cached.getName()).isEqualTo("Dr. Amit Mehta");
+        List<CacheRegionStatsResponseDto> regions = new CacheRegionStatisticsService(entityManagerFactory).getRegionStatistics();
+        assertThat(regions).filteredOn(region -> region.getRegion().equals("doctor"))
+                .singleElement()
+                .satisfies(region -> {
+                    assertThat(region.getHitCount()).isPositive();
+                    assertThat(region.getHitRatio()).isPositive();
+                });
+    }
+
+    /**
+     * Test: Change on another instance
+     * Why: Each instance caches locally, a broadcast from elsewhere must drop the stale entry here
+     */
+    @Test
+    @DisplayName("Should evict a doctor when another instance reports a change")
+    void onMessage_FromOtherInstance_ShouldEvictEntity() {
+        // Arrange
+        transactionTemplate.execute(status -> entityManager.find(Doctor.class, doctorId));
+        assertThat(entityManagerFactory.getCache().contains(Doctor.class, doctorId)).isTrue();
+        String body = "other-instance E " + Doctor.class.getName() + " " + doctorId;
+
+        // Act
+        secondLevelCacheInvalidator.onMessage(new DefaultMessage(
+                SecondLevelCacheInvalidator.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+
+        // Assert
+        assertThat(entityManagerFactory.getCache().contains(Doctor.class, doctorId)).isFalse();
+    }
+
+    /**
+     * Test: Change on this instance
+     * Why: The update is broadcast after commit, and the instance ignores its own message because its cache is current
+     */
+    @Test
+    @DisplayName("Should broadcast a committed doctor update and ignore its own message")
+    void update_ShouldBroadcastAfterCommit() {
+        // Arrange
+        transactionTemplate.execute(status -> entityManager.find(Doctor.class, doctorId));
+
+        // Act
+        transactionTemplate.executeWithoutResult(status ->
+                entityManager.find(Doctor.class, doctorId).setSpecialization("Neurology"));
+
+        // Assert
+        // the fixture's User.roles insert is broadcast as well
+        ArgumentCaptor<String> messages = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, atLeastOnce()).convertAndSend(eq(SecondLevelCacheInvalidator.INVALIDATION_CHANNEL), messages.capture());
+        String doctorMessage = messages.getAllValues().stream()
+                .filter(message -> message.endsWith(" E " + Doctor.class.getName() + " " + doctorId))
+                .findFirst()
+                .orElseThrow();
+
+        secondLevelCacheInvalidator.onMessage(new DefaultMessage(
+                SecondLevelCacheInvalidator.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                doctorMessage.getBytes(StandardCharsets.UTF_8)), null);
+        assertThat(entityManagerFactory.getCache().contains(Doctor.class, doctorId)).isTrue();
+        Doctor cached = transactionTemplate.execute(status ->
+                guard.assertAtMost(0, "doctor read after update", () -> entityManager.find(Doctor.class, doctorId)));
+        assertThat(cached.getSpecialization()).isEqualTo("Neurology");
+    }
+}
@@ -0,0 +1,148 @@
+package smoke;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Smoke tests against a running instance, meant for the native executable
+ *
+ * Purpose: Catch missing native hints, which only fail at runtime, on the paths every deployment needs
+ * Uses: a fresh patient account signed up per run, and the doctors already in the database
+ *
+ * Skipped unless smoke.base-url is set. Start target/demo (mvn -Pnative native:compile) with Postgres and Redis
+ * up, then run: mvn test -Dtest=NativeSmokeTest -Dsmoke.base-url=http://localhost:8080
+ */
+@EnabledIfSystemProperty(named = "smoke.base-url", matches = ".+")
+@DisplayName("Native smoke tests")
+class NativeSmokeTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String PASSWORD = "smoke-password";
+
+    private static HttpClient client;
+    private static String baseUrl;
+    private static String username;
+
+    @BeforeAll
+    static void signUp() throws Exception {
+        baseUrl = System.getProperty("smoke.base-url");
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        username = "smoke-" + UUID.randomUUID() + "@example.com";
+
+        HttpResponse<String> response = post("/auth/signup", null,
+                Map.of("username", username, "password", PASSWORD, "name", "Smoke Test"));
+        assertThat(response.statusCode()).as(response.body()).isEqualTo(200);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        client.close();
+    }
+
+    private static HttpResponse<String> post(String path, String token, Object body) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> get(String path, String ifNoneMatch) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if (ifNoneMatch != null) {
+            builder.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static JsonNode login() throws IOException, InterruptedException {
+        HttpResponse<String> response = post("/auth/login", null, Map.of("username", username, "password", PASSWORD));
+        assertThat(response.statusCode()).as(response.body()).isEqualTo(200);
+        return objectMapper.readTree(response.body());
+    }
+
+    /**
+     * Test: Login with the account signed up for this run
+     * Why: Covers the rate limiter's Redis calls, BCrypt and JJWT signing, all reached only at runtime
+     */
+    @Test
+    @DisplayName("Should log in and return a JWT")
+    void login_ShouldReturnJwt() throws Exception {
+        // Act
+        JsonNode login = login();
+
+        // Assert
+        assertThat(login.path("jwt").asText()).isNotBlank();
+        assertThat(login.path("userId").isIntegralNumber()).isTrue();
+    }
+
+    /**
+     * Test: Doctor directory, its ETag and a filtered page
+     * Why: The directory is serialised by the cache and the page through ResponseEntity<?>, neither is seen by AOT
+     */
+    @Test
+    @DisplayName("Should list doctors, answer 304 on a matching ETag and serve a filtered page")
+    void publicDoctors_ShouldServeDirectoryAndPage() throws Exception {
+        // Act
+        HttpResponse<String> directory = get("/public/doctors", null);
+        String eTag = directory.headers().firstValue("ETag").orElseThrow();
+        HttpResponse<String> notModified = get("/public/doctors", eTag);
+        HttpResponse<String> page = get("/public/doctors?size=5", null);
+
+        // Assert
+        assertThat(directory.statusCode()).isEqualTo(200);
+        assertThat(objectMapper.readTree(directory.body()).isArray()).isTrue();
+        assertThat(notModified.statusCode()).isEqualTo(304);
+        assertThat(page.statusCode()).isEqualTo(200);
+        assertThat(objectMapper.readTree(page.body()).path("doctors").isArray()).isTrue();
+    }
+
+    /**
+     * Test: Booking with the first doctor of the directory
+     * Why: Covers JWT parsing, method security and a write through Hibernate with lazy associations
+     */
+    @Test
+    @DisplayName("Should book an appointment for the logged in patient")
+    void createAppointment_ShouldBook() throws Exception {
+        // Arrange
+        JsonNode login = login();
+        JsonNode doctors = objectMapper.readTree(get("/public/doctors", null).body());
+        assertThat(doctors).as("no doctors in the database to book with").isNotEmpty();
+        long doctorId = doctors.get(0).path("id").asLong();
+        String appointmentTime = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS).toString();
+
+        // Act
+        HttpResponse<String> response = post("/patients/appointments", login.path("jwt").asText(), Map.of(
+                "patientId", login.path("userId").asLong(),
+                "doctorId", doctorId,
+                "appointmentTime", appointmentTime,
+                "reason", "Smoke test"));
+
+        // Assert
+        assertThat(response.statusCode()).as(response.body()).isEqualTo(201);
+        JsonNode appointment = objectMapper.readTree(response.body());
+        assertThat(appointment.path("id").isIntegralNumber()).isTrue();
+        assertThat(appointment.path("doctor").path("id").asLong()).isEqualTo(doctorId);
+    }
+}
@@ -4,7 +4,6 @@ import com.shaurya.hospitalManagement.config.AppConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -23,13 +22,6 @@ class AppConfigTest {
         appConfig = new AppConfig();
     }
 
-    @Test
-    @DisplayName("Should create ModelMapper bean")
-    void modelMapper_ShouldReturnModelMapperInstance() {
-        ModelMapper result = appConfig.modelMapper();
-        assertThat(result).isNotNull().isInstanceOf(ModelMapper.class);
-    }
-
     @Test
     @DisplayName("Should create BCryptPasswordEncoder bean")
     void passwordEncoder_ShouldReturnBCryptPasswordEncoder() {
@@ -0,0 +1,182 @@
+package unit.config;
+
+import com.shaurya.hospitalManagement.config.Bulkhead;
+import com.shaurya.hospitalManagement.config.BulkheadFilter;
+import com.shaurya.hospitalManagement.config.BulkheadProperties;
+import com.shaurya.hospitalManagement.error.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BulkheadFilter
+ *
+ * Tests cover:
+ * - Requests outside every group passing through
+ * - Fast rejection when the queue is full or the wait runs out
+ * - Queued requests admitted when a slot frees up
+ * - Slots released when the request fails
+ */
+@DisplayName("BulkheadFilter Tests")
+class BulkheadFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private HandlerExceptionResolver handlerExceptionResolver;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        handlerExceptionResolver = mock(HandlerExceptionResolver.class);
+    }
+
+    private BulkheadFilter filter(int maxQueue, Duration maxWait) {
+        Map<String, BulkheadProperties.Group> groups = new LinkedHashMap<>();
+        groups.put("auth", new BulkheadProperties.Group(List.of("/auth/**"), 1, maxQueue, maxWait));
+        groups.put("admin", new BulkheadProperties.Group(List.of("/admin/**", "/reports/**"), 1, maxQueue, maxWait));
+        return new BulkheadFilter(new BulkheadProperties(groups), meterRegistry, handlerExceptionResolver);
+    }
+
+    private double rejected(String group, String reason) {
+        return meterRegistry.get("bulkhead.rejected").tags("group", group, "reason", reason).counter().count();
+    }
+
+    /**
+     * Test: Login flood with the auth slot taken
+     * Why: Overload must be turned away at once, not pile up on Tomcat threads
+     */
+    @Test
+    @DisplayName("Should reject at once when the group's slots and queue are full")
+    void doFilter_WhenQueueFull_ShouldRejectWithoutCallingChain() throws Exception {
+        // Arrange
+        BulkheadFilter filter = filter(0, Duration.ofSeconds(1));
+        Bulkhead auth = filter.getBulkheads().getFirst();
+        assertThat(auth.tryAcquire()).isTrue();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        verify(chain, never()).doFilter(any(), any());
+        verify(handlerExceptionResolver).resolveException(eq(request), eq(response), isNull(), any(BulkheadFullException.class));
+        assertThat(rejected("auth", "queue_full")).isEqualTo(1.0);
+    }
+
+    /**
+     * Test: Full auth group, admin request
+     * Why: One group's overload must not reach the others
+     */
+    @Test
+    @DisplayName("Should keep serving other groups while one is full")
+    void doFilter_WhenOtherGroupFull_ShouldPassThrough() throws Exception {
+        // Arrange
+        BulkheadFilter filter = filter(0, Duration.ofSeconds(1));
+        filter.getBulkheads().getFirst().tryAcquire();
+        MockFilterChain adminChain = new MockFilterChain();
+        MockFilterChain publicChain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/reports/patients/blood-groups"),
+                new MockHttpServletResponse(), adminChain);
+        filter.doFilter(new MockHttpServletRequest("GET", "/public/doctors"), new MockHttpServletResponse(), publicChain);
+
+        // Assert
+        assertThat(adminChain.getRequest()).isNotNull();
+        assertThat(publicChain.getRequest()).isNotNull();
+        assertThat(filter.getBulkheads().get(1).getActive()).isZero();
+        verifyNoInteractions(handlerExceptionResolver);
+    }
+
+    /**
+     * Test: Queued request whose wait runs out
+     * Why: Queueing is bounded in time as well as in length
+     */
+    @Test
+    @DisplayName("Should reject a queued request after max-wait")
+    void doFilter_WhenWaitRunsOut_ShouldReject() throws Exception {
+        // Arrange
+        BulkheadFilter filter = filter(1, Duration.ofMillis(20));
+        filter.getBulkheads().getFirst().tryAcquire();
+        FilterChain chain = mock(FilterChain.class);
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/auth/login"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        verify(chain, never()).doFilter(any(), any());
+        assertThat(rejected("auth", "timeout")).isEqualTo(1.0);
+        assertThat(filter.getBulkheads().getFirst().getQueued()).isZero();
+    }
+
+    /**
+     * Test: Slot freed while a request waits
+     * Why: Short bursts are absorbed by the queue instead of failing
+     */
+    @Test
+    @DisplayName("Should admit a queued request when a slot frees up")
+    void tryAcquire_WhenSlotReleased_ShouldAdmitWaiter() throws Exception {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("booking", List.of("/patients/appointments/**"), 1, 1,
+                Duration.ofSeconds(5), meterRegistry);
+        bulkhead.tryAcquire();
+
+        // Act
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bulkhead.tryAcquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (bulkhead.getQueued() == 0) {
+            Thread.onSpinWait();
+        }
+        bulkhead.release();
+
+        // Assert
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(bulkhead.getActive()).isEqualTo(1);
+    }
+
+    /**
+     * Test: Request failing inside the chain
+     * Why: A leaked slot would shrink the group for good
+     */
+    @Test
+    @DisplayName("Should release the slot when the request fails")
+    void doFilter_WhenChainThrows_ShouldReleaseSlot() throws Exception {
+        // Arrange
+        BulkheadFilter filter = filter(0, Duration.ofSeconds(1));
+        FilterChain chain = mock(FilterChain.class);
+        doThrow(new ServletException("boom")).when(chain).doFilter(any(), any());
+
+        // Act & Assert
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("POST", "/auth/login"),
+                new MockHttpServletResponse(), chain))
+                .isInstanceOf(ServletException.class);
+        assertThat(filter.getBulkheads().getFirst().getActive()).isZero();
+    }
+}
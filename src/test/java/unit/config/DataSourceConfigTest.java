@@ -0,0 +1,54 @@
+package unit.config;
+
+import com.shaurya.hospitalManagement.config.DataSourceConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DataSourceConfig Tests")
+class DataSourceConfigTest {
+
+    private final DataSourceConfig dataSourceConfig = new DataSourceConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HikariDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = dataSourceConfig.batchDataSource("jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1", "sa", "", meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Should name the batch pool and publish its metrics")
+    void batchDataSource_ShouldPublishPoolMetrics() {
+        JdbcTemplate jdbcTemplate = dataSourceConfig.batchJdbcTemplate(dataSource);
+
+        Integer result = jdbcTemplate.queryForObject("select 1", Integer.class);
+
+        assertThat(result).isEqualTo(1);
+        assertThat(dataSource.getPoolName()).isEqualTo("batch");
+        assertThat(meterRegistry.find("hikaricp.connections.active").tag("pool", "batch").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").tag("pool", "batch").timer()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should run batch transactions on the batch pool")
+    void batchTransactionManager_ShouldUseBatchPool() {
+        PlatformTransactionManager transactionManager = dataSourceConfig.batchTransactionManager(dataSource);
+
+        assertThat(transactionManager).isInstanceOf(JdbcTransactionManager.class);
+        assertThat(((JdbcTransactionManager) transactionManager).getDataSource()).isSameAs(dataSource);
+    }
+}
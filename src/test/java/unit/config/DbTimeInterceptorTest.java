@@ -0,0 +1,115 @@
+package unit.config;
+
+import com.shaurya.hospitalManagement.config.DbTimeInterceptor;
+import com.shaurya.hospitalManagement.config.DbTimeSessionListener;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for DbTimeInterceptor
+ *
+ * Tests cover:
+ * - Statement and pool wait time recorded per route template
+ * - Long connection holds counted
+ * - Sessions outside a request not recorded
+ */
+@DisplayName("DbTimeInterceptor Tests")
+class DbTimeInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockHttpServletRequest request;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        request = new MockHttpServletRequest("GET", "/admin/patients/7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/admin/patients/{id}");
+    }
+
+    /**
+     * Test: One request with two statements
+     * Why: Endpoints are compared by their template, the raw path would create a meter per id
+     */
+    @Test
+    @DisplayName("Should record statement and acquire time under the route template")
+    void afterCompletion_ShouldRecordPerRouteTemplate() {
+        // Arrange
+        DbTimeInterceptor interceptor = new DbTimeInterceptor(meterRegistry, 2000);
+        DbTimeSessionListener listener = new DbTimeSessionListener();
+
+        // Act
+        interceptor.preHandle(request, response, null);
+        listener.jdbcConnectionAcquisitionStart();
+        listener.jdbcConnectionAcquisitionEnd();
+        listener.jdbcExecuteStatementStart();
+        listener.jdbcExecuteStatementEnd();
+        listener.jdbcExecuteStatementStart();
+        listener.jdbcExecuteStatementEnd();
+        listener.jdbcConnectionReleaseEnd();
+        interceptor.afterCompletion(request, response, null, null);
+
+        // Assert
+        Timer statements = meterRegistry.find("http.server.requests.db")
+                .tags("method", "GET", "uri", "/admin/patients/{id}").timer();
+        Timer acquire = meterRegistry.find("http.server.requests.db.acquire")
+                .tags("method", "GET", "uri", "/admin/patients/{id}").timer();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(acquire).isNotNull();
+        assertThat(meterRegistry.find("db.transactions.long").counter()).isNull();
+    }
+
+    /**
+     * Test: Connection held past the threshold
+     * Why: Long transactions pin pool connections and must show up before the pool runs dry
+     */
+    @Test
+    @DisplayName("Should count a request holding a connection past the threshold")
+    void afterCompletion_WhenConnectionHeldTooLong_ShouldCountLongTransaction() throws InterruptedException {
+        // Arrange
+        DbTimeInterceptor interceptor = new DbTimeInterceptor(meterRegistry, 0);
+        DbTimeSessionListener listener = new DbTimeSessionListener();
+
+        // Act
+        interceptor.preHandle(request, response, null);
+        listener.jdbcConnectionAcquisitionStart();
+        listener.jdbcConnectionAcquisitionEnd();
+        Thread.sleep(2);
+        listener.jdbcConnectionReleaseEnd();
+        interceptor.afterCompletion(request, response, null, null);
+
+        // Assert
+        assertThat(meterRegistry.find("db.transactions.long").tag("uri", "/admin/patients/{id}").counter())
+                .isNotNull()
+                .satisfies(counter -> assertThat(counter.count()).isEqualTo(1.0));
+    }
+
+    /**
+     * Test: Session used by a scheduled job
+     * Why: Only request threads start an accumulator, job statements must not leak into the next request
+     */
+    @Test
+    @DisplayName("Should ignore statements outside a request")
+    void listener_WithoutRequest_ShouldRecordNothing() {
+        // Arrange
+        DbTimeInterceptor interceptor = new DbTimeInterceptor(meterRegistry, 0);
+        DbTimeSessionListener listener = new DbTimeSessionListener();
+
+        // Act
+        listener.jdbcExecuteStatementStart();
+        listener.jdbcExecuteStatementEnd();
+        interceptor.afterCompletion(request, response, null, null);
+
+        // Assert
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+}
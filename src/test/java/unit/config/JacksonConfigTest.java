@@ -1,10 +1,34 @@
 package unit.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shaurya.hospitalManagement.config.JacksonConfig;
+import com.shaurya.hospitalManagement.dto.AppointmentResponseDto;
+import com.shaurya.hospitalManagement.dto.LoginRequestDto;
+import com.shaurya.hospitalManagement.dto.PatientResponseDto;
+import com.shaurya.hospitalManagement.entity.type.BloodGroupType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractJacksonHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import tools.jackson.databind.JacksonModule;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.StreamSupport;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -12,16 +36,141 @@ import static org.assertj.core.api.Assertions.assertThat;
 class JacksonConfigTest {
 
     private JacksonConfig jacksonConfig;
+    private JsonMapper jsonMapper;
+    private CBORMapper cborMapper;
 
     @BeforeEach
     void setUp() {
         jacksonConfig = new JacksonConfig();
+        // what Boot builds: its builder with the customizer applied
+        JsonMapper.Builder builder = JsonMapper.builder();
+        jacksonConfig.jsonMapperCustomizer().customize(builder);
+        jsonMapper = builder.build();
+        CBORMapper.Builder cborBuilder = CBORMapper.builder();
+        jacksonConfig.cborMapperCustomizer().customize(cborBuilder);
+        cborMapper = cborBuilder.build();
+    }
+
+    @Test
+    @DisplayName("Should register the ISO date and Blackbird modules on Boot's mapper")
+    void jsonMapperCustomizer_ShouldRegisterModules() {
+        assertThat(jsonMapper.registeredModules()).extracting(JacksonModule::getModuleName)
+                .contains("IsoDates", "BlackbirdModule");
+    }
+
+    @Test
+    @DisplayName("Should write dates as ISO strings")
+    void jsonMapper_ShouldWriteDatesAsIsoStrings() {
+        AppointmentResponseDto appointment = new AppointmentResponseDto();
+        appointment.setId(1L);
+        appointment.setAppointmentTime(LocalDateTime.of(2026, 1, 25, 10, 30));
+
+        String json = jsonMapper.writeValueAsString(appointment);
+
+        assertThat(json).contains("\"appointmentTime\":\"2026-01-25T10:30:00\"");
     }
 
     @Test
-    @DisplayName("Should create ObjectMapper bean")
-    void objectMapper_ShouldReturnObjectMapperInstance() {
-        ObjectMapper result = jacksonConfig.objectMapper();
-        assertThat(result).isNotNull().isInstanceOf(ObjectMapper.class);
+    @DisplayName("Should read back what it writes")
+    void jsonMapper_ShouldRoundTripPatient() {
+        PatientResponseDto patient = new PatientResponseDto();
+        patient.setId(1L);
+        patient.setName("Arjun Krishnan");
+        patient.setBirthDate(LocalDate.of(1995, 3, 15));
+        patient.setBloodGroup(BloodGroupType.O_POSITIVE);
+
+        String json = jsonMapper.writeValueAsString(patient);
+
+        assertThat(json).contains("\"birthDate\":\"1995-03-15\"");
+        assertThat(jsonMapper.readValue(json, PatientResponseDto.class)).isEqualTo(patient);
+    }
+
+    @Test
+    @DisplayName("Should read request bodies with unknown properties through the same mapper")
+    @SuppressWarnings("unchecked")
+    void jsonMapper_ShouldReadRequestBodiesWithUnknownProperties() throws Exception {
+        HttpMessageConverter<Object> converter = (HttpMessageConverter<Object>) (HttpMessageConverter<?>)
+                new JacksonJsonHttpMessageConverter(jsonMapper);
+        MockHttpInputMessage body = new MockHttpInputMessage(
+                "{\"username\":\"patient\",\"password\":\"pass\",\"rememberMe\":true}".getBytes(StandardCharsets.UTF_8));
+        body.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        LoginRequestDto login = (LoginRequestDto) converter.read(LoginRequestDto.class, body);
+
+        assertThat(login.getUsername()).isEqualTo("patient");
+        assertThat(login.getPassword()).isEqualTo("pass");
+    }
+
+    @Test
+    @DisplayName("Should answer CBOR and Smile only when asked for them, with the tuned mappers")
+    void binaryMessageConverters_ShouldSelectBinaryFormatsByMediaType() {
+        HttpMessageConverters.ServerBuilder builder = HttpMessageConverters.forServer().registerDefaults();
+        jacksonConfig.binaryMessageConverters(cborMapper).customize(builder);
+        List<HttpMessageConverter<?>> converters = StreamSupport.stream(builder.build().spliterator(), false).toList();
+
+        HttpMessageConverter<?> json = firstWriting(converters, MediaType.ALL);
+        HttpMessageConverter<?> cbor = firstWriting(converters, MediaType.APPLICATION_CBOR);
+        HttpMessageConverter<?> smile = firstWriting(converters, new MediaType("application", "x-jackson-smile"));
+
+        assertThat(json).isInstanceOf(JacksonJsonHttpMessageConverter.class);
+        assertThat(cbor).isInstanceOf(JacksonCborHttpMessageConverter.class);
+        assertThat(smile).isInstanceOf(JacksonSmileHttpMessageConverter.class);
+        assertThat(List.of(cbor, smile)).allSatisfy(converter ->
+                assertThat(((AbstractJacksonHttpMessageConverter<?>) converter).getMapper().registeredModules())
+                        .extracting(JacksonModule::getModuleName).contains("IsoDates"));
+    }
+
+    @Test
+    @DisplayName("Should read back what the CBOR converter writes")
+    @SuppressWarnings("unchecked")
+    void cborConverter_ShouldRoundTripPatient() throws Exception {
+        HttpMessageConverter<Object> converter = (HttpMessageConverter<Object>) (HttpMessageConverter<?>)
+                new JacksonCborHttpMessageConverter(cborMapper);
+        MockHttpOutputMessage out = new MockHttpOutputMessage();
+
+        converter.write(patient(1), MediaType.APPLICATION_CBOR, out);
+        MockHttpInputMessage in = new MockHttpInputMessage(out.getBodyAsBytes());
+        in.getHeaders().setContentType(MediaType.APPLICATION_CBOR);
+
+        assertThat(converter.read(PatientResponseDto.class, in)).isEqualTo(patient(1));
+    }
+
+    /**
+     * Test: CBOR and Smile encode a patient list in fewer bytes than JSON.
+     * Why: the smaller payload is why the binary formats are offered, BinaryFormatBenchmark measures the speed.
+     */
+    @Test
+    @DisplayName("Should encode patient lists smaller as CBOR and Smile than as JSON")
+    void binaryFormats_ShouldEncodePatientsSmallerThanJson() {
+        // Arrange
+        List<PatientResponseDto> patients = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            patients.add(patient(i));
+        }
+        ObjectMapper smileMapper = JacksonConfig.configure(SmileMapper.builder()).build();
+
+        // Act
+        int jsonBytes = jsonMapper.writeValueAsBytes(patients).length;
+        int cborBytes = cborMapper.writeValueAsBytes(patients).length;
+        int smileBytes = smileMapper.writeValueAsBytes(patients).length;
+
+        // Assert
+        assertThat(cborBytes).isLessThan(jsonBytes);
+        assertThat(smileBytes).isLessThan(jsonBytes);
+    }
+
+    private static HttpMessageConverter<?> firstWriting(List<HttpMessageConverter<?>> converters, MediaType mediaType) {
+        return converters.stream()
+                .filter(converter -> converter.canWrite(PatientResponseDto.class, mediaType))
+                .findFirst().orElseThrow();
+    }
+
+    private static PatientResponseDto patient(int i) {
+        PatientResponseDto patient = new PatientResponseDto();
+        patient.setId((long) i);
+        patient.setName("Patient " + i);
+        patient.setBirthDate(LocalDate.of(1950, 1, 1).plusDays(i));
+        patient.setBloodGroup(BloodGroupType.O_POSITIVE);
+        return patient;
     }
-}
\ No newline at end of file
+}
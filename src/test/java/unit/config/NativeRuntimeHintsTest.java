@@ -0,0 +1,78 @@
+package unit.config;
+
+import com.shaurya.hospitalManagement.config.NativeRuntimeHints;
+import com.shaurya.hospitalManagement.dto.DoctorPageResponseDto;
+import com.shaurya.hospitalManagement.dto.PatientResponseDto;
+import com.shaurya.hospitalManagement.entity.type.BloodGroupType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for NativeRuntimeHints
+ *
+ * Tests cover:
+ * - Binding hints for the DTOs and the types reachable from them
+ * - JJWT implementations looked up by name
+ * - Lettuce's synchronous API proxy and the resources read at runtime
+ */
+@DisplayName("NativeRuntimeHints Tests")
+class NativeRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    /**
+     * Test: DTO returned through ResponseEntity<?> and one written to Redis
+     * Why: AOT cannot see either, without hints Jackson finds no properties in the native image
+     */
+    @Test
+    @DisplayName("Should register the DTOs for Jackson binding")
+    void registerHints_ShouldRegisterDtos() {
+        // Assert
+        assertThat(RuntimeHintsPredicates.reflection().onMethodInvocation(DoctorPageResponseDto.class, "getNextCursor"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethodInvocation(PatientResponseDto.class, "setBloodGroup"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(BloodGroupType.class)).accepts(hints);
+    }
+
+    /**
+     * Test: JJWT builder and signature algorithms
+     * Why: jjwt-api instantiates them by name, a missing one fails the first login
+     */
+    @Test
+    @DisplayName("Should register the JJWT implementations")
+    void registerHints_ShouldRegisterJjwt() {
+        // Assert
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtBuilder"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms"))).accepts(hints);
+    }
+
+    /**
+     * Test: Standalone sync proxy, ehcache.xml and db/indexes.sql
+     * Why: Proxies and resources are fixed when the image is built
+     */
+    @Test
+    @DisplayName("Should register the Lettuce proxy and the runtime resources")
+    void registerHints_ShouldRegisterProxyAndResources() {
+        // Assert
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(
+                TypeReference.of("io.lettuce.core.api.sync.RedisCommands"),
+                TypeReference.of("io.lettuce.core.cluster.api.sync.RedisClusterCommands"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("ehcache.xml")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/indexes.sql")).accepts(hints);
+    }
+}
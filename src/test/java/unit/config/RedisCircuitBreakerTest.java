@@ -0,0 +1,105 @@
+package unit.config;
+
+import com.shaurya.hospitalManagement.config.RedisCircuitBreaker;
+import com.shaurya.hospitalManagement.config.RedisCircuitBreaker.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RedisCircuitBreaker
+ *
+ * Tests cover:
+ * - Opening after consecutive failures only
+ * - A single probe after the open period, closing or reopening the circuit
+ * - The state gauge
+ */
+@DisplayName("RedisCircuitBreaker Tests")
+class RedisCircuitBreakerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private double gauge(String state) {
+        return meterRegistry.get("redis.circuit.state").tag("state", state).gauge().value();
+    }
+
+    /**
+     * Test: Failures interrupted by a success
+     * Why: Only consecutive failures show Redis is down, a single blip must not open the circuit
+     */
+    @Test
+    @DisplayName("Should open only after consecutive failures")
+    void onFailure_AfterThreshold_ShouldOpen() {
+        // Arrange
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(3, 60_000, meterRegistry);
+
+        // Act
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        State beforeThreshold = circuitBreaker.getState();
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertThat(beforeThreshold).isEqualTo(State.CLOSED);
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.allowRequest()).isFalse();
+        assertThat(gauge("open")).isEqualTo(1.0);
+        assertThat(gauge("closed")).isEqualTo(0.0);
+    }
+
+    /**
+     * Test: Open period over, probe succeeds
+     * Why: Exactly one caller probes Redis, the others keep using the fallback until it answers
+     */
+    @Test
+    @DisplayName("Should let one probe through and close on its success")
+    void allowRequest_AfterOpenPeriod_ShouldProbeOnce() {
+        // Arrange
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(1, 0, meterRegistry);
+        circuitBreaker.onFailure();
+
+        // Act
+        boolean probe = circuitBreaker.allowRequest();
+        boolean second = circuitBreaker.allowRequest();
+        circuitBreaker.onSuccess();
+
+        // Assert
+        assertThat(probe).isTrue();
+        assertThat(second).isFalse();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(circuitBreaker.allowRequest()).isTrue();
+    }
+
+    /**
+     * Test: Probe fails
+     * Why: Redis is still down, the circuit opens again for a full period
+     */
+    @Test
+    @DisplayName("Should reopen when the probe fails")
+    void onFailure_WhenProbeFails_ShouldReopen() {
+        // Arrange
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(5, 0, meterRegistry);
+        for (int i = 0; i < 5; i++) {
+            circuitBreaker.onFailure();
+        }
+        circuitBreaker.allowRequest();
+
+        // Act
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(gauge("half_open")).isEqualTo(0.0);
+    }
+}
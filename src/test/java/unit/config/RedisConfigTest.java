@@ -1,15 +1,25 @@
 package unit.config;
 
 import com.shaurya.hospitalManagement.config.RedisConfig;
+import io.lettuce.core.metrics.MicrometerCommandLatencyRecorder;
+import io.lettuce.core.resource.ClientResources;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
@@ -17,6 +27,7 @@ import static org.mockito.Mockito.mock;
 class RedisConfigTest {
 
     private RedisConfig redisConfig;
+    private ClientResources clientResources;
 
     @BeforeEach
     void setUp() {
@@ -24,6 +35,12 @@ class RedisConfigTest {
         ReflectionTestUtils.setField(redisConfig, "redisHost", "localhost");
         ReflectionTestUtils.setField(redisConfig, "redisPort", 6379);
         ReflectionTestUtils.setField(redisConfig, "redisPassword", "testpassword");
+        clientResources = redisConfig.lettuceClientResources(new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        clientResources.shutdown();
     }
 
     @Test
@@ -31,7 +48,7 @@ class RedisConfigTest {
     void redisConnectionFactory_WithSslEnabled_ShouldReturnFactory() {
         ReflectionTestUtils.setField(redisConfig, "sslEnabled", true);
 
-        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory();
+        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory(clientResources);
 
         assertThat(factory).isNotNull();
         assertThat(factory.getHostName()).isEqualTo("localhost");
@@ -44,7 +61,7 @@ class RedisConfigTest {
     void redisConnectionFactory_WithSslDisabled_ShouldReturnFactory() {
         ReflectionTestUtils.setField(redisConfig, "sslEnabled", false);
 
-        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory();
+        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory(clientResources);
 
         assertThat(factory).isNotNull();
         assertThat(factory.getHostName()).isEqualTo("localhost");
@@ -52,6 +69,61 @@ class RedisConfigTest {
         factory.destroy();
     }
 
+    @Test
+    @DisplayName("Should apply the lettuce pool settings and share the native connection")
+    void redisConnectionFactory_ShouldUsePoolSettings() {
+        ReflectionTestUtils.setField(redisConfig, "sslEnabled", false);
+        ReflectionTestUtils.setField(redisConfig, "poolMaxActive", 16);
+        ReflectionTestUtils.setField(redisConfig, "poolMinIdle", 2);
+        ReflectionTestUtils.setField(redisConfig, "commandTimeout", Duration.ofMillis(1500));
+
+        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory(clientResources);
+
+        assertThat(factory.getClientConfiguration()).isInstanceOf(LettucePoolingClientConfiguration.class);
+        LettucePoolingClientConfiguration configuration = (LettucePoolingClientConfiguration) factory.getClientConfiguration();
+        assertThat(configuration.getPoolConfig().getMaxTotal()).isEqualTo(16);
+        assertThat(configuration.getPoolConfig().getMinIdle()).isEqualTo(2);
+        assertThat(configuration.getCommandTimeout()).isEqualTo(Duration.ofMillis(1500));
+        assertThat(configuration.getClientResources()).contains(clientResources);
+        assertThat(factory.getShareNativeConnection()).isTrue();
+        factory.destroy();
+    }
+
+    @Test
+    @DisplayName("Should connect through Sentinel when a master is configured")
+    void redisConnectionFactory_WithSentinelMaster_ShouldBeSentinelAware() {
+        ReflectionTestUtils.setField(redisConfig, "sslEnabled", false);
+        ReflectionTestUtils.setField(redisConfig, "sentinelMaster", "mymaster");
+        ReflectionTestUtils.setField(redisConfig, "sentinelNodes", List.of("sentinel1:26379", "sentinel2:26379"));
+
+        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory(clientResources);
+
+        assertThat(factory.getSentinelConfiguration()).isNotNull();
+        assertThat(factory.getSentinelConfiguration().getMaster().getName()).isEqualTo("mymaster");
+        assertThat(factory.getSentinelConfiguration().getSentinels()).hasSize(2);
+        assertThat(factory.isClusterAware()).isFalse();
+        factory.destroy();
+    }
+
+    @Test
+    @DisplayName("Should connect to a cluster when cluster nodes are configured")
+    void redisConnectionFactory_WithClusterNodes_ShouldBeClusterAware() {
+        ReflectionTestUtils.setField(redisConfig, "sslEnabled", false);
+        ReflectionTestUtils.setField(redisConfig, "clusterNodes", List.of("node1:6379", "node2:6379", "node3:6379"));
+
+        LettuceConnectionFactory factory = redisConfig.redisConnectionFactory(clientResources);
+
+        assertThat(factory.isClusterAware()).isTrue();
+        assertThat(factory.getClusterConfiguration().getClusterNodes()).hasSize(3);
+        factory.destroy();
+    }
+
+    @Test
+    @DisplayName("Should record command latencies in Micrometer")
+    void lettuceClientResources_ShouldUseMicrometerRecorder() {
+        assertThat(clientResources.commandLatencyRecorder()).isInstanceOf(MicrometerCommandLatencyRecorder.class);
+    }
+
     @Test
     @DisplayName("Should create RedisTemplate with StringRedisSerializer")
     void redisTemplate_ShouldReturnConfiguredTemplate() {
@@ -65,4 +137,14 @@ class RedisConfigTest {
         assertThat(template.getHashKeySerializer()).isInstanceOf(StringRedisSerializer.class);
         assertThat(template.getHashValueSerializer()).isInstanceOf(StringRedisSerializer.class);
     }
+
+    @Test
+    @DisplayName("Should create a reactive String template for the rate limiter")
+    void reactiveStringRedisTemplate_ShouldUseConnectionFactory() {
+        ReactiveRedisConnectionFactory connectionFactory = mock(ReactiveRedisConnectionFactory.class);
+
+        ReactiveStringRedisTemplate template = redisConfig.reactiveStringRedisTemplate(connectionFactory);
+
+        assertThat(template.getConnectionFactory()).isSameAs(connectionFactory);
+    }
 }
\ No newline at end of file
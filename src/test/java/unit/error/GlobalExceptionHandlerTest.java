@@ -1,6 +1,8 @@
 package unit.error;
 
 import com.shaurya.hospitalManagement.error.ApiError;
+import com.shaurya.hospitalManagement.error.BadRequestException;
+import com.shaurya.hospitalManagement.error.ConflictException;
 import com.shaurya.hospitalManagement.error.GlobalExceptionHandler;
 import com.shaurya.hospitalManagement.error.RateLimitError;
 import io.jsonwebtoken.JwtException;
@@ -86,6 +88,36 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getError()).isEqualTo("Access denied: Insufficient permissions");
     }
 
+    @Test
+    @DisplayName("Should handle BadRequestException and return BAD_REQUEST")
+    void handleBadRequestException_ShouldReturnBadRequest() {
+        // Arrange
+        BadRequestException exception = new BadRequestException("from must not be after to");
+
+        // Act
+        ResponseEntity<ApiError> response = exceptionHandler.handleBadRequestException(exception);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getError()).isEqualTo("from must not be after to");
+    }
+
+    @Test
+    @DisplayName("Should handle ConflictException and return CONFLICT")
+    void handleConflictException_ShouldReturnConflict() {
+        // Arrange
+        ConflictException exception = new ConflictException("A duplicate patient scan is already running");
+
+        // Act
+        ResponseEntity<ApiError> response = exceptionHandler.handleConflictException(exception);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getError()).isEqualTo("A duplicate patient scan is already running");
+    }
+
     @Test
     @DisplayName("Should handle generic Exception and return INTERNAL_SERVER_ERROR")
     void handleGenericException_ShouldReturnInternalServerError() {
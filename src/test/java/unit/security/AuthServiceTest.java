@@ -8,12 +8,14 @@ import com.shaurya.hospitalManagement.entity.Patient;
 import com.shaurya.hospitalManagement.entity.User;
 import com.shaurya.hospitalManagement.entity.type.AuthProviderType;
 import com.shaurya.hospitalManagement.entity.type.RoleType;
+import com.shaurya.hospitalManagement.error.RateLimitError;
 import com.shaurya.hospitalManagement.repository.PatientRepository;
 import com.shaurya.hospitalManagement.repository.UserRepository;
 import com.shaurya.hospitalManagement.security.AuthService;
 import com.shaurya.hospitalManagement.security.AuthUtil;
+import com.shaurya.hospitalManagement.security.IpUtil;
+import com.shaurya.hospitalManagement.security.RateLimiterService;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,6 +30,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -36,11 +39,10 @@ import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for AuthService
- * Focuses on: signup, login, JWT generation, authentication
+ * Focuses on: signup, login, JWT generation, authentication, rate limiting
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("AuthService Unit Tests")
-@Disabled
 class AuthServiceTest {
 
     @Mock
@@ -61,6 +63,12 @@ class AuthServiceTest {
     @Mock
     private Authentication authentication;
 
+    @Mock
+    private RateLimiterService rateLimiterService;
+
+    @Mock
+    private IpUtil ipUtil;
+
     @InjectMocks
     private AuthService authService;
 
@@ -97,10 +105,27 @@ class AuthServiceTest {
                 .build();
     }
 
+    private static CompletableFuture<RateLimiterService.RateLimit> allowed(int remaining) {
+        return CompletableFuture.completedFuture(new RateLimiterService.RateLimit(true, remaining, 0));
+    }
+
+    private void allowLogin() {
+        when(ipUtil.getClientIp()).thenReturn("10.0.0.1");
+        when(rateLimiterService.checkIpLogin("10.0.0.1")).thenReturn(allowed(5));
+        when(rateLimiterService.checkLogin("arjun.k@email.com")).thenReturn(allowed(5));
+    }
+
+    private void allowSignup() {
+        when(ipUtil.getClientIp()).thenReturn("10.0.0.1");
+        when(rateLimiterService.checkIpSignup("10.0.0.1")).thenReturn(allowed(3));
+        when(rateLimiterService.checkSignup("arjun.k@email.com")).thenReturn(allowed(3));
+    }
+
     @Test
     @DisplayName("Should create user successfully on signup")
     void signup_WithValidData_ShouldCreateUser() {
         // Arrange
+        allowSignup();
         when(userRepository.findByUsername("arjun.k@email.com")).thenReturn(Optional.empty());
         when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
         when(patientRepository.save(any(Patient.class))).thenReturn(testPatient);
@@ -124,6 +149,7 @@ class AuthServiceTest {
     @DisplayName("Should encode password during signup")
     void signup_ShouldEncodePassword() {
         // Arrange
+        allowSignup();
         when(userRepository.findByUsername(any())).thenReturn(Optional.empty());
         when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
         when(patientRepository.save(any(Patient.class))).thenReturn(testPatient);
@@ -140,6 +166,7 @@ class AuthServiceTest {
     @DisplayName("Should login successfully with valid credentials")
     void login_WithValidCredentials_ShouldReturnJwtToken() {
         // Arrange
+        allowLogin();
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(testUser);
@@ -155,12 +182,14 @@ class AuthServiceTest {
 
         verify(authenticationManager, times(1)).authenticate(any());
         verify(authUtil, times(1)).generateAccessToken(testUser);
+        verify(rateLimiterService, times(1)).resetLoginAttempts("arjun.k@email.com", "10.0.0.1");
     }
 
     @Test
     @DisplayName("Should throw exception on invalid credentials")
     void login_WithInvalidCredentials_ShouldThrowException() {
         // Arrange
+        allowLogin();
         when(authenticationManager.authenticate(any()))
                 .thenThrow(new BadCredentialsException("Invalid credentials"));
 
@@ -169,12 +198,55 @@ class AuthServiceTest {
                 .isInstanceOf(BadCredentialsException.class);
 
         verify(authenticationManager, times(1)).authenticate(any());
+        verify(rateLimiterService, times(1)).recordLoginFailure("arjun.k@email.com", "10.0.0.1");
+        verify(rateLimiterService, never()).resetLoginAttempts(any(), any());
+    }
+
+    /**
+     * Test: Rate limit checks
+     * Why: Both checks are issued before either is awaited, so the verdict costs one Redis round trip
+     */
+    @Test
+    @DisplayName("Should issue both login checks and skip authentication when the IP is limited")
+    void login_WhenIpLimited_ShouldNotAuthenticate() {
+        // Arrange
+        when(ipUtil.getClientIp()).thenReturn("10.0.0.1");
+        when(rateLimiterService.checkIpLogin("10.0.0.1"))
+                .thenReturn(CompletableFuture.completedFuture(new RateLimiterService.RateLimit(false, 0, 1200)));
+        when(rateLimiterService.checkLogin("arjun.k@email.com")).thenReturn(new CompletableFuture<>());
+
+        // Act & Assert
+        assertThatThrownBy(() -> authService.login(loginRequest))
+                .isInstanceOf(RateLimitError.RateLimitExceededException.class)
+                .hasMessage("Too many login attempts from this IP. Try again after 1200 seconds");
+        verify(rateLimiterService, times(1)).checkLogin("arjun.k@email.com");
+        verifyNoInteractions(authenticationManager);
+        verify(rateLimiterService, never()).recordLoginFailure(any(), any());
+    }
+
+    /**
+     * Test: Redis unavailable during the check
+     * Why: The Redis error itself reaches the error handler, not a CompletionException around it
+     */
+    @Test
+    @DisplayName("Should rethrow the Redis failure of a rate limit check")
+    void login_WhenCheckFails_ShouldRethrowCause() {
+        // Arrange
+        IllegalStateException redisDown = new IllegalStateException("Redis unavailable");
+        when(ipUtil.getClientIp()).thenReturn("10.0.0.1");
+        when(rateLimiterService.checkIpLogin("10.0.0.1")).thenReturn(CompletableFuture.failedFuture(redisDown));
+        when(rateLimiterService.checkLogin("arjun.k@email.com")).thenReturn(allowed(5));
+
+        // Act & Assert
+        assertThatThrownBy(() -> authService.login(loginRequest)).isSameAs(redisDown);
+        verifyNoInteractions(authenticationManager);
     }
 
     @Test
     @DisplayName("Should throw exception when user already exists")
     void signup_WithExistingUsername_ShouldThrowException() {
         // Arrange
+        allowSignup();
         when(userRepository.findByUsername("arjun.k@email.com")).thenReturn(Optional.of(testUser));
 
         // Act & Assert
@@ -190,6 +262,7 @@ class AuthServiceTest {
     @DisplayName("Should create patient record during signup")
     void signup_ShouldCreatePatientRecord() {
         // Arrange
+        allowSignup();
         Patient[] savedPatient = new Patient[1];
 
         when(userRepository.findByUsername(any())).thenReturn(Optional.empty());
@@ -215,6 +288,7 @@ class AuthServiceTest {
     @DisplayName("Should assign PATIENT role by default during signup")
     void signup_ShouldAssignPatientRole() {
         // Arrange
+        allowSignup();
         User[] savedUser = new User[1];
 
         when(userRepository.findByUsername(any())).thenReturn(Optional.empty());
@@ -0,0 +1,92 @@
+package unit.security;
+
+import com.shaurya.hospitalManagement.security.LocalRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for LocalRateLimiter
+ *
+ * Tests cover:
+ * - Counting attempts within a window
+ * - Evicting the oldest windows when the key limit is reached
+ */
+@DisplayName("LocalRateLimiter Unit Tests")
+class LocalRateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LocalRateLimiter localRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        localRateLimiter = new LocalRateLimiter(10, meterRegistry);
+    }
+
+    /**
+     * Test: Repeated attempts and a reset
+     * Why: The fallback must count like the Redis limiter, and a successful login clears the counter
+     */
+    @Test
+    @DisplayName("Should count attempts until reset")
+    void increment_ShouldCountUntilReset() {
+        // Act
+        localRateLimiter.increment("rate:login:arjun.k@email.com", Duration.ofHours(1));
+        localRateLimiter.increment("rate:login:arjun.k@email.com", Duration.ofHours(1));
+
+        // Assert
+        assertThat(localRateLimiter.count("rate:login:arjun.k@email.com")).isEqualTo(2);
+        assertThat(localRateLimiter.retryAfter("rate:login:arjun.k@email.com")).isPositive();
+        localRateLimiter.reset("rate:login:arjun.k@email.com");
+        assertThat(localRateLimiter.count("rate:login:arjun.k@email.com")).isZero();
+    }
+
+    /**
+     * Test: A new key while every slot holds a live window
+     * Why: Dropping the new key would let its attempts pass unchecked; the oldest windows make room instead,
+     *      and the eviction is metered so an operator sees the limiter under pressure
+     */
+    @Test
+    @DisplayName("Should evict the oldest windows and keep counting new keys when full")
+    void increment_WhenFull_ShouldEvictOldestAndCountNewKey() {
+        // Arrange: the earliest key gets the shortest window, so it is the oldest one
+        for (int i = 0; i < 10; i++) {
+            localRateLimiter.increment("rate:ip:login:10.0.0." + i, Duration.ofMinutes(10 + i));
+        }
+
+        // Act
+        localRateLimiter.increment("rate:ip:login:10.0.1.1", Duration.ofHours(1));
+
+        // Assert
+        assertThat(localRateLimiter.count("rate:ip:login:10.0.1.1")).isEqualTo(1);
+        assertThat(localRateLimiter.count("rate:ip:login:10.0.0.0")).isZero();
+        assertThat(localRateLimiter.count("rate:ip:login:10.0.0.9")).isEqualTo(1);
+        assertThat(meterRegistry.get("rate.limiter.local.evictions").counter().count()).isEqualTo(1.0);
+    }
+
+    /**
+     * Test: An attempt for a key already tracked while full
+     * Why: Existing counters keep counting and nothing is evicted for them
+     */
+    @Test
+    @DisplayName("Should keep counting tracked keys without evicting when full")
+    void increment_WhenFullAndKeyTracked_ShouldNotEvict() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            localRateLimiter.increment("rate:ip:login:10.0.0." + i, Duration.ofHours(1));
+        }
+
+        // Act
+        localRateLimiter.increment("rate:ip:login:10.0.0.0", Duration.ofHours(1));
+
+        // Assert
+        assertThat(localRateLimiter.count("rate:ip:login:10.0.0.0")).isEqualTo(2);
+        assertThat(meterRegistry.get("rate.limiter.local.evictions").counter().count()).isZero();
+    }
+}
@@ -1,9 +1,11 @@
 package unit.security;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shaurya.hospitalManagement.config.JacksonConfig;
 import com.shaurya.hospitalManagement.dto.LoginResponseDto;
 import com.shaurya.hospitalManagement.security.AuthService;
 import com.shaurya.hospitalManagement.security.OAuth2SuccessHandler;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,16 +14,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.oauth2.core.user.OAuth2User;
+import tools.jackson.databind.json.JsonMapper;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -33,8 +38,9 @@ class OAuth2SuccessHandlerTest {
     @Mock
     private AuthService authService;
 
-    @Mock
-    private ObjectMapper objectMapper;
+    // the application's mapper, spied so the write can be verified
+    @Spy
+    private JsonMapper jsonMapper = JacksonConfig.configure(JsonMapper.builder()).build();
 
     @InjectMocks
     private OAuth2SuccessHandler oAuth2SuccessHandler;
@@ -51,14 +57,28 @@ class OAuth2SuccessHandlerTest {
     @Mock
     private OAuth2User oAuth2User;
 
-    private StringWriter stringWriter;
-    private PrintWriter printWriter;
+    private ByteArrayOutputStream body;
+    private ServletOutputStream outputStream;
 
     @BeforeEach
     void setUp() throws Exception {
-        stringWriter = new StringWriter();
-        printWriter = new PrintWriter(stringWriter);
-        when(response.getWriter()).thenReturn(printWriter);
+        body = new ByteArrayOutputStream();
+        outputStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+        };
+        when(response.getOutputStream()).thenReturn(outputStream);
     }
 
     @Test
@@ -73,7 +93,6 @@ class OAuth2SuccessHandlerTest {
 
         when(authService.handleOAuth2LoginRequest(any(OAuth2User.class), anyString()))
                 .thenReturn(responseEntity);
-        when(objectMapper.writeValueAsString(loginResponseDto)).thenReturn("{\"token\":\"token123\"}");
 
         // Act
         oAuth2SuccessHandler.onAuthenticationSuccess(request, response, authentication);
@@ -82,7 +101,8 @@ class OAuth2SuccessHandlerTest {
         verify(authService).handleOAuth2LoginRequest(oAuth2User, "google");
         verify(response).setStatus(HttpStatus.OK.value());
         verify(response).setContentType(MediaType.APPLICATION_JSON_VALUE);
-        verify(objectMapper).writeValueAsString(loginResponseDto);
+        verify(jsonMapper).writeValue(outputStream, loginResponseDto);
+        assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo("{\"jwt\":\"token123\",\"userId\":1}");
     }
 
     @Test
@@ -96,7 +116,6 @@ class OAuth2SuccessHandlerTest {
         ResponseEntity<LoginResponseDto> responseEntity = ResponseEntity.ok(loginResponseDto);
 
         when(authService.handleOAuth2LoginRequest(oAuth2User, "github")).thenReturn(responseEntity);
-        when(objectMapper.writeValueAsString(loginResponseDto)).thenReturn("{\"token\":\"githubToken\"}");
 
         // Act
         oAuth2SuccessHandler.onAuthenticationSuccess(request, response, authentication);
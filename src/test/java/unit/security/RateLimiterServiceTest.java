@@ -0,0 +1,219 @@
+package unit.security;
+
+import com.shaurya.hospitalManagement.config.RedisCircuitBreaker;
+import com.shaurya.hospitalManagement.security.RateLimiterService;
+import com.shaurya.hospitalManagement.security.RateLimiterService.FallbackPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RateLimiterService
+ *
+ * Tests cover:
+ * - Turning the counter and its TTL into a verdict
+ * - Incrementing a counter and setting its window in one script
+ * - Resetting both counters with one command
+ * - Fallback policies while Redis fails or the circuit is open
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RateLimiterService Unit Tests")
+class RateLimiterServiceTest {
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, String> valueOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RedisCircuitBreaker circuitBreaker;
+    private RateLimiterService rateLimiterService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new RedisCircuitBreaker(2, 60_000, meterRegistry);
+        rateLimiterService = limiter(FallbackPolicy.LOCAL, FallbackPolicy.LOCAL);
+    }
+
+    private RateLimiterService limiter(FallbackPolicy loginFallback, FallbackPolicy signupFallback) {
+        return new RateLimiterService(redisTemplate, circuitBreaker, meterRegistry, 250,
+                5, 3600, loginFallback, 3, 86400, signupFallback);
+    }
+
+    private void redisDown() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenReturn(Mono.error(new IllegalStateException("Redis unavailable")));
+        when(redisTemplate.getExpire(anyString())).thenReturn(Mono.error(new IllegalStateException("Redis unavailable")));
+    }
+
+    /**
+     * Test: Counter at the limit
+     * Why: The check reports the time left in the window so the client knows when to retry
+     */
+    @Test
+    @DisplayName("Should deny a login at the limit with the remaining window")
+    void checkLogin_AtLimit_ShouldDenyWithRetryAfter() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("rate:login:arjun.k@email.com")).thenReturn(Mono.just("5"));
+        when(redisTemplate.getExpire("rate:login:arjun.k@email.com")).thenReturn(Mono.just(Duration.ofSeconds(1200)));
+
+        // Act
+        RateLimiterService.RateLimit limit = rateLimiterService.checkLogin("arjun.k@email.com").join();
+
+        // Assert
+        assertThat(limit).isEqualTo(new RateLimiterService.RateLimit(false, 0, 1200));
+    }
+
+    /**
+     * Test: No counter yet
+     * Why: A missing key means no attempts in the current window
+     */
+    @Test
+    @DisplayName("Should allow a first login with all attempts remaining")
+    void checkIpLogin_WithoutCounter_ShouldAllow() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("rate:ip:login:10.0.0.1")).thenReturn(Mono.empty());
+        when(redisTemplate.getExpire("rate:ip:login:10.0.0.1")).thenReturn(Mono.just(Duration.ofSeconds(-2)));
+
+        // Act
+        RateLimiterService.RateLimit limit = rateLimiterService.checkIpLogin("10.0.0.1").join();
+
+        // Assert
+        assertThat(limit).isEqualTo(new RateLimiterService.RateLimit(true, 5, 0));
+    }
+
+    /**
+     * Test: Recording a failed login
+     * Why: INCR followed by a separate EXPIRE leaves a counter without a window if the key expires or the
+     *      instance dies in between; the script does both atomically and gives any TTL-less counter its window
+     */
+    @Test
+    @DisplayName("Should increment each counter and set its window in one script")
+    @SuppressWarnings("unchecked")
+    void recordLoginFailure_ShouldIncrementWithWindowInOneScript() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(1L));
+
+        // Act
+        rateLimiterService.recordLoginFailure("arjun.k@email.com", "10.0.0.1");
+
+        // Assert
+        ArgumentCaptor<RedisScript<Long>> script = ArgumentCaptor.forClass(RedisScript.class);
+        verify(redisTemplate).execute(script.capture(), eq(List.of("rate:login:arjun.k@email.com")), eq(List.of("3600000")));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("rate:ip:login:10.0.0.1")), eq(List.of("3600000")));
+        assertThat(script.getValue().getScriptAsString())
+                .contains("redis.call('incr', KEYS[1])")
+                .contains("redis.call('pexpire', KEYS[1], ARGV[1])");
+        verifyNoInteractions(valueOperations);
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+    }
+
+    /**
+     * Test: Successful login
+     * Why: Both counters go in one DEL, and a Redis failure must not reach the caller
+     */
+    @Test
+    @DisplayName("Should reset both counters with one command and swallow a failure")
+    void resetLoginAttempts_ShouldDeleteBothKeys() {
+        // Arrange
+        when(redisTemplate.delete("rate:login:arjun.k@email.com", "rate:ip:login:10.0.0.1"))
+                .thenReturn(Mono.error(new IllegalStateException("Redis unavailable")));
+
+        // Act
+        rateLimiterService.resetLoginAttempts("arjun.k@email.com", "10.0.0.1");
+
+        // Assert
+        verify(redisTemplate, times(1)).delete("rate:login:arjun.k@email.com", "rate:ip:login:10.0.0.1");
+    }
+
+    /**
+     * Test: Redis failing and the circuit opening
+     * Why: After the threshold logins stop waiting on Redis and count attempts in memory instead
+     */
+    @Test
+    @DisplayName("Should open the circuit and count attempts locally")
+    void checkLogin_WhenRedisFails_ShouldOpenCircuitAndUseLocalCounters() {
+        // Arrange
+        redisDown();
+        rateLimiterService.checkLogin("arjun.k@email.com").join();
+        rateLimiterService.checkLogin("arjun.k@email.com").join();
+        clearInvocations(redisTemplate, valueOperations);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            rateLimiterService.recordLoginFailure("arjun.k@email.com", "10.0.0.1");
+        }
+        RateLimiterService.RateLimit limit = rateLimiterService.checkLogin("arjun.k@email.com").join();
+
+        // Assert
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        assertThat(limit.allowed()).isFalse();
+        assertThat(limit.remaining()).isZero();
+        assertThat(limit.retryAfter()).isPositive();
+        verifyNoInteractions(redisTemplate, valueOperations);
+        assertThat(meterRegistry.get("rate.limiter.fallback").tags("limit", "login", "policy", "local").counter().count())
+                .isEqualTo(3.0);
+    }
+
+    /**
+     * Test: Fail-closed and fail-open limits while Redis fails
+     * Why: Each limit follows its own policy, signups can be refused while logins stay open
+     */
+    @Test
+    @DisplayName("Should apply each limit's fail-open or fail-closed policy")
+    void check_WhenRedisFails_ShouldFollowPolicyPerLimit() {
+        // Arrange
+        redisDown();
+        rateLimiterService = limiter(FallbackPolicy.OPEN, FallbackPolicy.CLOSED);
+
+        // Act
+        RateLimiterService.RateLimit loginLimit = rateLimiterService.checkLogin("arjun.k@email.com").join();
+        RateLimiterService.RateLimit signupLimit = rateLimiterService.checkSignup("arjun.k@email.com").join();
+
+        // Assert
+        assertThat(loginLimit).isEqualTo(new RateLimiterService.RateLimit(true, 5, 0));
+        assertThat(signupLimit.allowed()).isFalse();
+        assertThat(signupLimit.retryAfter()).isPositive();
+    }
+
+    /**
+     * Test: Redis slower than the call deadline
+     * Why: A stalled Redis must cost a login the deadline, not the client's command timeout
+     */
+    @Test
+    @DisplayName("Should fall back when Redis does not answer within the deadline")
+    void checkLogin_WhenRedisStalls_ShouldFallBackAfterDeadline() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenReturn(Mono.never());
+        when(redisTemplate.getExpire(anyString())).thenReturn(Mono.never());
+
+        // Act
+        long start = System.nanoTime();
+        RateLimiterService.RateLimit limit = rateLimiterService.checkLogin("arjun.k@email.com").join();
+
+        // Assert
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(limit).isEqualTo(new RateLimiterService.RateLimit(true, 5, 0));
+    }
+}
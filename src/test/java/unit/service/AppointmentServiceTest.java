@@ -5,10 +5,16 @@ import com.shaurya.hospitalManagement.dto.CreateAppointmentRequestDto;
 import com.shaurya.hospitalManagement.entity.Appointment;
 import com.shaurya.hospitalManagement.entity.Doctor;
 import com.shaurya.hospitalManagement.entity.Patient;
+import com.shaurya.hospitalManagement.error.BadRequestException;
+import com.shaurya.hospitalManagement.mapper.AppointmentMapper;
+import com.shaurya.hospitalManagement.mapper.AppointmentMapperImpl;
+import com.shaurya.hospitalManagement.mapper.DoctorMapperImpl;
 import com.shaurya.hospitalManagement.repository.AppointmentRepository;
 import com.shaurya.hospitalManagement.repository.DoctorRepository;
 import com.shaurya.hospitalManagement.repository.PatientRepository;
 import com.shaurya.hospitalManagement.service.AppointmentService;
+import com.shaurya.hospitalManagement.service.DoctorLoadBalancer;
+import com.shaurya.hospitalManagement.service.DoctorWorkloadService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,12 +22,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -50,8 +57,15 @@ class AppointmentServiceTest {
     @Mock
     private PatientRepository patientRepository;
 
+    // the generated mapper, spied so its calls can be verified
+    @Spy
+    private AppointmentMapper appointmentMapper = new AppointmentMapperImpl(new DoctorMapperImpl());
+
+    @Mock
+    private DoctorWorkloadService doctorWorkloadService;
+
     @Mock
-    private ModelMapper modelMapper;
+    private DoctorLoadBalancer doctorLoadBalancer;
 
     @InjectMocks
     private AppointmentService appointmentService;
@@ -109,7 +123,6 @@ class AppointmentServiceTest {
         when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
         when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
         when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
-        when(modelMapper.map(testAppointment, AppointmentResponseDto.class)).thenReturn(responseDto);
 
         // Act: Call the method under test
         AppointmentResponseDto result = appointmentService.createNewAppointment(createRequestDto);
@@ -124,7 +137,50 @@ class AppointmentServiceTest {
         verify(patientRepository, times(1)).findById(1L);
         verify(doctorRepository, times(1)).findById(1L);
         verify(appointmentRepository, times(1)).save(any(Appointment.class));
-        verify(modelMapper, times(1)).map(testAppointment, AppointmentResponseDto.class);
+        verify(appointmentMapper, times(1)).toResponseDto(testAppointment);
+        verify(doctorWorkloadService, times(1)).appointmentAdded(1L, LocalDateTime.of(2026, 1, 25, 10, 30));
+        verify(doctorLoadBalancer, times(1)).booked(1L, LocalDateTime.of(2026, 1, 25, 10, 30));
+    }
+
+    /**
+     * Test: Booking for a department
+     * Why: Without a doctor the least loaded doctor of the department is assigned
+     */
+    @Test
+    @DisplayName("Should assign the least loaded doctor when only a department is given")
+    void createNewAppointment_WithDepartmentId_ShouldAutoAssignDoctor() {
+        // Arrange
+        createRequestDto.setDoctorId(null);
+        createRequestDto.setDepartmentId(10L);
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
+        when(doctorLoadBalancer.assign(10L)).thenReturn(1L);
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
+        when(appointmentRepository.save(any(Appointment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        appointmentService.createNewAppointment(createRequestDto);
+
+        // Assert
+        assertThat(testPatient.getAppointments().getFirst().getDoctor()).isSameAs(testDoctor);
+        verify(doctorLoadBalancer, never()).booked(any(), any());
+        verify(doctorWorkloadService, times(1)).appointmentAdded(1L, LocalDateTime.of(2026, 1, 25, 10, 30));
+    }
+
+    /**
+     * Test: Neither doctor nor department
+     * Why: There is nothing to book against, fail before any lookup
+     */
+    @Test
+    @DisplayName("Should reject a booking without doctor and department")
+    void createNewAppointment_WithoutDoctorAndDepartment_ShouldThrowException() {
+        // Arrange
+        createRequestDto.setDoctorId(null);
+
+        // Act & Assert
+        assertThatThrownBy(() -> appointmentService.createNewAppointment(createRequestDto))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Either doctorId or departmentId is required");
+        verifyNoInteractions(patientRepository, doctorLoadBalancer);
     }
 
     /**
@@ -146,6 +202,7 @@ class AppointmentServiceTest {
         verify(patientRepository, times(1)).findById(1L);
         verify(doctorRepository, never()).findById(any());
         verify(appointmentRepository, never()).save(any());
+        verifyNoInteractions(doctorWorkloadService);
     }
 
     /**
@@ -180,7 +237,6 @@ class AppointmentServiceTest {
         when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
         when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
         when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
-        when(modelMapper.map(any(), eq(AppointmentResponseDto.class))).thenReturn(responseDto);
 
         // Act
         appointmentService.createNewAppointment(createRequestDto);
@@ -200,11 +256,8 @@ class AppointmentServiceTest {
         // Arrange
         List<Appointment> appointments = new ArrayList<>();
         appointments.add(testAppointment);
-        testDoctor.setAppointments(appointments);
 
-        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
-        when(modelMapper.map(any(Appointment.class), eq(AppointmentResponseDto.class)))
-                .thenReturn(responseDto);
+        when(appointmentRepository.findAllByDoctorIdWithDoctor(1L)).thenReturn(appointments);
 
         // Act
         List<AppointmentResponseDto> result = appointmentService.getAllAppointmentsOfDoctor(1L);
@@ -215,8 +268,9 @@ class AppointmentServiceTest {
         assertThat(result.get(0).getId()).isEqualTo(1L);
         assertThat(result.get(0).getReason()).isEqualTo("Routine checkup");
 
-        verify(doctorRepository, times(1)).findById(1L);
-        verify(modelMapper, times(1)).map(any(Appointment.class), eq(AppointmentResponseDto.class));
+        verify(appointmentRepository, times(1)).findAllByDoctorIdWithDoctor(1L);
+        verify(doctorRepository, never()).findById(any());
+        verify(appointmentMapper, times(1)).toResponseDto(any(Appointment.class));
     }
 
     /**
@@ -246,6 +300,28 @@ class AppointmentServiceTest {
 
         verify(appointmentRepository, times(1)).findById(1L);
         verify(doctorRepository, times(1)).findById(2L);
+        verify(doctorWorkloadService, times(1)).appointmentRemoved(1L, LocalDateTime.of(2026, 1, 25, 10, 30));
+        verify(doctorWorkloadService, times(1)).appointmentAdded(2L, LocalDateTime.of(2026, 1, 25, 10, 30));
+        verify(doctorLoadBalancer, times(1)).released(1L, LocalDateTime.of(2026, 1, 25, 10, 30));
+        verify(doctorLoadBalancer, times(1)).booked(2L, LocalDateTime.of(2026, 1, 25, 10, 30));
+    }
+
+    /**
+     * Test: Reassign appointment to its current doctor
+     * Why: The doctor's workload did not change, the rollup must not be touched
+     */
+    @Test
+    @DisplayName("Should leave the workload rollup alone when the doctor is unchanged")
+    void reAssignAppointmentToAnotherDoctor_WithSameDoctor_ShouldNotChangeWorkload() {
+        // Arrange
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
+
+        // Act
+        appointmentService.reAssignAppointmentToAnotherDoctor(1L, 1L);
+
+        // Assert
+        verifyNoInteractions(doctorWorkloadService, doctorLoadBalancer);
     }
 
     /**
@@ -263,15 +339,12 @@ class AppointmentServiceTest {
                 .build();
 
         List<Appointment> appointments = List.of(testAppointment, appointment2);
-        testDoctor.setAppointments(appointments);
 
         AppointmentResponseDto responseDto2 = new AppointmentResponseDto();
         responseDto2.setId(2L);
         responseDto2.setReason("Follow-up");
 
-        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
-        when(modelMapper.map(testAppointment, AppointmentResponseDto.class)).thenReturn(responseDto);
-        when(modelMapper.map(appointment2, AppointmentResponseDto.class)).thenReturn(responseDto2);
+        when(appointmentRepository.findAllByDoctorIdWithDoctor(1L)).thenReturn(appointments);
 
         // Act
         List<AppointmentResponseDto> result = appointmentService.getAllAppointmentsOfDoctor(1L);
@@ -281,6 +354,22 @@ class AppointmentServiceTest {
         assertThat(result.get(0).getReason()).isEqualTo("Routine checkup");
         assertThat(result.get(1).getReason()).isEqualTo("Follow-up");
 
-        verify(modelMapper, times(2)).map(any(Appointment.class), eq(AppointmentResponseDto.class));
+        verify(appointmentMapper, times(2)).toResponseDto(any(Appointment.class));
+    }
+
+    /**
+     * Test: Appointments of an unknown doctor
+     * Why: An empty result alone cannot tell a missing doctor from one without appointments
+     */
+    @Test
+    @DisplayName("Should throw exception when doctor does not exist")
+    void getAllAppointmentsOfDoctor_WhenDoctorNotFound_ShouldThrowException() {
+        // Arrange
+        when(appointmentRepository.findAllByDoctorIdWithDoctor(99L)).thenReturn(List.of());
+        when(doctorRepository.existsById(99L)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> appointmentService.getAllAppointmentsOfDoctor(99L))
+                .isInstanceOf(NoSuchElementException.class);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package unit.service;
+
+import com.shaurya.hospitalManagement.service.DepartmentDirectory;
+import com.shaurya.hospitalManagement.service.DepartmentIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DepartmentDirectory
+ *
+ * Tests cover:
+ * - Loading the index once and reusing it
+ * - Invalidation while a load is running
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DepartmentDirectory Unit Tests")
+class DepartmentDirectoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private DepartmentDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        directory = new DepartmentDirectory(jdbcTemplate, redisTemplate, listenerContainer);
+    }
+
+    private void invalidateFromOtherInstance() {
+        directory.onMessage(new DefaultMessage(
+                DepartmentDirectory.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "departments".getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    /**
+     * Test: Repeated requests
+     * Why: The navigation endpoints must not query the database once the index is loaded
+     */
+    @Test
+    @DisplayName("Should load the index once")
+    void get_ShouldLoadOnce() {
+        // Act
+        DepartmentIndex first = directory.get();
+        DepartmentIndex second = directory.get();
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    /**
+     * Test: Membership change arriving while the index is being loaded
+     * Why: The load may have read the old memberships, and the load balancer keys its counts on the index
+     */
+    @Test
+    @DisplayName("Should not keep an index whose load overlapped an invalidation")
+    void get_WhenInvalidatedDuringLoad_ShouldReloadOnNextRequest() {
+        // Arrange
+        doAnswer(invocation -> {
+            invalidateFromOtherInstance();
+            return null;
+        }).doNothing().when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        // Act
+        DepartmentIndex overlapped = directory.get();
+        DepartmentIndex next = directory.get();
+
+        // Assert
+        assertThat(next).isNotSameAs(overlapped);
+        assertThat(directory.get()).isSameAs(next);
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowCallbackHandler.class));
+    }
+}
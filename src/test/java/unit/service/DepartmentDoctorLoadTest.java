@@ -0,0 +1,135 @@
+package unit.service;
+
+import com.shaurya.hospitalManagement.error.ConflictException;
+import com.shaurya.hospitalManagement.service.DepartmentDoctorLoad;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for DepartmentDoctorLoad
+ *
+ * Tests cover:
+ * - Least loaded pick with round robin on ties
+ * - Fair spread under concurrent bookings
+ * - Releasing and unknown doctors
+ */
+@DisplayName("DepartmentDoctorLoad Unit Tests")
+class DepartmentDoctorLoadTest {
+
+    /**
+     * Test: Uneven starting loads
+     * Why: The busy doctor gets nothing until the others have caught up
+     */
+    @Test
+    @DisplayName("Should pick the least loaded doctor and break ties by id")
+    void acquire_ShouldPickLeastLoadedDoctor() {
+        // Arrange
+        DepartmentDoctorLoad load = new DepartmentDoctorLoad(Map.of(1L, 2, 2L, 0, 3L, 1));
+
+        // Act
+        long first = load.acquire();
+        long second = load.acquire();
+        long third = load.acquire();
+
+        // Assert
+        assertThat(first).isEqualTo(2L);
+        assertThat(second).isEqualTo(2L);
+        assertThat(third).isEqualTo(3L);
+        assertThat(load.getLoads()).containsExactly(Map.entry(1L, 2), Map.entry(2L, 2), Map.entry(3L, 2));
+    }
+
+    /**
+     * Test: Concurrent bookings
+     * Why: Each pick and its increment must be atomic, otherwise two threads take the same doctor
+     *      and the loads drift apart
+     */
+    @Test
+    @DisplayName("Should spread concurrent bookings evenly")
+    void acquire_Concurrently_ShouldStayFair() throws InterruptedException {
+        // Arrange
+        int doctors = 8;
+        int threads = 16;
+        int bookingsPerThread = 5_000;
+        Map<Long, Integer> initial = new ConcurrentHashMap<>();
+        for (long id = 1; id <= doctors; id++) {
+            initial.put(id, 0);
+        }
+        DepartmentDoctorLoad load = new DepartmentDoctorLoad(initial);
+        Map<Long, AtomicInteger> assigned = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < bookingsPerThread; i++) {
+                    assigned.computeIfAbsent(load.acquire(), id -> new AtomicInteger()).incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Assert
+        int expected = threads * bookingsPerThread / doctors;
+        assertThat(assigned).hasSize(doctors);
+        assertThat(assigned.values()).allSatisfy(count -> assertThat(count.get()).isEqualTo(expected));
+        assertThat(load.getLoads().values()).containsOnly(expected);
+    }
+
+    /**
+     * Test: Released appointment
+     * Why: A cancelled or rolled back booking makes the doctor the next pick again
+     */
+    @Test
+    @DisplayName("Should make a released doctor the next pick")
+    void decrement_ShouldLowerLoad() {
+        // Arrange
+        DepartmentDoctorLoad load = new DepartmentDoctorLoad(Map.of(1L, 1, 2L, 1));
+
+        // Act
+        boolean released = load.decrement(2L);
+
+        // Assert
+        assertThat(released).isTrue();
+        assertThat(load.acquire()).isEqualTo(2L);
+    }
+
+    /**
+     * Test: Doctor outside the department and empty department
+     * Why: Bookings are applied to every loaded department, most of them do not have the doctor
+     */
+    @Test
+    @DisplayName("Should ignore unknown doctors and reject empty departments")
+    void changes_WithUnknownDoctorOrNoDoctors_ShouldBeHandled() {
+        // Arrange
+        DepartmentDoctorLoad load = new DepartmentDoctorLoad(Map.of(1L, 0));
+        DepartmentDoctorLoad empty = new DepartmentDoctorLoad(Map.of());
+
+        // Act & Assert
+        assertThat(load.increment(9L)).isFalse();
+        assertThat(load.decrement(9L)).isFalse();
+        assertThat(load.getLoads()).containsExactly(Map.entry(1L, 0));
+        assertThatThrownBy(empty::acquire)
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Department has no doctors to assign");
+    }
+}
@@ -0,0 +1,112 @@
+package unit.service;
+
+import com.shaurya.hospitalManagement.dto.DepartmentResponseDto;
+import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
+import com.shaurya.hospitalManagement.service.DepartmentIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for DepartmentIndex
+ *
+ * Tests cover:
+ * - Grouping membership rows into the department to doctors adjacency
+ * - Departments without doctors and unknown departments
+ * - Sharing doctors between departments
+ */
+@DisplayName("DepartmentIndex Unit Tests")
+class DepartmentIndexTest {
+
+    private final DoctorResponseDto mehta = new DoctorResponseDto(1L, "Dr. Amit Mehta", "Cardiology", "amit.mehta@hospital.com");
+    private final DoctorResponseDto verma = new DoctorResponseDto(2L, "Dr. Neha Verma", "Neurology", "neha.verma@hospital.com");
+
+    /**
+     * Test: Membership rows
+     * Why: The query returns one row per membership, the index must group them per department in row order
+     */
+    @Test
+    @DisplayName("Should group membership rows by department")
+    void build_ShouldGroupRowsByDepartment() {
+        // Arrange
+        DepartmentIndex.Builder builder = DepartmentIndex.builder();
+        builder.add(10L, "Cardiology", mehta, mehta);
+        builder.add(10L, "Cardiology", mehta, verma);
+        builder.add(20L, "Neurology", null, verma);
+
+        // Act
+        DepartmentIndex index = builder.build();
+
+        // Assert
+        assertThat(index.getDepartments()).extracting(DepartmentResponseDto::getName)
+                .containsExactly("Cardiology", "Neurology");
+        assertThat(index.getDepartments()).extracting(DepartmentResponseDto::getDoctorCount).containsExactly(2, 1);
+        assertThat(index.getDepartments().getFirst().getHeadDoctor()).isSameAs(mehta);
+        assertThat(index.getDoctors(10L)).contains(List.of(mehta, verma));
+        assertThat(index.getDoctors(20L)).contains(List.of(verma));
+    }
+
+    /**
+     * Test: Doctor in two departments
+     * Why: The adjacency holds each doctor once, however many departments list it
+     */
+    @Test
+    @DisplayName("Should share a doctor between departments")
+    void build_ShouldShareDoctorsBetweenDepartments() {
+        // Arrange
+        DepartmentIndex.Builder builder = DepartmentIndex.builder();
+        builder.add(10L, "Cardiology", null, verma);
+        builder.add(20L, "Neurology", null,
+                new DoctorResponseDto(2L, "Dr. Neha Verma", "Neurology", "neha.verma@hospital.com"));
+
+        // Act
+        DepartmentIndex index = builder.build();
+
+        // Assert
+        assertThat(index.getDoctors(20L).orElseThrow().getFirst())
+                .isSameAs(index.getDoctors(10L).orElseThrow().getFirst());
+    }
+
+    /**
+     * Test: Empty and unknown departments
+     * Why: An empty department is a valid page, an unknown one is a 404
+     */
+    @Test
+    @DisplayName("Should tell an empty department from an unknown one")
+    void getDoctors_ShouldDistinguishEmptyFromUnknown() {
+        // Arrange
+        DepartmentIndex.Builder builder = DepartmentIndex.builder();
+        builder.add(30L, "Radiology", null, null);
+
+        // Act
+        DepartmentIndex index = builder.build();
+
+        // Assert
+        assertThat(index.getDoctors(30L)).contains(List.of());
+        assertThat(index.getDoctors(99L)).isEmpty();
+        assertThat(index.getDepartments().getFirst().getDoctorCount()).isZero();
+    }
+
+    /**
+     * Test: Immutability
+     * Why: One index is shared by all requests
+     */
+    @Test
+    @DisplayName("Should not allow the lists to be modified")
+    void build_ShouldReturnUnmodifiableLists() {
+        // Arrange
+        DepartmentIndex.Builder builder = DepartmentIndex.builder();
+        builder.add(10L, "Cardiology", null, mehta);
+        DepartmentIndex index = builder.build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> index.getDoctors(10L).orElseThrow().add(verma))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> index.getDepartments().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
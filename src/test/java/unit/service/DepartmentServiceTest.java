@@ -0,0 +1,215 @@
+package unit.service;
+
+import com.shaurya.hospitalManagement.dto.CreateDepartmentRequestDto;
+import com.shaurya.hospitalManagement.dto.DepartmentResponseDto;
+import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
+import com.shaurya.hospitalManagement.entity.Department;
+import com.shaurya.hospitalManagement.entity.Doctor;
+import com.shaurya.hospitalManagement.error.BadRequestException;
+import com.shaurya.hospitalManagement.error.ConflictException;
+import com.shaurya.hospitalManagement.mapper.DoctorMapper;
+import com.shaurya.hospitalManagement.mapper.DoctorMapperImpl;
+import com.shaurya.hospitalManagement.repository.DepartmentRepository;
+import com.shaurya.hospitalManagement.repository.DoctorRepository;
+import com.shaurya.hospitalManagement.service.DepartmentDirectory;
+import com.shaurya.hospitalManagement.service.DepartmentIndex;
+import com.shaurya.hospitalManagement.service.DepartmentService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DepartmentService
+ *
+ * Tests cover:
+ * - Reads served from the department index
+ * - Membership and head doctor changes invalidating the index
+ * - Error handling
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DepartmentService Unit Tests")
+class DepartmentServiceTest {
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private DepartmentDirectory departmentDirectory;
+
+    @Spy
+    private DoctorMapper doctorMapper = new DoctorMapperImpl();
+
+    @InjectMocks
+    private DepartmentService departmentService;
+
+    private Department department;
+    private Doctor doctor;
+
+    @BeforeEach
+    void setUp() {
+        department = new Department();
+        department.setId(10L);
+        department.setName("Cardiology");
+
+        doctor = Doctor.builder()
+                .id(1L)
+                .name("Dr. Amit Mehta")
+                .specialization("Cardiology")
+                .email("amit.mehta@hospital.com")
+                .build();
+    }
+
+    /**
+     * Test: Department listing
+     * Why: Reads must come from the in-memory index, never from the repositories
+     */
+    @Test
+    @DisplayName("Should serve departments and their doctors from the index")
+    void reads_ShouldUseIndex() {
+        // Arrange
+        DoctorResponseDto doctorDto = new DoctorResponseDto(1L, "Dr. Amit Mehta", "Cardiology", "amit.mehta@hospital.com");
+        DepartmentIndex.Builder builder = DepartmentIndex.builder();
+        builder.add(10L, "Cardiology", doctorDto, doctorDto);
+        when(departmentDirectory.get()).thenReturn(builder.build());
+
+        // Act
+        List<DepartmentResponseDto> departments = departmentService.getDepartments();
+        Optional<List<DoctorResponseDto>> doctors = departmentService.getDepartmentDoctors(10L);
+
+        // Assert
+        assertThat(departments).hasSize(1);
+        assertThat(doctors).contains(List.of(doctorDto));
+        verifyNoInteractions(departmentRepository, doctorRepository);
+    }
+
+    /**
+     * Test: Create department with a head doctor
+     * Why: The head becomes a member and the index is refreshed
+     */
+    @Test
+    @DisplayName("Should create department with head doctor as member")
+    void createDepartment_WithHeadDoctor_ShouldAddHeadAsMember() {
+        // Arrange
+        when(departmentRepository.existsByName("Cardiology")).thenReturn(false);
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+        when(departmentRepository.save(any(Department.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        DepartmentResponseDto result = departmentService.createDepartment(new CreateDepartmentRequestDto("Cardiology", 1L));
+
+        // Assert
+        assertThat(result.getName()).isEqualTo("Cardiology");
+        assertThat(result.getHeadDoctor()).isNotNull();
+        assertThat(result.getDoctorCount()).isEqualTo(1);
+        verify(departmentDirectory, times(1)).invalidate();
+    }
+
+    /**
+     * Test: Duplicate department name
+     * Why: Names are unique, the check gives a readable error instead of a constraint violation
+     */
+    @Test
+    @DisplayName("Should reject a duplicate department name")
+    void createDepartment_WhenNameExists_ShouldThrowException() {
+        // Arrange
+        when(departmentRepository.existsByName("Cardiology")).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> departmentService.createDepartment(new CreateDepartmentRequestDto("Cardiology", null)))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Department already exists: Cardiology");
+        verify(departmentRepository, never()).save(any());
+        verify(departmentDirectory, never()).invalidate();
+    }
+
+    /**
+     * Test: Blank department name
+     * Why: A missing name is the caller's mistake and is answered with 400, not the catch-all 500
+     */
+    @Test
+    @DisplayName("Should reject a blank department name")
+    void createDepartment_WhenNameBlank_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> departmentService.createDepartment(new CreateDepartmentRequestDto(" ", null)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Department name is required");
+        verifyNoInteractions(departmentRepository);
+    }
+
+    /**
+     * Test: Adding an existing member
+     * Why: Nothing changed, so the index stays loaded
+     */
+    @Test
+    @DisplayName("Should invalidate the index only when membership changes")
+    void addDoctor_ShouldInvalidateOnlyOnChange() {
+        // Arrange
+        when(departmentRepository.findById(10L)).thenReturn(Optional.of(department));
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+
+        // Act
+        DepartmentResponseDto first = departmentService.addDoctor(10L, 1L);
+        DepartmentResponseDto second = departmentService.addDoctor(10L, 1L);
+
+        // Assert
+        assertThat(first.getDoctorCount()).isEqualTo(1);
+        assertThat(second.getDoctorCount()).isEqualTo(1);
+        verify(departmentDirectory, times(1)).invalidate();
+    }
+
+    /**
+     * Test: Removing the head doctor
+     * Why: A department is not headed by a doctor outside it
+     */
+    @Test
+    @DisplayName("Should clear the head when the head doctor is removed")
+    void removeDoctor_WhenHead_ShouldClearHead() {
+        // Arrange
+        department.getDoctors().add(doctor);
+        department.setHeadDoctor(doctor);
+        when(departmentRepository.findById(10L)).thenReturn(Optional.of(department));
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+
+        // Act
+        DepartmentResponseDto result = departmentService.removeDoctor(10L, 1L);
+
+        // Assert
+        assertThat(result.getDoctorCount()).isZero();
+        assertThat(result.getHeadDoctor()).isNull();
+        assertThat(department.getHeadDoctor()).isNull();
+        verify(departmentDirectory, times(1)).invalidate();
+    }
+
+    /**
+     * Test: Unknown department
+     * Why: Ensures proper error handling for invalid department ID
+     */
+    @Test
+    @DisplayName("Should throw exception when department not found")
+    void setHeadDoctor_WhenDepartmentNotFound_ShouldThrowException() {
+        // Arrange
+        when(departmentRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> departmentService.setHeadDoctor(99L, 1L))
+                .isInstanceOf(EntityNotFoundException.class);
+        verify(departmentDirectory, never()).invalidate();
+    }
+}
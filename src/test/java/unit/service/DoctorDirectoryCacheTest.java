@@ -0,0 +1,174 @@
+package unit.service;
+
+import com.shaurya.hospitalManagement.config.JacksonConfig;
+import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
+import com.shaurya.hospitalManagement.repository.DoctorRepository;
+import com.shaurya.hospitalManagement.service.DoctorDirectoryCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DoctorDirectoryCache
+ *
+ * Tests cover:
+ * - Building the JSON once and reusing it
+ * - Stable ETags
+ * - Invalidation after commit and from other instances
+ * - Invalidation while a build is running
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DoctorDirectoryCache Unit Tests")
+class DoctorDirectoryCacheTest {
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final JsonMapper jsonMapper = JacksonConfig.configure(JsonMapper.builder()).build();
+    private DoctorDirectoryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DoctorDirectoryCache(doctorRepository, jsonMapper, redisTemplate, listenerContainer);
+        DoctorResponseDto doctor = new DoctorResponseDto(1L, "Dr. Amit Mehta", "Cardiology", "amit.mehta@hospital.com");
+        when(doctorRepository.findAllDirectoryEntries()).thenReturn(List.of(doctor));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Test: Repeated requests
+     * Why: The directory is queried and serialized once, later requests get the same bytes
+     */
+    @Test
+    @DisplayName("Should build the directory once and serve the same bytes")
+    void get_ShouldBuildOnce() throws Exception {
+        // Act
+        DoctorDirectoryCache.Directory first = cache.get();
+        DoctorDirectoryCache.Directory second = cache.get();
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        List<DoctorResponseDto> doctors = List.of(jsonMapper.readValue(first.json(), DoctorResponseDto[].class));
+        assertThat(doctors).extracting(DoctorResponseDto::getName).containsExactly("Dr. Amit Mehta");
+        assertThat(first.eTag()).startsWith("\"").endsWith("\"");
+        verify(doctorRepository, times(1)).findAllDirectoryEntries();
+    }
+
+    /**
+     * Test: Rebuild without changes
+     * Why: The ETag depends only on the content, so clients keep their copy after a rebuild or on another instance
+     */
+    @Test
+    @DisplayName("Should give the same ETag for the same doctors")
+    void get_AfterRebuild_ShouldKeepETag() {
+        // Arrange
+        String eTag = cache.get().eTag();
+
+        // Act
+        cache.invalidate();
+
+        // Assert
+        assertThat(cache.get().eTag()).isEqualTo(eTag);
+        verify(doctorRepository, times(2)).findAllDirectoryEntries();
+        verify(redisTemplate).convertAndSend(DoctorDirectoryCache.INVALIDATION_CHANNEL, "doctors");
+    }
+
+    /**
+     * Test: Invalidation inside a transaction
+     * Why: The directory must not be rebuilt from rows that are not committed yet
+     */
+    @Test
+    @DisplayName("Should defer invalidation until after commit")
+    void invalidate_InsideTransaction_ShouldWaitForCommit() {
+        // Arrange
+        DoctorDirectoryCache.Directory before = cache.get();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        cache.invalidate();
+
+        // Assert
+        assertThat(cache.get()).isSameAs(before);
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+
+        TransactionSynchronizationManager.getSynchronizations().getFirst().afterCommit();
+        assertThat(cache.get()).isNotSameAs(before);
+    }
+
+    /**
+     * Test: Change on another instance
+     * Why: A pub/sub message drops the local copy
+     */
+    @Test
+    @DisplayName("Should drop the directory when another instance invalidates it")
+    void onMessage_ShouldDropDirectory() {
+        // Arrange
+        DoctorDirectoryCache.Directory before = cache.get();
+
+        // Act
+        cache.onMessage(new DefaultMessage(
+                DoctorDirectoryCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "doctors".getBytes(StandardCharsets.UTF_8)), null);
+
+        // Assert
+        assertThat(cache.get()).isNotSameAs(before);
+        verify(doctorRepository, times(2)).findAllDirectoryEntries();
+    }
+
+    /**
+     * Test: Invalidation arriving while the directory is being built
+     * Why: The build may have read the rows before the change, keeping it would serve them until the next change
+     */
+    @Test
+    @DisplayName("Should not keep a directory whose build overlapped an invalidation")
+    void get_WhenInvalidatedDuringBuild_ShouldRebuildOnNextRequest() {
+        // Arrange
+        DoctorResponseDto old = new DoctorResponseDto(1L, "Dr. Amit Mehta", "Cardiology", "amit.mehta@hospital.com");
+        DoctorResponseDto renamed = new DoctorResponseDto(1L, "Dr. Amit K. Mehta", "Cardiology", "amit.mehta@hospital.com");
+        when(doctorRepository.findAllDirectoryEntries())
+                .thenAnswer(invocation -> {
+                    cache.onMessage(new DefaultMessage(
+                            DoctorDirectoryCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                            "doctors".getBytes(StandardCharsets.UTF_8)), null);
+                    return List.of(old);
+                })
+                .thenReturn(List.of(renamed));
+
+        // Act
+        DoctorDirectoryCache.Directory overlapped = cache.get();
+        DoctorDirectoryCache.Directory next = cache.get();
+
+        // Assert
+        assertThat(next).isNotSameAs(overlapped);
+        assertThat(new String(next.json(), StandardCharsets.UTF_8)).contains("Dr. Amit K. Mehta");
+        verify(doctorRepository, times(2)).findAllDirectoryEntries();
+    }
+}
@@ -0,0 +1,123 @@
+package unit.service;
+
+import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
+import com.shaurya.hospitalManagement.service.DepartmentDirectory;
+import com.shaurya.hospitalManagement.service.DepartmentIndex;
+import com.shaurya.hospitalManagement.service.DoctorLoadBalancer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DoctorLoadBalancer
+ *
+ * Tests cover:
+ * - Loading each department once
+ * - Rollbacks compensating the loads they counted against, also across a reload
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DoctorLoadBalancer Unit Tests")
+class DoctorLoadBalancerTest {
+
+    private static final long CARDIOLOGY = 1L;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DepartmentDirectory departmentDirectory;
+
+    private DoctorLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        DepartmentIndex.Builder builder = DepartmentIndex.builder();
+        builder.add(CARDIOLOGY, "Cardiology", null, new DoctorResponseDto(3L, "Dr. Amit Mehta", "Cardiology", null));
+        builder.add(CARDIOLOGY, "Cardiology", null, new DoctorResponseDto(4L, "Dr. Neha Verma", "Cardiology", null));
+        when(departmentDirectory.get()).thenReturn(builder.build());
+        // no upcoming appointments: the mocked query leaves every count at zero
+        loadBalancer = new DoctorLoadBalancer(jdbcTemplate, departmentDirectory);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private void rollBack() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    }
+
+    /**
+     * Test: Repeated assignments in one department
+     * Why: The upcoming appointments are queried once, later assignments use the counts in memory
+     */
+    @Test
+    @DisplayName("Should load a department's counts once and spread assignments")
+    void assign_ShouldLoadDepartmentOnce() {
+        // Act
+        long first = loadBalancer.assign(CARDIOLOGY);
+        long second = loadBalancer.assign(CARDIOLOGY);
+
+        // Assert
+        assertThat(second).isNotEqualTo(first);
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class), any(), any());
+    }
+
+    /**
+     * Test: Booking rolled back after a refresh reloaded the loads
+     * Why: The fresh counts never included the booking, taking it out of them would undercount the doctor
+     */
+    @Test
+    @DisplayName("Should leave a reloaded load alone when a booking rolls back")
+    void booked_RolledBackAfterRefresh_ShouldNotTouchNewLoad() {
+        // Arrange
+        loadBalancer.getLoad(CARDIOLOGY);
+        loadBalancer.booked(3L, LocalDateTime.now().plusDays(1));
+        loadBalancer.refresh();
+        // the reload read the doctor's other upcoming appointment
+        loadBalancer.getLoad(CARDIOLOGY).increment(3L);
+
+        // Act
+        rollBack();
+
+        // Assert
+        assertThat(loadBalancer.getLoad(CARDIOLOGY).getLoads()).containsEntry(3L, 1);
+    }
+
+    /**
+     * Test: Booking rolled back without a reload
+     * Why: The booking's count is taken back out of the load it was added to
+     */
+    @Test
+    @DisplayName("Should take a rolled back booking out of the load")
+    void booked_RolledBack_ShouldDecrement() {
+        // Arrange
+        loadBalancer.getLoad(CARDIOLOGY);
+        loadBalancer.booked(3L, LocalDateTime.now().plusDays(1));
+        assertThat(loadBalancer.getLoad(CARDIOLOGY).getLoads()).containsEntry(3L, 1);
+
+        // Act
+        rollBack();
+
+        // Assert
+        assertThat(loadBalancer.getLoad(CARDIOLOGY).getLoads()).containsEntry(3L, 0);
+    }
+}
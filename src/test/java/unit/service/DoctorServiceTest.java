@@ -1,12 +1,18 @@
 package unit.service;
 
+import com.shaurya.hospitalManagement.dto.DoctorFieldsPageResponseDto;
+import com.shaurya.hospitalManagement.dto.DoctorPageResponseDto;
 import com.shaurya.hospitalManagement.dto.DoctorResponseDto;
 import com.shaurya.hospitalManagement.dto.OnBoardDoctorRequestDto;
 import com.shaurya.hospitalManagement.entity.Doctor;
 import com.shaurya.hospitalManagement.entity.User;
 import com.shaurya.hospitalManagement.entity.type.RoleType;
+import com.shaurya.hospitalManagement.error.BadRequestException;
+import com.shaurya.hospitalManagement.mapper.DoctorMapper;
+import com.shaurya.hospitalManagement.mapper.DoctorMapperImpl;
 import com.shaurya.hospitalManagement.repository.DoctorRepository;
 import com.shaurya.hospitalManagement.repository.UserRepository;
+import com.shaurya.hospitalManagement.service.DoctorDirectoryCache;
 import com.shaurya.hospitalManagement.service.DoctorService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,8 +20,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.*;
 
@@ -30,6 +37,7 @@ import static org.mockito.Mockito.*;
  *
  * Tests cover:
  * - Retrieving all doctors
+ * - Filtered, keyset paginated search
  * - Onboarding new doctors
  * - Role assignment
  * - Error handling
@@ -44,8 +52,12 @@ class DoctorServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    // the generated mapper, spied so its calls can be verified
+    @Spy
+    private DoctorMapper doctorMapper = new DoctorMapperImpl();
+
     @Mock
-    private ModelMapper modelMapper;
+    private DoctorDirectoryCache doctorDirectoryCache;
 
     @InjectMocks
     private DoctorService doctorService;
@@ -102,16 +114,13 @@ class DoctorServiceTest {
 
     /**
      * Test: Get all doctors
-     * Why: Verifies retrieval and mapping of all doctors
+     * Why: Verifies the directory is served by the projection query
      */
     @Test
     @DisplayName("Should return all doctors when doctors exist")
     void getAllDoctors_WhenDoctorsExist_ShouldReturnDoctorList() {
         // Arrange
-        List<Doctor> doctors = Arrays.asList(testDoctor1, testDoctor2);
-        when(doctorRepository.findAll()).thenReturn(doctors);
-        when(modelMapper.map(testDoctor1, DoctorResponseDto.class)).thenReturn(responseDto1);
-        when(modelMapper.map(testDoctor2, DoctorResponseDto.class)).thenReturn(responseDto2);
+        when(doctorRepository.findAllDirectoryEntries()).thenReturn(Arrays.asList(responseDto1, responseDto2));
 
         // Act
         List<DoctorResponseDto> result = doctorService.getAllDoctors();
@@ -124,8 +133,9 @@ class DoctorServiceTest {
         assertThat(result.get(1).getName()).isEqualTo("Dr. Neha Verma");
         assertThat(result.get(1).getSpecialization()).isEqualTo("Neurology");
 
-        verify(doctorRepository, times(1)).findAll();
-        verify(modelMapper, times(2)).map(any(Doctor.class), eq(DoctorResponseDto.class));
+        verify(doctorRepository, times(1)).findAllDirectoryEntries();
+        verify(doctorRepository, never()).findAll();
+        verifyNoInteractions(doctorMapper);
     }
 
     /**
@@ -136,7 +146,7 @@ class DoctorServiceTest {
     @DisplayName("Should return empty list when no doctors exist")
     void getAllDoctors_WhenNoDoctors_ShouldReturnEmptyList() {
         // Arrange
-        when(doctorRepository.findAll()).thenReturn(Collections.emptyList());
+        when(doctorRepository.findAllDirectoryEntries()).thenReturn(Collections.emptyList());
 
         // Act
         List<DoctorResponseDto> result = doctorService.getAllDoctors();
@@ -145,8 +155,8 @@ class DoctorServiceTest {
         assertThat(result).isNotNull();
         assertThat(result).isEmpty();
 
-        verify(doctorRepository, times(1)).findAll();
-        verify(modelMapper, never()).map(any(), any());
+        verify(doctorRepository, times(1)).findAllDirectoryEntries();
+        verify(doctorMapper, never()).toResponseDto(any());
     }
 
     /**
@@ -172,7 +182,6 @@ class DoctorServiceTest {
         when(userRepository.findById(5L)).thenReturn(Optional.of(testUser));
         when(doctorRepository.existsById(5L)).thenReturn(false);
         when(doctorRepository.save(any(Doctor.class))).thenReturn(newDoctor);
-        when(modelMapper.map(newDoctor, DoctorResponseDto.class)).thenReturn(expectedResponse);
 
         // Act
         DoctorResponseDto result = doctorService.onBoardNewDoctor(onBoardRequest);
@@ -190,6 +199,7 @@ class DoctorServiceTest {
         verify(userRepository, times(1)).findById(5L);
         verify(doctorRepository, times(1)).existsById(5L);
         verify(doctorRepository, times(1)).save(any(Doctor.class));
+        verify(doctorDirectoryCache, times(1)).invalidate();
     }
 
     /**
@@ -252,7 +262,6 @@ class DoctorServiceTest {
         when(userRepository.findById(5L)).thenReturn(Optional.of(testUser));
         when(doctorRepository.existsById(5L)).thenReturn(false);
         when(doctorRepository.save(any(Doctor.class))).thenReturn(newDoctor);
-        when(modelMapper.map(any(), eq(DoctorResponseDto.class))).thenReturn(new DoctorResponseDto());
 
         // Act
         doctorService.onBoardNewDoctor(onBoardRequest);
@@ -274,8 +283,7 @@ class DoctorServiceTest {
     @DisplayName("Should return single doctor when only one exists")
     void getAllDoctors_WithSingleDoctor_ShouldReturnListWithOneDoctor() {
         // Arrange
-        when(doctorRepository.findAll()).thenReturn(Collections.singletonList(testDoctor1));
-        when(modelMapper.map(testDoctor1, DoctorResponseDto.class)).thenReturn(responseDto1);
+        when(doctorRepository.findAllDirectoryEntries()).thenReturn(Collections.singletonList(responseDto1));
 
         // Act
         List<DoctorResponseDto> result = doctorService.getAllDoctors();
@@ -283,7 +291,85 @@ class DoctorServiceTest {
         // Assert
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getName()).isEqualTo("Dr. Amit Mehta");
+    }
+
+    /**
+     * Test: Search returns a cursor when more rows exist
+     * Why: The service asks for one row more than the page instead of counting
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should return next cursor when search finds more than one page")
+    void searchDoctors_WhenMoreRowsThanPage_ShouldReturnNextCursor() {
+        // Arrange
+        when(doctorRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testDoctor1, testDoctor2));
+
+        // Act
+        DoctorPageResponseDto result = doctorService.searchDoctors("Cardiology", 3L, "dr", null, 1);
+
+        // Assert
+        assertThat(result.getDoctors()).containsExactly(responseDto1);
+        assertThat(result.getNextCursor()).isEqualTo(1L);
+        verify(doctorMapper, never()).toResponseDto(testDoctor2);
+    }
+
+    /**
+     * Test: Search on the last page
+     * Why: No cursor tells the client to stop paging
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should return no cursor on the last page")
+    void searchDoctors_WhenLastPage_ShouldReturnNullCursor() {
+        // Arrange
+        when(doctorRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testDoctor2));
+
+        // Act
+        DoctorPageResponseDto result = doctorService.searchDoctors(null, null, null, 1L, null);
+
+        // Assert
+        assertThat(result.getDoctors()).containsExactly(responseDto2);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    /**
+     * Test: Search with a sparse fieldset
+     * Why: The id is read for the cursor even when the client did not ask for it, and is not returned
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should select the id for the cursor and leave it out of the rows")
+    void searchDoctors_WithFields_ShouldKeepCursorAndDropUnrequestedId() {
+        // Arrange
+        List<Map<String, Object>> rows = new ArrayList<>(List.of(
+                new LinkedHashMap<>(Map.of("id", 1L, "name", "Dr. Amit Mehta")),
+                new LinkedHashMap<>(Map.of("id", 2L, "name", "Dr. Neha Verma"))));
+        when(doctorRepository.findFields(eq(Doctor.class), eq(List.of("id", "name")), any(Specification.class), any()))
+                .thenReturn(rows);
+
+        // Act
+        DoctorFieldsPageResponseDto result = doctorService.searchDoctors("Cardiology", null, null, null, 1, "name");
+
+        // Assert
+        assertThat(result.getDoctors()).containsExactly(Map.of("name", "Dr. Amit Mehta"));
+        assertThat(result.getNextCursor()).isEqualTo(1L);
+        verify(doctorRepository, never()).findBy(any(Specification.class), any());
+        verifyNoInteractions(doctorMapper);
+    }
+
+    /**
+     * Test: Search with an out of range page size
+     * Why: Bounds the rows a single request can pull
+     */
+    @Test
+    @DisplayName("Should reject page sizes outside 1 to 100")
+    void searchDoctors_WithInvalidSize_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> doctorService.searchDoctors(null, null, null, null, 0))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> doctorService.searchDoctors(null, null, null, null, 101))
+                .isInstanceOf(BadRequestException.class);
 
-        verify(modelMapper, times(1)).map(any(Doctor.class), eq(DoctorResponseDto.class));
+        verifyNoInteractions(doctorRepository);
     }
-}
\ No newline at end of file
+}
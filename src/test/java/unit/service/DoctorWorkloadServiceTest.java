@@ -0,0 +1,172 @@
+package unit.service;
+
+import com.shaurya.hospitalManagement.dto.DoctorWorkloadResponseDto;
+import com.shaurya.hospitalManagement.entity.DoctorDailyWorkload;
+import com.shaurya.hospitalManagement.error.BadRequestException;
+import com.shaurya.hospitalManagement.repository.DoctorDailyWorkloadRepository;
+import com.shaurya.hospitalManagement.service.DoctorWorkloadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DoctorWorkloadService
+ *
+ * Tests cover:
+ * - Incremental rollup updates for added and removed appointments
+ * - Reports served from the rollup only
+ * - Nightly reconcile and the one time backfill
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DoctorWorkloadService Unit Tests")
+class DoctorWorkloadServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DoctorDailyWorkloadRepository doctorDailyWorkloadRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DoctorWorkloadService doctorWorkloadService;
+
+    @BeforeEach
+    void setUp() {
+        doctorWorkloadService = new DoctorWorkloadService(jdbcTemplate, doctorDailyWorkloadRepository,
+                transactionManager, 35, 366);
+    }
+
+    /**
+     * Test: Appointment added and removed
+     * Why: The rollup is keyed by day, the time of day must not leak into the key
+     */
+    @Test
+    @DisplayName("Should adjust the doctor's row for the appointment day")
+    void appointmentAddedAndRemoved_ShouldUpdateDayRow() {
+        // Arrange
+        LocalDateTime time = LocalDateTime.of(2026, 1, 25, 10, 30);
+        Date day = Date.valueOf(LocalDate.of(2026, 1, 25));
+
+        // Act
+        doctorWorkloadService.appointmentAdded(1L, time);
+        doctorWorkloadService.appointmentRemoved(2L, time);
+
+        // Assert
+        verify(jdbcTemplate).update(startsWith("insert into doctor_daily_workload"), eq(1L), eq(day));
+        verify(jdbcTemplate).update(startsWith("update doctor_daily_workload"), eq(2L), eq(day));
+    }
+
+    /**
+     * Test: Workload report
+     * Why: Reads must come from the rollup, never from the appointment table
+     */
+    @Test
+    @DisplayName("Should read the workload report from the rollup")
+    void getWorkload_ShouldReadRollupOnly() {
+        // Arrange
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 1, 31);
+        when(doctorDailyWorkloadRepository.findAllByWorkDateBetweenOrderByWorkDateAscDoctorIdAsc(from, to))
+                .thenReturn(List.of(new DoctorDailyWorkload(1L, LocalDate.of(2026, 1, 25), 7)));
+
+        // Act
+        List<DoctorWorkloadResponseDto> result = doctorWorkloadService.getWorkload(from, to, null);
+
+        // Assert
+        assertThat(result).containsExactly(new DoctorWorkloadResponseDto(1L, LocalDate.of(2026, 1, 25), 7));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    /**
+     * Test: Workload report for one doctor
+     * Why: The doctor filter goes to the primary key lookup
+     */
+    @Test
+    @DisplayName("Should filter the workload report by doctor")
+    void getWorkload_WithDoctorId_ShouldFilterByDoctor() {
+        // Arrange
+        LocalDate day = LocalDate.of(2026, 1, 25);
+        when(doctorDailyWorkloadRepository.findAllByDoctorIdAndWorkDateBetweenOrderByWorkDateAsc(2L, day, day))
+                .thenReturn(List.of());
+
+        // Act
+        List<DoctorWorkloadResponseDto> result = doctorWorkloadService.getWorkload(day, day, 2L);
+
+        // Assert
+        assertThat(result).isEmpty();
+        verify(doctorDailyWorkloadRepository, never()).findAllByWorkDateBetweenOrderByWorkDateAscDoctorIdAsc(any(), any());
+    }
+
+    /**
+     * Test: Invalid date ranges
+     * Why: Reversed or oversized ranges are rejected before any read
+     */
+    @Test
+    @DisplayName("Should reject reversed and oversized date ranges")
+    void getWorkload_WithInvalidRange_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> doctorWorkloadService.getWorkload(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 1, 1), null))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("from must not be after to");
+        assertThatThrownBy(() -> doctorWorkloadService.getWorkload(LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 2), null))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Date range must not exceed 366 days");
+        verifyNoInteractions(doctorDailyWorkloadRepository);
+    }
+
+    /**
+     * Test: Nightly reconcile
+     * Why: Counts and empty days from the start of the window are fixed in one transaction
+     */
+    @Test
+    @DisplayName("Should reconcile the window in one transaction")
+    void reconcileFrom_ShouldCorrectCountsAndRemoveEmptyDays() {
+        // Arrange
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        when(jdbcTemplate.update(startsWith("insert into doctor_daily_workload"), eq(Timestamp.valueOf(from.atStartOfDay()))))
+                .thenReturn(3);
+        when(jdbcTemplate.update(startsWith("delete from doctor_daily_workload"), eq(Date.valueOf(from))))
+                .thenReturn(1);
+
+        // Act
+        doctorWorkloadService.reconcileFrom(from);
+
+        // Assert
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    /**
+     * Test: Backfill on a filled rollup
+     * Why: The backfill scans all appointments, it must only run when the rollup is empty
+     */
+    @Test
+    @DisplayName("Should skip the backfill when the rollup has rows")
+    void backfillIfEmpty_WhenRollupHasRows_ShouldDoNothing() {
+        // Arrange
+        when(doctorDailyWorkloadRepository.count()).thenReturn(12L);
+
+        // Act
+        doctorWorkloadService.backfillIfEmpty();
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate, transactionManager);
+    }
+}
@@ -0,0 +1,173 @@
+package unit.service;
+
+import com.shaurya.hospitalManagement.service.DuplicatePatientDetector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for DuplicatePatientDetector
+ *
+ * Tests cover:
+ * - Matching through each blocking key
+ * - Pair de-duplication and ranking
+ * - Oversized blocks
+ * - Larger inputs split across fork-join tasks
+ */
+@DisplayName("DuplicatePatientDetector Unit Tests")
+class DuplicatePatientDetectorTest {
+
+    private static final LocalDate BIRTH_DATE = LocalDate.of(1990, 1, 15);
+
+    /**
+     * Test: Same person, reordered name, other email provider
+     * Why: The typical OAuth signup next to a password signup, found once even though it shares several blocks
+     */
+    @Test
+    @DisplayName("Should report a matching pair once with the lower id first")
+    void detect_WithReorderedNameAndSameBirthDate_ShouldReportPairOnce() {
+        // Arrange
+        DuplicatePatientDetector detector = DuplicatePatientDetector.builder(3)
+                .add(7, "Doe, John", "johndoe@yahoo.com", BIRTH_DATE)
+                .add(3, "John Doe", "john.doe@gmail.com", BIRTH_DATE)
+                .add(5, "Meera Saxena", "meera@example.com", BIRTH_DATE)
+                .build();
+
+        // Act
+        DuplicatePatientDetector.Result result = detector.detect(0.8, 100);
+
+        // Assert
+        assertThat(result.candidates()).hasSize(1);
+        DuplicatePatientDetector.Candidate candidate = result.candidates().getFirst();
+        assertThat(candidate.patientId()).isEqualTo(3L);
+        assertThat(candidate.duplicatePatientId()).isEqualTo(7L);
+        assertThat(candidate.score()).isGreaterThan(0.99);
+        assertThat(candidate.reasons()).isEqualTo(DuplicatePatientDetector.REASON_SIMILAR_NAME
+                | DuplicatePatientDetector.REASON_SAME_BIRTH_DATE
+                | DuplicatePatientDetector.REASON_SAME_EMAIL_NAME);
+    }
+
+    /**
+     * Test: Typo in the name
+     * Why: The birth date block still brings the two records together
+     */
+    @Test
+    @DisplayName("Should match a misspelt name with the same birth date")
+    void detect_WithTypoInName_ShouldMatch() {
+        // Arrange
+        DuplicatePatientDetector detector = DuplicatePatientDetector.builder(2)
+                .add(1, "Arjun Krishnan", "arjun@example.com", BIRTH_DATE)
+                .add(2, "Arjun Krisnan", "ak1990@example.org", BIRTH_DATE)
+                .build();
+
+        // Act & Assert
+        assertThat(detector.detect(0.8, 100).candidates())
+                .extracting(DuplicatePatientDetector.Candidate::duplicatePatientId)
+                .containsExactly(2L);
+    }
+
+    /**
+     * Test: Different people
+     * Why: Sharing a birth date or an email domain alone is not enough
+     */
+    @Test
+    @DisplayName("Should not match different people that share a block")
+    void detect_WithDifferentPeople_ShouldNotMatch() {
+        // Arrange
+        DuplicatePatientDetector detector = DuplicatePatientDetector.builder(3)
+                .add(1, "Rohan Malhotra", "rohan@example.com", BIRTH_DATE)
+                .add(2, "Rohit Mehra", "rohit@example.com", BIRTH_DATE)
+                .add(3, "Rohan Malhotra", "r.malhotra@example.com", LocalDate.of(1971, 6, 2))
+                .build();
+
+        // Act & Assert
+        assertThat(detector.detect(0.8, 100).candidates()).isEmpty();
+    }
+
+    /**
+     * Test: Ranking
+     * Why: Reviewers work through the list from the most likely duplicate down
+     */
+    @Test
+    @DisplayName("Should rank candidates by score")
+    void detect_ShouldRankByScore() {
+        // Arrange
+        DuplicatePatientDetector detector = DuplicatePatientDetector.builder(4)
+                .add(1, "Priya Sharma", "priya.sharma@gmail.com", BIRTH_DATE)
+                .add(2, "Priya Sharma", "priyasharma@outlook.com", BIRTH_DATE)
+                .add(3, "Kavya Ramanathan", "kavya@example.com", LocalDate.of(1985, 3, 3))
+                .add(4, "Kavya Ramanatan", "kramanathan@example.net", LocalDate.of(1985, 3, 3))
+                .build();
+
+        // Act
+        List<DuplicatePatientDetector.Candidate> candidates = detector.detect(0.8, 100).candidates();
+
+        // Assert
+        assertThat(candidates).extracting(DuplicatePatientDetector.Candidate::patientId).containsExactly(1L, 3L);
+        assertThat(candidates.get(0).score()).isGreaterThan(candidates.get(1).score());
+    }
+
+    /**
+     * Test: Oversized block
+     * Why: A key shared by too many patients is skipped instead of compared pairwise
+     */
+    @Test
+    @DisplayName("Should skip blocks above the size limit")
+    void detect_WithOversizedBlock_ShouldSkipIt() {
+        // Arrange
+        DuplicatePatientDetector.Builder builder = DuplicatePatientDetector.builder(10);
+        for (int i = 0; i < 10; i++) {
+            builder.add(i, "Amit Kumar", null, BIRTH_DATE);
+        }
+
+        // Act
+        DuplicatePatientDetector.Result result = builder.build().detect(0.8, 5);
+
+        // Assert
+        assertThat(result.oversizedBlocks()).isEqualTo(1);
+        assertThat(result.candidates()).isEmpty();
+    }
+
+    /**
+     * Test: Parallel run
+     * Why: Splitting the blocks across tasks must find every planted duplicate exactly once
+     */
+    @Test
+    @DisplayName("Should find planted duplicates in a large population")
+    void detect_WithLargePopulation_ShouldFindPlantedDuplicates() {
+        // Arrange
+        Random random = new Random(11);
+        int patients = 100_000;
+        DuplicatePatientDetector.Builder builder = DuplicatePatientDetector.builder(patients + 100);
+        for (int i = 0; i < patients; i++) {
+            builder.add(i, randomWord(random, 6) + " " + randomWord(random, 8), "p" + i + "@example.com",
+                    LocalDate.of(1930, 1, 1).plusDays(random.nextInt(95 * 365)));
+        }
+        for (int i = 0; i < 100; i++) {
+            String name = "Planted " + randomWord(random, 10);
+            LocalDate birthDate = LocalDate.of(1960, 1, 1).plusDays(i);
+            builder.add(1_000_000 + i, name, "planted" + i + "@gmail.com", birthDate);
+            builder.add(2_000_000 + i, name, "planted" + i + "@hospital.org", birthDate);
+        }
+
+        // Act
+        DuplicatePatientDetector.Result result = builder.build().detect(0.95, 500);
+
+        // Assert
+        assertThat(result.candidates()).hasSize(100);
+        assertThat(result.candidates())
+                .allSatisfy(candidate -> assertThat(candidate.duplicatePatientId() - candidate.patientId())
+                        .isEqualTo(1_000_000L));
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) word.append((char) ('a' + random.nextInt(26)));
+        return word.toString();
+    }
+}
@@ -0,0 +1,142 @@
+package unit.service;
+
+import com.shaurya.hospitalManagement.dto.DuplicateScanResponseDto;
+import com.shaurya.hospitalManagement.error.ConflictException;
+import com.shaurya.hospitalManagement.repository.PatientMergeCandidateRepository;
+import com.shaurya.hospitalManagement.service.DuplicatePatientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.shaurya.hospitalManagement.mapper.PatientMergeCandidateMapperImpl;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DuplicatePatientService
+ *
+ * Tests cover:
+ * - Loading patients, scoring and replacing the stored candidates
+ * - Scan status for finished and failed scans
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DuplicatePatientService Unit Tests")
+class DuplicatePatientServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PatientMergeCandidateRepository patientMergeCandidateRepository;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private DuplicatePatientService duplicatePatientService;
+
+    @BeforeEach
+    void setUp() {
+        // runs the scan on the calling thread, so it has finished when startScan returns
+        duplicatePatientService = new DuplicatePatientService(jdbcTemplate, transactionManager, new SyncTaskExecutor(),
+                patientMergeCandidateRepository, new PatientMergeCandidateMapperImpl(), 0.8, 500);
+    }
+
+    /**
+     * Test: Complete scan
+     * Why: Candidates replace the previous scan's rows and the status reports what was compared
+     */
+    @Test
+    @DisplayName("Should store the candidates found among the loaded patients")
+    @SuppressWarnings("unchecked")
+    void startScan_ShouldReplaceStoredCandidates() throws Exception {
+        // Arrange
+        Date birthDate = Date.valueOf(LocalDate.of(1990, 1, 15));
+        when(resultSet.getLong(1)).thenReturn(1L, 2L, 3L);
+        when(resultSet.getString(2)).thenReturn("John Doe", "Doe John", "Meera Saxena");
+        when(resultSet.getString(3)).thenReturn("john.doe@gmail.com", "johndoe@yahoo.com", "meera@example.com");
+        when(resultSet.getDate(4)).thenReturn(birthDate, birthDate, birthDate);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < 3; i++) handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        // Act
+        DuplicateScanResponseDto started = duplicatePatientService.startScan();
+        DuplicateScanResponseDto finished = duplicatePatientService.getLastScan();
+
+        // Assert
+        assertThat(started.getStatus()).isEqualTo(DuplicateScanResponseDto.Status.RUNNING);
+        assertThat(finished.getStatus()).isEqualTo(DuplicateScanResponseDto.Status.COMPLETED);
+        assertThat(finished.getPatients()).isEqualTo(3);
+        assertThat(finished.getCandidates()).isEqualTo(1);
+        assertThat(finished.getFinishedAt()).isNotNull();
+
+        ArgumentCaptor<Collection<Object>> written = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).update("delete from patient_merge_candidate");
+        verify(jdbcTemplate).batchUpdate(startsWith("insert into patient_merge_candidate"), written.capture(),
+                anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(written.getValue()).hasSize(1);
+    }
+
+    /**
+     * Test: Failing scan
+     * Why: The failure is reported and a new scan can be started afterwards
+     */
+    @Test
+    @DisplayName("Should report a failed scan and allow another one")
+    void startScan_WhenLoadFails_ShouldReportFailure() {
+        // Arrange
+        doThrow(new QueryTimeoutException("canceling statement due to statement timeout"))
+                .when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        // Act
+        duplicatePatientService.startScan();
+        DuplicateScanResponseDto failed = duplicatePatientService.getLastScan();
+
+        // Assert
+        assertThat(failed.getStatus()).isEqualTo(DuplicateScanResponseDto.Status.FAILED);
+        assertThat(failed.getError()).contains("statement timeout");
+        verify(jdbcTemplate, never()).update(anyString());
+        assertThat(duplicatePatientService.startScan().getStatus()).isEqualTo(DuplicateScanResponseDto.Status.RUNNING);
+    }
+
+    /**
+     * Test: Overlapping scans
+     * Why: Two scans would race on the candidate table
+     */
+    @Test
+    @DisplayName("Should refuse to start a scan while one is running")
+    void startScan_WhileRunning_ShouldThrowException() {
+        // Arrange
+        DuplicatePatientService queued = new DuplicatePatientService(jdbcTemplate, transactionManager, task -> {
+        }, patientMergeCandidateRepository, new PatientMergeCandidateMapperImpl(), 0.8, 500);
+        queued.startScan();
+
+        // Act & Assert
+        assertThatThrownBy(queued::startScan)
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("already running");
+    }
+}
@@ -4,6 +4,7 @@ import com.shaurya.hospitalManagement.entity.Insurance;
 import com.shaurya.hospitalManagement.entity.Patient;
 import com.shaurya.hospitalManagement.repository.PatientRepository;
 import com.shaurya.hospitalManagement.service.InsuranceService;
+import com.shaurya.hospitalManagement.service.PatientProfileCache;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -27,6 +28,9 @@ class InsuranceServiceTest {
     @Mock
     private PatientRepository patientRepository;
 
+    @Mock
+    private PatientProfileCache patientProfileCache;
+
     @InjectMocks
     private InsuranceService insuranceService;
 
@@ -55,6 +59,7 @@ class InsuranceServiceTest {
         assertThat(result.getInsurance()).isEqualTo(insurance);
         assertThat(insurance.getPatient()).isEqualTo(patient);
         verify(patientRepository).findById(1L);
+        verify(patientProfileCache).evict(1L);
     }
 
     @Test
@@ -69,6 +74,7 @@ class InsuranceServiceTest {
                 .hasMessageContaining("Patient not found with id: 999");
 
         verify(patientRepository).findById(999L);
+        verifyNoInteractions(patientProfileCache);
     }
 
     @Test
@@ -84,6 +90,7 @@ class InsuranceServiceTest {
         // Assert
         assertThat(result.getInsurance()).isNull();
         verify(patientRepository).findById(1L);
+        verify(patientProfileCache).evict(1L);
     }
 
     @Test
@@ -98,5 +105,6 @@ class InsuranceServiceTest {
                 .hasMessageContaining("Patient not found with id: 999");
 
         verify(patientRepository).findById(999L);
+        verifyNoInteractions(patientProfileCache);
     }
 }
\ No newline at end of file
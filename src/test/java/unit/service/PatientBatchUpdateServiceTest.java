@@ -0,0 +1,187 @@
+package unit.service;
+
+import com.shaurya.hospitalManagement.config.JacksonConfig;
+import com.shaurya.hospitalManagement.dto.PatientBatchUpdateResponseDto;
+import com.shaurya.hospitalManagement.service.PatientBatchUpdateService;
+import com.shaurya.hospitalManagement.service.PatientProfileCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PatientBatchUpdateService
+ *
+ * Tests cover:
+ * - Batching and chunked commits
+ * - Per-row failures (malformed rows, validation, unknown ids)
+ * - Row by row fallback when a batch fails
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PatientBatchUpdateService Unit Tests")
+class PatientBatchUpdateServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PatientProfileCache patientProfileCache;
+
+    private PatientBatchUpdateService service(int chunkSize) {
+        return new PatientBatchUpdateService(jdbcTemplate, transactionManager,
+                JacksonConfig.configure(JsonMapper.builder()).build(), patientProfileCache, chunkSize, 100);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void batchReturns(int[]... counts) {
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> new int[][]{counts[0]})
+                .thenAnswer(invocation -> new int[][]{counts.length > 1 ? counts[1] : counts[0]})
+                .thenAnswer(invocation -> new int[][]{counts.length > 2 ? counts[2] : counts[0]});
+    }
+
+    /**
+     * Test: Happy path
+     * Why: Valid rows go to the database as one batch
+     */
+    @Test
+    @DisplayName("Should update every valid row in one batch")
+    void updatePatients_WithValidRows_ShouldBatchUpdate() {
+        // Arrange
+        batchReturns(new int[]{1, 1});
+
+        // Act
+        PatientBatchUpdateResponseDto result = service(1000).updatePatients(Stream.of(
+                "{\"id\":1,\"name\":\"Arjun Krishnan\"}",
+                "{\"id\":2,\"bloodGroup\":\"O_POSITIVE\",\"birthDate\":\"1990-01-15\"}"
+        ));
+
+        // Assert
+        assertThat(result.getReceived()).isEqualTo(2);
+        assertThat(result.getUpdated()).isEqualTo(2);
+        assertThat(result.getFailed()).isZero();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), any(Collection.class), eq(2), any(ParameterizedPreparedStatementSetter.class));
+        verify(transactionManager, times(1)).commit(any());
+        verify(patientProfileCache).evictAll(List.of(1L, 2L));
+    }
+
+    /**
+     * Test: Chunked transactions
+     * Why: Each chunk is committed on its own
+     */
+    @Test
+    @DisplayName("Should split the upload into chunk sized transactions")
+    void updatePatients_WithMoreRowsThanChunkSize_ShouldCommitPerChunk() {
+        // Arrange
+        batchReturns(new int[]{1, 1}, new int[]{1, 1}, new int[]{1});
+
+        // Act
+        PatientBatchUpdateResponseDto result = service(2).updatePatients(Stream.of(
+                "{\"id\":1,\"gender\":\"Male\"}",
+                "{\"id\":2,\"gender\":\"Male\"}",
+                "{\"id\":3,\"gender\":\"Male\"}",
+                "{\"id\":4,\"gender\":\"Male\"}",
+                "{\"id\":5,\"gender\":\"Male\"}"
+        ));
+
+        // Assert
+        assertThat(result.getUpdated()).isEqualTo(5);
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    /**
+     * Test: Invalid rows
+     * Why: Bad rows are reported with their line number and never reach the database
+     */
+    @Test
+    @DisplayName("Should report malformed and invalid rows without sending them")
+    void updatePatients_WithInvalidRows_ShouldReportFailures() {
+        // Act
+        PatientBatchUpdateResponseDto result = service(1000).updatePatients(Stream.of(
+                "{\"id\":1,\"name\":",
+                "",
+                "{\"name\":\"No Id\"}",
+                "{\"id\":3}",
+                "{\"id\":4,\"name\":\"" + "x".repeat(41) + "\"}"
+        ));
+
+        // Assert
+        assertThat(result.getReceived()).isEqualTo(4);
+        assertThat(result.getUpdated()).isZero();
+        assertThat(result.getFailed()).isEqualTo(4);
+        assertThat(result.getFailures()).extracting("line").containsExactly(1L, 3L, 4L, 5L);
+        assertThat(result.getFailures().get(0).getError()).startsWith("Malformed row");
+        assertThat(result.getFailures().get(2).getError()).isEqualTo("Nothing to update");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    /**
+     * Test: Unknown patient
+     * Why: A row that matches nothing is a failure, not a silent no-op
+     */
+    @Test
+    @DisplayName("Should report rows whose patient does not exist")
+    void updatePatients_WithUnknownId_ShouldReportNotFound() {
+        // Arrange
+        batchReturns(new int[]{1, 0});
+
+        // Act
+        PatientBatchUpdateResponseDto result = service(1000).updatePatients(Stream.of(
+                "{\"id\":1,\"name\":\"Meera Saxena\"}",
+                "{\"id\":999,\"name\":\"Nobody\"}"
+        ));
+
+        // Assert
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getFailures().getFirst().getPatientId()).isEqualTo(999L);
+        assertThat(result.getFailures().getFirst().getError()).contains("Patient not found");
+    }
+
+    /**
+     * Test: Failing batch
+     * Why: One bad row must not abort the rest of its chunk
+     */
+    @Test
+    @DisplayName("Should retry a failed batch row by row and keep the good rows")
+    void updatePatients_WhenBatchFails_ShouldFallBackToSingleRows() {
+        // Arrange
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("invalid blood group"));
+
+        // Act
+        PatientBatchUpdateResponseDto result = service(1000).updatePatients(Stream.of(
+                "{\"id\":1,\"name\":\"Rohan Malhotra\"}",
+                "{\"id\":2,\"gender\":\"Female\"}"
+        ));
+
+        // Assert
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getFailures().getFirst().getLine()).isEqualTo(2L);
+        assertThat(result.getFailures().getFirst().getError()).isEqualTo("invalid blood group");
+        verify(jdbcTemplate, times(2)).update(anyString(), any(PreparedStatementSetter.class));
+    }
+}
@@ -0,0 +1,72 @@
+package unit.service;
+
+import com.shaurya.hospitalManagement.error.BadRequestException;
+import com.shaurya.hospitalManagement.service.PatientDemographicsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for PatientDemographicsService
+ *
+ * Tests cover:
+ * - Report parameter checks, answered with 400 before the snapshot is loaded
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PatientDemographicsService Unit Tests")
+class PatientDemographicsServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PatientDemographicsService demographicsService;
+
+    @BeforeEach
+    void setUp() {
+        demographicsService = new PatientDemographicsService(jdbcTemplate, transactionManager);
+    }
+
+    /**
+     * Test: Birth date range given backwards
+     * Why: A caller mistake, it must come back as 400 instead of the catch-all 500
+     */
+    @Test
+    @DisplayName("Should reject a range whose from is after its to")
+    void countPatientsBornBetween_WhenFromAfterTo_ShouldRejectAsBadRequest() {
+        // Act & Assert
+        assertThatThrownBy(() -> demographicsService.countPatientsBornBetween(
+                LocalDate.of(2000, 1, 2), LocalDate.of(2000, 1, 1)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("from must not be after to");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    /**
+     * Test: Age bands out of order
+     * Why: The bands come straight from the query string
+     */
+    @Test
+    @DisplayName("Should reject age bands that are not strictly increasing")
+    void countByAgeBandAndBloodGroup_WhenBandsNotIncreasing_ShouldRejectAsBadRequest() {
+        // Act & Assert
+        assertThatThrownBy(() -> demographicsService.countByAgeBandAndBloodGroup(new int[]{0, 40, 40}))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Age bands must be non-negative and strictly increasing");
+        assertThatThrownBy(() -> demographicsService.countByAgeBandAndBloodGroup(new int[0]))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
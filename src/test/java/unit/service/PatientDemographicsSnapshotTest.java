@@ -0,0 +1,112 @@
+package unit.service;
+
+import com.shaurya.hospitalManagement.entity.type.BloodGroupType;
+import com.shaurya.hospitalManagement.service.PatientDemographicsSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for PatientDemographicsSnapshot
+ *
+ * Tests cover:
+ * - Birth date range counts (inclusive bounds, unknown birth dates)
+ * - Blood group histogram
+ * - Age band cross tabs
+ * - Parallel (fork-join) results matching a sequential scan
+ */
+@DisplayName("PatientDemographicsSnapshot Unit Tests")
+class PatientDemographicsSnapshotTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2026, 1, 1);
+
+    private PatientDemographicsSnapshot smallSnapshot() {
+        return PatientDemographicsSnapshot.builder(4)
+                .add(1L, LocalDate.of(2010, 6, 1), BloodGroupType.O_POSITIVE, "Male")     // 15 years
+                .add(2L, LocalDate.of(1990, 1, 1), BloodGroupType.A_NEGATIVE, "female")   // 36 years
+                .add(3L, LocalDate.of(1950, 3, 15), BloodGroupType.O_POSITIVE, "F")       // 75 years
+                .add(4L, null, null, null)
+                .add(5L, LocalDate.of(2008, 1, 1), null, "other")                         // exactly 18
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should count births between inclusive bounds and skip unknown birth dates")
+    void countBornBetween_ShouldUseInclusiveBounds() {
+        PatientDemographicsSnapshot snapshot = smallSnapshot();
+
+        assertThat(snapshot.getSize()).isEqualTo(5);
+        assertThat(snapshot.countBornBetween(LocalDate.of(1990, 1, 1), LocalDate.of(2010, 6, 1))).isEqualTo(3);
+        assertThat(snapshot.countBornBetween(LocalDate.of(1990, 1, 2), LocalDate.of(2010, 5, 31))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count each blood group with unknowns in the last bucket")
+    void countByBloodGroup_ShouldBucketUnknownsLast() {
+        long[] counts = smallSnapshot().countByBloodGroup();
+
+        assertThat(counts).hasSize(PatientDemographicsSnapshot.BLOOD_GROUP_BUCKETS);
+        assertThat(counts[BloodGroupType.O_POSITIVE.ordinal()]).isEqualTo(2);
+        assertThat(counts[BloodGroupType.A_NEGATIVE.ordinal()]).isEqualTo(1);
+        assertThat(counts[PatientDemographicsSnapshot.BLOOD_GROUP_BUCKETS - 1]).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should place patients in age bands by their age on the given date")
+    void countByAgeBandAndBloodGroup_ShouldUseAgeOnDate() {
+        long[][] crossTab = smallSnapshot().countByAgeBandAndBloodGroup(AS_OF, new int[]{0, 18, 40, 65});
+
+        assertThat(crossTab[0][BloodGroupType.O_POSITIVE.ordinal()]).isEqualTo(1);
+        // turning 18 on the report date moves the patient into the second band
+        assertThat(crossTab[1][PatientDemographicsSnapshot.BLOOD_GROUP_BUCKETS - 1]).isEqualTo(1);
+        assertThat(crossTab[1][BloodGroupType.A_NEGATIVE.ordinal()]).isEqualTo(1);
+        assertThat(crossTab[2]).containsOnly(0L);
+        assertThat(crossTab[3][BloodGroupType.O_POSITIVE.ordinal()]).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fold free text genders into codes")
+    void countByAgeBandAndGender_ShouldFoldGenderSpellings() {
+        long[][] crossTab = smallSnapshot().countByAgeBandAndGender(AS_OF, new int[]{0});
+
+        assertThat(crossTab[0][PatientDemographicsSnapshot.GENDER_MALE]).isEqualTo(1);
+        assertThat(crossTab[0][PatientDemographicsSnapshot.GENDER_FEMALE]).isEqualTo(2);
+        assertThat(crossTab[0][PatientDemographicsSnapshot.GENDER_OTHER]).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return the same totals when the scan is split across fork-join tasks")
+    void largeSnapshot_ShouldMatchSequentialCounts() {
+        Random random = new Random(42);
+        BloodGroupType[] bloodGroups = BloodGroupType.values();
+        int size = 200_000;
+        LocalDate from = LocalDate.of(1980, 1, 1);
+        LocalDate to = LocalDate.of(1999, 12, 31);
+
+        PatientDemographicsSnapshot.Builder builder = PatientDemographicsSnapshot.builder(16);
+        long expectedInRange = 0;
+        long[] expectedBloodGroups = new long[PatientDemographicsSnapshot.BLOOD_GROUP_BUCKETS];
+        for (int i = 0; i < size; i++) {
+            LocalDate birthDate = LocalDate.of(1930, 1, 1).plusDays(random.nextInt(95 * 365));
+            int bloodGroup = random.nextInt(bloodGroups.length + 1);
+            builder.add(i, birthDate, bloodGroup < bloodGroups.length ? bloodGroups[bloodGroup] : null, "M");
+            if (!birthDate.isBefore(from) && !birthDate.isAfter(to)) expectedInRange++;
+            expectedBloodGroups[bloodGroup]++;
+        }
+        PatientDemographicsSnapshot snapshot = builder.build();
+
+        assertThat(snapshot.getSize()).isEqualTo(size);
+        assertThat(snapshot.countBornBetween(from, to)).isEqualTo(expectedInRange);
+        assertThat(snapshot.countByBloodGroup()).containsExactly(expectedBloodGroups);
+
+        long crossTabTotal = 0;
+        for (long[] row : snapshot.countByAgeBandAndBloodGroup(AS_OF, new int[]{0, 30, 60})) {
+            for (long count : row) crossTabTotal += count;
+        }
+        assertThat(crossTabTotal).isEqualTo(size);
+    }
+}
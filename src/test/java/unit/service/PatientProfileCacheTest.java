@@ -0,0 +1,255 @@
+package unit.service;
+
+import com.shaurya.hospitalManagement.config.JacksonConfig;
+import com.shaurya.hospitalManagement.dto.PatientResponseDto;
+import com.shaurya.hospitalManagement.entity.type.BloodGroupType;
+import com.shaurya.hospitalManagement.service.PatientProfileCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PatientProfileCache
+ *
+ * Tests cover:
+ * - Near-cache, Redis and loader lookup order
+ * - Stable ETags
+ * - Eviction after commit and pub/sub invalidation
+ * - Evictions racing a load
+ * - Redis outages
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PatientProfileCache Unit Tests")
+class PatientProfileCacheTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final JsonMapper jsonMapper = JacksonConfig.configure(JsonMapper.builder()).build();
+    private PatientProfileCache cache;
+    private PatientResponseDto profile;
+    private AtomicInteger loads;
+    private Supplier<PatientResponseDto> loader;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PatientProfileCache(redisTemplate, jsonMapper, listenerContainer, 600_000, 30_000, 100);
+
+        profile = new PatientResponseDto();
+        profile.setId(1L);
+        profile.setName("Arjun Krishnan");
+        profile.setGender("Male");
+        profile.setBirthDate(LocalDate.of(1995, 3, 15));
+        profile.setBloodGroup(BloodGroupType.O_POSITIVE);
+
+        loads = new AtomicInteger();
+        loader = () -> {
+            loads.incrementAndGet();
+            return profile;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubWrite(long result) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any())).thenReturn(result);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Test: Cold cache
+     * Why: A miss loads from the database once and fills Redis and the near-cache
+     */
+    @Test
+    @DisplayName("Should load once and serve repeats from the near-cache")
+    @SuppressWarnings("unchecked")
+    void get_OnMiss_ShouldLoadOnceAndWriteToRedis() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        stubWrite(1L);
+
+        // Act
+        PatientProfileCache.Entry first = cache.get(1L, loader);
+        PatientProfileCache.Entry second = cache.get(1L, loader);
+
+        // Assert
+        assertThat(loads).hasValue(1);
+        assertThat(second).isSameAs(first);
+        assertThat(first.eTag()).startsWith("\"").endsWith("\"");
+        verify(valueOperations, times(1)).get("cache:patient:profile:1");
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("cache:patient:profile:1")),
+                eq(""), anyString(), eq(String.valueOf(Duration.ofMinutes(10).toMillis())));
+    }
+
+    /**
+     * Test: Shared Redis entry
+     * Why: Another instance's cached profile is used as is and gives the same ETag
+     */
+    @Test
+    @DisplayName("Should read Redis before the loader with a matching ETag")
+    void get_OnRedisHit_ShouldNotCallLoader() throws Exception {
+        // Arrange
+        String json = jsonMapper.writeValueAsString(profile);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("cache:patient:profile:1")).thenReturn(json);
+        PatientProfileCache other = new PatientProfileCache(redisTemplate, jsonMapper, listenerContainer, 600_000, 30_000, 100);
+
+        // Act
+        PatientProfileCache.Entry fromRedis = cache.get(1L, loader);
+
+        // Assert
+        assertThat(loads).hasValue(0);
+        assertThat(fromRedis.profile().getName()).isEqualTo("Arjun Krishnan");
+        assertThat(other.get(1L, loader).eTag()).isEqualTo(fromRedis.eTag());
+    }
+
+    /**
+     * Test: Redis outage
+     * Why: The profile endpoint keeps working straight from the database
+     */
+    @Test
+    @DisplayName("Should fall back to the loader when Redis is down")
+    void get_WhenRedisFails_ShouldUseLoader() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("down"));
+
+        // Act
+        PatientProfileCache.Entry entry = cache.get(1L, loader);
+
+        // Assert
+        assertThat(entry.profile()).isSameAs(profile);
+        assertThat(loads).hasValue(1);
+    }
+
+    /**
+     * Test: Eviction inside a transaction
+     * Why: The entry must only be dropped once the change is committed
+     */
+    @Test
+    @DisplayName("Should defer eviction until after commit")
+    void evict_InsideTransaction_ShouldWaitForCommit() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        cache.get(1L, loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        cache.evict(1L);
+
+        // Assert
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+
+        synchronizations.getFirst().afterCommit();
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+        verify(redisTemplate).convertAndSend("cache:patient:profile:invalidate", "1");
+        cache.get(1L, loader);
+        assertThat(loads).hasValue(2);
+    }
+
+    /**
+     * Test: Invalidation from another instance
+     * Why: A pub/sub message drops every listed id from the near-cache
+     */
+    @Test
+    @DisplayName("Should drop near-cache entries named in an invalidation message")
+    void onMessage_ShouldDropListedIds() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        cache.get(1L, loader);
+
+        // Act
+        cache.onMessage(new DefaultMessage(
+                "cache:patient:profile:invalidate".getBytes(StandardCharsets.UTF_8),
+                "3,1,x".getBytes(StandardCharsets.UTF_8)), null);
+        cache.get(1L, loader);
+
+        // Assert
+        assertThat(loads).hasValue(2);
+    }
+
+    /**
+     * Test: Profile dropped while it was loading
+     * Why: The load may have read the old row, caching it would serve it for the whole Redis TTL
+     */
+    @Test
+    @DisplayName("Should not cache a profile that was dropped during its load")
+    void get_WhenEvictedDuringLoad_ShouldNotCache() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        // the tombstone written by the drop no longer matches the empty key read before the load
+        stubWrite(0L);
+        Supplier<PatientResponseDto> racingLoader = () -> {
+            cache.evict(1L);
+            return loader.get();
+        };
+
+        // Act
+        cache.get(1L, racingLoader);
+        cache.get(1L, loader);
+
+        // Assert
+        assertThat(loads).hasValue(2);
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    /**
+     * Test: Tombstone left by a drop
+     * Why: It is a miss, and the write must only replace that same tombstone
+     */
+    @Test
+    @DisplayName("Should treat a tombstone as a miss and write over it")
+    @SuppressWarnings("unchecked")
+    void get_OnTombstone_ShouldLoadAndReplaceIt() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("cache:patient:profile:1")).thenReturn("dropped:42");
+        stubWrite(1L);
+
+        // Act
+        PatientProfileCache.Entry entry = cache.get(1L, loader);
+
+        // Assert
+        assertThat(entry.profile()).isSameAs(profile);
+        assertThat(loads).hasValue(1);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("cache:patient:profile:1")),
+                eq("dropped:42"), anyString(), anyString());
+    }
+}
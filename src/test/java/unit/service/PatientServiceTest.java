@@ -3,7 +3,11 @@ package unit.service;
 import com.shaurya.hospitalManagement.dto.PatientResponseDto;
 import com.shaurya.hospitalManagement.entity.Patient;
 import com.shaurya.hospitalManagement.entity.type.BloodGroupType;
+import com.shaurya.hospitalManagement.error.BadRequestException;
+import com.shaurya.hospitalManagement.mapper.PatientMapper;
+import com.shaurya.hospitalManagement.mapper.PatientMapperImpl;
 import com.shaurya.hospitalManagement.repository.PatientRepository;
+import com.shaurya.hospitalManagement.service.PatientProfileCache;
 import com.shaurya.hospitalManagement.service.PatientService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,23 +16,29 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -47,8 +57,15 @@ class PatientServiceTest {
     @Mock
     private PatientRepository patientRepository;
 
+    // the generated mapper, spied so its calls can be verified
+    @Spy
+    private PatientMapper patientMapper = new PatientMapperImpl();
+
+    @Mock
+    private PatientProfileCache patientProfileCache;
+
     @Mock
-    private ModelMapper modelMapper;
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private PatientService patientService;
@@ -116,7 +133,6 @@ class PatientServiceTest {
     void getPatientById_WithValidId_ShouldReturnPatientResponseDto() {
         // Arrange
         when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient1));
-        when(modelMapper.map(testPatient1, PatientResponseDto.class)).thenReturn(responseDto1);
 
         // Act
         PatientResponseDto result = patientService.getPatientById(1L);
@@ -130,7 +146,7 @@ class PatientServiceTest {
         assertThat(result.getBirthDate()).isEqualTo(LocalDate.of(1995, 3, 15));
 
         verify(patientRepository, times(1)).findById(1L);
-        verify(modelMapper, times(1)).map(testPatient1, PatientResponseDto.class);
+        verify(patientMapper, times(1)).toResponseDto(testPatient1);
     }
 
     /**
@@ -149,7 +165,50 @@ class PatientServiceTest {
                 .hasMessageContaining("Patient Not Found with id: 999");
 
         verify(patientRepository, times(1)).findById(999L);
-        verify(modelMapper, never()).map(any(), any());
+        verify(patientMapper, never()).toResponseDto(any());
+    }
+
+    /**
+     * Test: Profile goes through the cache
+     * Why: The cache loader must fall back to the regular lookup
+     */
+    @Test
+    @DisplayName("Should load the patient profile through the profile cache")
+    @SuppressWarnings("unchecked")
+    void getPatientProfile_ShouldUseCacheWithRepositoryLoader() {
+        // Arrange
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient1));
+        when(patientProfileCache.get(eq(1L), any(Supplier.class))).thenAnswer(invocation ->
+                new PatientProfileCache.Entry(invocation.<Supplier<PatientResponseDto>>getArgument(1).get(), "\"etag\""));
+
+        // Act
+        PatientProfileCache.Entry result = patientService.getPatientProfile(1L);
+
+        // Assert
+        assertThat(result.profile()).isEqualTo(responseDto1);
+        assertThat(result.eTag()).isEqualTo("\"etag\"");
+        verify(patientRepository, times(1)).findById(1L);
+    }
+
+    /**
+     * Test: Transaction around the profile cache loader
+     * Why: The loader runs inside the service, past the @Transactional proxy, and must still read from the replica
+     */
+    @Test
+    @DisplayName("Should load the patient profile in a read-only transaction")
+    @SuppressWarnings("unchecked")
+    void getPatientProfile_ShouldLoadInReadOnlyTransaction() {
+        // Arrange
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient1));
+        when(patientProfileCache.get(eq(1L), any(Supplier.class))).thenAnswer(invocation ->
+                new PatientProfileCache.Entry(invocation.<Supplier<PatientResponseDto>>getArgument(1).get(), "\"etag\""));
+
+        // Act
+        patientService.getPatientProfile(1L);
+
+        // Assert
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager).commit(any());
     }
 
     /**
@@ -165,8 +224,6 @@ class PatientServiceTest {
         Page<Patient> patientPage = new PageImpl<>(patients, pageable, patients.size());
 
         when(patientRepository.findAllPatients(pageable)).thenReturn(patientPage);
-        when(modelMapper.map(testPatient1, PatientResponseDto.class)).thenReturn(responseDto1);
-        when(modelMapper.map(testPatient2, PatientResponseDto.class)).thenReturn(responseDto2);
 
         // Act
         List<PatientResponseDto> result = patientService.getAllPatients(0, 10);
@@ -178,7 +235,73 @@ class PatientServiceTest {
         assertThat(result.get(1).getName()).isEqualTo("Meera Saxena");
 
         verify(patientRepository, times(1)).findAllPatients(pageable);
-        verify(modelMapper, times(2)).map(any(Patient.class), eq(PatientResponseDto.class));
+        verify(patientMapper, times(2)).toResponseDto(any(Patient.class));
+    }
+
+    /**
+     * Test: Page size above the cap
+     * Why: The list shares the interactive pool with bookings, an unbounded page would hold a connection for the whole export
+     */
+    @Test
+    @DisplayName("Should reject a page size above 1000")
+    void getAllPatients_WithPageSizeAboveCap_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> patientService.getAllPatients(0, 1001))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("size must be between 1 and 1000");
+        assertThatThrownBy(() -> patientService.getAllPatients(0, 1001, "id"))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(patientRepository);
+    }
+
+    /**
+     * Test: Negative page number
+     * Why: Answered with 400 instead of the 500 PageRequest's own check would give
+     */
+    @Test
+    @DisplayName("Should reject a negative page number")
+    void getAllPatients_WithNegativePage_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> patientService.getAllPatients(-1, 10))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("page must not be negative");
+        verifyNoInteractions(patientRepository);
+    }
+
+    /**
+     * Test: Patient list with a sparse fieldset
+     * Why: The page is read as a tuple projection, the mapper and the entity query are not used
+     */
+    @Test
+    @DisplayName("Should read only the requested patient fields")
+    void getAllPatients_WithFields_ShouldUseProjection() {
+        // Arrange
+        Map<String, Object> row = new LinkedHashMap<>(Map.of("id", 1L));
+        row.put("name", "Arjun Krishnan");
+        when(patientRepository.findFields(eq(Patient.class), eq(List.of("id", "name")), isNull(), eq(PageRequest.of(0, 10))))
+                .thenReturn(List.of(row));
+
+        // Act
+        List<Map<String, Object>> result = patientService.getAllPatients(0, 10, "id, name,id");
+
+        // Assert
+        assertThat(result).containsExactly(row);
+        verify(patientRepository, never()).findAllPatients(any());
+        verifyNoInteractions(patientMapper);
+    }
+
+    /**
+     * Test: Unknown field in the fieldset
+     * Why: Only DTO properties may be selected, anything else would reach the query as an attribute name
+     */
+    @Test
+    @DisplayName("Should reject a field that is not a patient property")
+    void getAllPatients_WithUnknownField_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> patientService.getAllPatients(0, 10, "id,email"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Unknown field: email, allowed fields are id,name,gender,birthDate,bloodGroup");
+        verifyNoInteractions(patientRepository);
     }
 
     /**
@@ -201,7 +324,7 @@ class PatientServiceTest {
         assertThat(result).isEmpty();
 
         verify(patientRepository, times(1)).findAllPatients(pageable);
-        verify(modelMapper, never()).map(any(), any());
+        verify(patientMapper, never()).toResponseDto(any());
     }
 
     /**
@@ -217,8 +340,6 @@ class PatientServiceTest {
         Page<Patient> patientPage = new PageImpl<>(patients, expectedPageable, patients.size());
 
         when(patientRepository.findAllPatients(expectedPageable)).thenReturn(patientPage);
-        when(modelMapper.map(any(Patient.class), eq(PatientResponseDto.class)))
-                .thenReturn(responseDto1);
 
         // Act
         List<PatientResponseDto> result = patientService.getAllPatients(0, 5);
@@ -241,7 +362,6 @@ class PatientServiceTest {
         Page<Patient> patientPage = new PageImpl<>(patients, pageable, 3); // total count is 3
 
         when(patientRepository.findAllPatients(pageable)).thenReturn(patientPage);
-        when(modelMapper.map(testPatient3, PatientResponseDto.class)).thenReturn(responseDto3);
 
         // Act
         List<PatientResponseDto> result = patientService.getAllPatients(1, 2);
@@ -266,9 +386,6 @@ class PatientServiceTest {
         Page<Patient> patientPage = new PageImpl<>(allPatients, pageable, allPatients.size());
 
         when(patientRepository.findAllPatients(pageable)).thenReturn(patientPage);
-        when(modelMapper.map(testPatient1, PatientResponseDto.class)).thenReturn(responseDto1);
-        when(modelMapper.map(testPatient2, PatientResponseDto.class)).thenReturn(responseDto2);
-        when(modelMapper.map(testPatient3, PatientResponseDto.class)).thenReturn(responseDto3);
 
         // Act
         List<PatientResponseDto> result = patientService.getAllPatients(0, 100);
@@ -276,7 +393,7 @@ class PatientServiceTest {
         // Assert
         assertThat(result).hasSize(3);
         verify(patientRepository, times(1)).findAllPatients(pageable);
-        verify(modelMapper, times(3)).map(any(Patient.class), eq(PatientResponseDto.class));
+        verify(patientMapper, times(3)).toResponseDto(any(Patient.class));
     }
 
     /**
@@ -288,7 +405,6 @@ class PatientServiceTest {
     void getPatientById_ShouldMapAllFields() {
         // Arrange
         when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient1));
-        when(modelMapper.map(testPatient1, PatientResponseDto.class)).thenReturn(responseDto1);
 
         // Act
         PatientResponseDto result = patientService.getPatientById(1L);
@@ -318,7 +434,6 @@ class PatientServiceTest {
         responseDtoAB.setBloodGroup(BloodGroupType.AB_NEGATIVE);
 
         when(patientRepository.findById(4L)).thenReturn(Optional.of(patientWithAB));
-        when(modelMapper.map(patientWithAB, PatientResponseDto.class)).thenReturn(responseDtoAB);
 
         // Act
         PatientResponseDto result = patientService.getPatientById(4L);
@@ -340,8 +455,6 @@ class PatientServiceTest {
         Page<Patient> patientPage = new PageImpl<>(patients, pageable, patients.size());
 
         when(patientRepository.findAllPatients(pageable)).thenReturn(patientPage);
-        when(modelMapper.map(any(Patient.class), eq(PatientResponseDto.class)))
-                .thenReturn(responseDto1, responseDto2);
 
         // Act
         List<PatientResponseDto> result = patientService.getAllPatients(0, 10);
@@ -0,0 +1,168 @@
+package unit.service;
+
+import com.shaurya.hospitalManagement.dto.PurgeJobResponseDto;
+import com.shaurya.hospitalManagement.entity.Insurance;
+import com.shaurya.hospitalManagement.service.PatientProfileCache;
+import com.shaurya.hospitalManagement.service.PurgeService;
+import com.shaurya.hospitalManagement.service.SecondLevelCacheInvalidator;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PurgeService
+ *
+ * Tests cover:
+ * - Chunked, set-based deletes with one transaction per chunk
+ * - Progress reporting for finished and failed jobs
+ * - Unknown patients and jobs
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PurgeService Unit Tests")
+class PurgeServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PatientProfileCache patientProfileCache;
+
+    @Mock
+    private SecondLevelCacheInvalidator secondLevelCacheInvalidator;
+
+    private PurgeService purgeService;
+
+    @BeforeEach
+    void setUp() {
+        // runs the job on the calling thread, so it has finished when the call returns
+        purgeService = new PurgeService(jdbcTemplate, transactionManager, new SyncTaskExecutor(),
+                patientProfileCache, secondLevelCacheInvalidator, 2, 3_600_000);
+    }
+
+    /**
+     * Test: Patient deletion
+     * Why: Appointments go in chunk sized statements before the patient row, each chunk committed on its own
+     */
+    @Test
+    @DisplayName("Should delete appointments in chunks and then the patient")
+    void deletePatient_ShouldDeleteAppointmentsInChunks() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1L), eq(1L))).thenReturn(List.of(5L));
+        when(jdbcTemplate.update(startsWith("delete from appointment where id in"), eq(1L), eq(2)))
+                .thenReturn(2, 2, 1);
+        when(jdbcTemplate.queryForList(startsWith("select patient_insurance_id"), eq(Long.class), eq(1L)))
+                .thenReturn(List.of(9L));
+        when(jdbcTemplate.update("delete from appointment where patient_id = ?", 1L)).thenReturn(0);
+        when(jdbcTemplate.update(startsWith("delete from patient_merge_candidate"), eq(1L), eq(1L))).thenReturn(0);
+        when(jdbcTemplate.update("delete from patient where id = ?", 1L)).thenReturn(1);
+
+        // Act
+        PurgeJobResponseDto job = purgeService.deletePatient(1L);
+        PurgeJobResponseDto finished = purgeService.getJob(job.getJobId());
+
+        // Assert
+        assertThat(finished.getStatus()).isEqualTo(PurgeJobResponseDto.Status.COMPLETED);
+        assertThat(finished.getTotalRows()).isEqualTo(6);
+        assertThat(finished.getDeletedRows()).isEqualTo(6);
+        assertThat(finished.getFinishedAt()).isNotNull();
+        verify(jdbcTemplate, times(3)).update(startsWith("delete from appointment where id in"), eq(1L), eq(2));
+        verify(jdbcTemplate).update("delete from insurance where id = ?", 9L);
+        verify(transactionManager, times(4)).commit(any());
+        verify(patientProfileCache).evict(1L);
+        verify(secondLevelCacheInvalidator).evictEntity(Insurance.class, 9L);
+    }
+
+    /**
+     * Test: Unknown patient
+     * Why: No job is started for a patient that does not exist
+     */
+    @Test
+    @DisplayName("Should throw EntityNotFoundException when patient not found")
+    void deletePatient_WhenPatientNotFound_ShouldThrowException() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(999L), eq(999L))).thenReturn(List.of());
+
+        // Act & Assert
+        assertThatThrownBy(() -> purgeService.deletePatient(999L))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("Patient not found with id: 999");
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    /**
+     * Test: Failing chunk
+     * Why: The job reports the failure and how far it got, committed chunks stay deleted
+     */
+    @Test
+    @DisplayName("Should mark the job failed and keep the progress made")
+    void deletePatient_WhenChunkFails_ShouldReportFailure() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1L), eq(1L))).thenReturn(List.of(5L));
+        when(jdbcTemplate.update(startsWith("delete from appointment where id in"), eq(1L), eq(2)))
+                .thenReturn(2)
+                .thenThrow(new QueryTimeoutException("canceling statement due to statement timeout"));
+
+        // Act
+        PurgeJobResponseDto job = purgeService.getJob(purgeService.deletePatient(1L).getJobId());
+
+        // Assert
+        assertThat(job.getStatus()).isEqualTo(PurgeJobResponseDto.Status.FAILED);
+        assertThat(job.getDeletedRows()).isEqualTo(2);
+        assertThat(job.getError()).contains("statement timeout");
+        verify(jdbcTemplate, never()).update("delete from patient where id = ?", 1L);
+        verifyNoInteractions(patientProfileCache);
+    }
+
+    /**
+     * Test: Appointment retention
+     * Why: Old appointments are removed chunk by chunk until a short chunk shows nothing is left
+     */
+    @Test
+    @DisplayName("Should purge appointments older than the cutoff in chunks")
+    void purgeAppointmentsBefore_ShouldDeleteInChunks() {
+        // Arrange
+        LocalDateTime before = LocalDateTime.of(2020, 1, 1, 0, 0);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(before))).thenReturn(4L);
+        when(jdbcTemplate.update(anyString(), eq(before), eq(2))).thenReturn(2, 2, 0);
+
+        // Act
+        PurgeJobResponseDto job = purgeService.getJob(purgeService.purgeAppointmentsBefore(before).getJobId());
+
+        // Assert
+        assertThat(job.getStatus()).isEqualTo(PurgeJobResponseDto.Status.COMPLETED);
+        assertThat(job.getTotalRows()).isEqualTo(4);
+        assertThat(job.getDeletedRows()).isEqualTo(4);
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    /**
+     * Test: Unknown job
+     * Why: Polling an expired or made up job id is an error, not an empty response
+     */
+    @Test
+    @DisplayName("Should throw EntityNotFoundException for an unknown job")
+    void getJob_WhenUnknown_ShouldThrowException() {
+        assertThatThrownBy(() -> purgeService.getJob("missing"))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("Purge job not found with id: missing");
+    }
+}
@@ -0,0 +1,100 @@
+package unit.service;
+
+import com.shaurya.hospitalManagement.dto.PinnedSectionResponseDto;
+import com.shaurya.hospitalManagement.service.VirtualThreadPinningMonitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Unit tests for VirtualThreadPinningMonitor
+ *
+ * Tests cover:
+ * - Attributing a pinned stack to the JDBC driver, Lettuce or the application
+ * - Counting and ordering the sections
+ * - Staying idle without virtual threads
+ */
+@DisplayName("VirtualThreadPinningMonitor Unit Tests")
+class VirtualThreadPinningMonitorTest {
+
+    private static final StackTraceElement DRIVER = new StackTraceElement(
+            "org.postgresql.core.v3.QueryExecutorImpl", "execute", null, 330);
+    private static final StackTraceElement LETTUCE = new StackTraceElement(
+            "io.lettuce.core.protocol.DefaultEndpoint", "write", null, 210);
+    private static final StackTraceElement SERVICE = new StackTraceElement(
+            "com.shaurya.hospitalManagement.service.DoctorDirectoryCache", "build", null, 95);
+    private static final StackTraceElement JDK = new StackTraceElement(
+            "java.lang.Object", "wait0", null, -1);
+
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new VirtualThreadPinningMonitor(true, 20);
+    }
+
+    /**
+     * Test: Pinned inside the driver
+     * Why: The innermost known frame names the section, not the JDK frame on top or the caller below
+     */
+    @Test
+    @DisplayName("Should attribute a pinned stack to its innermost driver frame")
+    void record_ShouldAttributeToInnermostKnownFrame() {
+        // Act
+        monitor.record(List.of(JDK, DRIVER, SERVICE), Duration.ofMillis(40));
+        monitor.record(List.of(JDK, LETTUCE, SERVICE), Duration.ofMillis(25));
+        monitor.record(List.of(JDK, SERVICE), Duration.ofMillis(30));
+
+        // Assert
+        assertThat(monitor.getPinnedSections())
+                .extracting(PinnedSectionResponseDto::getSource, PinnedSectionResponseDto::getFrame)
+                .containsExactly(
+                        tuple("JDBC", "org.postgresql.core.v3.QueryExecutorImpl.execute:330"),
+                        tuple("application", "com.shaurya.hospitalManagement.service.DoctorDirectoryCache.build:95"),
+                        tuple("Lettuce", "io.lettuce.core.protocol.DefaultEndpoint.write:210"));
+    }
+
+    /**
+     * Test: Repeated pinning in one place
+     * Why: The report sums the time per section so the worst offender comes first
+     */
+    @Test
+    @DisplayName("Should count, sum and keep the longest pinned interval per section")
+    void record_ShouldAggregatePerSection() {
+        // Act
+        monitor.record(List.of(DRIVER), Duration.ofMillis(40));
+        monitor.record(List.of(DRIVER), Duration.ofMillis(100));
+        monitor.record(List.of(JDK), Duration.ofMillis(30));
+
+        // Assert
+        List<PinnedSectionResponseDto> sections = monitor.getPinnedSections();
+        assertThat(sections).hasSize(2);
+        assertThat(sections.getFirst()).isEqualTo(new PinnedSectionResponseDto(
+                "JDBC", "org.postgresql.core.v3.QueryExecutorImpl.execute:330", 2, 140, 100));
+        assertThat(sections.getLast().getSource()).isEqualTo("other");
+    }
+
+    /**
+     * Test: Platform threads
+     * Why: Without the virtual-threads profile no JFR stream is started and nothing is reported
+     */
+    @Test
+    @DisplayName("Should stay idle when virtual threads are disabled")
+    void start_WhenDisabled_ShouldNotRecord() {
+        // Arrange
+        VirtualThreadPinningMonitor disabled = new VirtualThreadPinningMonitor(false, 20);
+
+        // Act
+        disabled.start();
+        disabled.stop();
+
+        // Assert
+        assertThat(disabled.getPinnedSections()).isEmpty();
+    }
+}
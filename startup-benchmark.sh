@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Time to first request: starts the given command RUNS times and measures the time from launch until
+# URL answers 200, then stops the application. Prints min, average and max in milliseconds.
+#
+# Baseline:
+#   ./startup-benchmark.sh baseline java -jar target/demo-0.0.1-SNAPSHOT.jar
+# Fast startup (mvn -Pfast-startup package, extracted jar and CDS archive, see README):
+#   ./startup-benchmark.sh fast java -XX:SharedArchiveFile=extracted/application.jsa -Dspring.aot.enabled=true \
+#       -Dspring.profiles.active=fast-startup -jar extracted/application.jar
+#
+# RUNS (default 5), URL (default http://localhost:8080/public/doctors) and TIMEOUT_S (default 120) can be set
+# in the environment. Postgres and Redis must be up and the schema migrated.
+
+set -u
+
+if [ $# -lt 2 ]; then
+  echo "usage: $0 <label> <command...>" >&2
+  exit 1
+fi
+
+label=$1
+shift
+runs=${RUNS:-5}
+url=${URL:-http://localhost:8080/public/doctors}
+timeout_s=${TIMEOUT_S:-120}
+
+now_ms() {
+  date +%s%3N
+}
+
+times=()
+for run in $(seq 1 "$runs"); do
+  "$@" > "startup-benchmark-$label-$run.log" 2>&1 &
+  pid=$!
+  start=$(now_ms)
+  elapsed=
+  while kill -0 "$pid" 2> /dev/null; do
+    if [ "$(curl -s -o /dev/null -w '%{http_code}' "$url")" = "200" ]; then
+      elapsed=$(( $(now_ms) - start ))
+      break
+    fi
+    if [ $(( $(now_ms) - start )) -gt $(( timeout_s * 1000 )) ]; then
+      break
+    fi
+    sleep 0.05
+  done
+  kill "$pid" 2> /dev/null
+  wait "$pid" 2> /dev/null
+
+  if [ -z "$elapsed" ]; then
+    echo "$label run $run: no 200 from $url, see startup-benchmark-$label-$run.log" >&2
+    exit 1
+  fi
+  echo "$label run $run: ${elapsed} ms"
+  times+=("$elapsed")
+done
+
+printf '%s\n' "${times[@]}" | sort -n | awk -v label="$label" '
+  { sum += $1; values[NR] = $1 }
+  END { printf "%s: min %d ms, avg %d ms, max %d ms over %d runs\n", label, values[1], sum / NR, values[NR], NR }'